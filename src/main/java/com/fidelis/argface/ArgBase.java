@@ -6,9 +6,19 @@
  */
 package com.fidelis.argface;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Base class for ArgFace implementations.
@@ -20,8 +30,9 @@ public abstract class ArgBase implements ArgFace {
 
     private ArgParseUsage    parser;
     private ArgHelp          help;
-    private ArgUtil          util;
     private ArgPattern		 pattern;
+    private ArgTrace         tracer;
+    private ArgMetrics       metrics;
 
     private String           programName;
     private String           usageText;
@@ -48,16 +59,48 @@ public abstract class ArgBase implements ArgFace {
     private List<String>     nonOptionList;
     private List<ArgOperand> targetOperands;
     private List<ArgOption>  targetOptions;
+    private List<ArgToken>   tokenList;
+    private List<ArgNode>    usageList;
+    private Map<ArgOption, BitSet> optionUsage;
+    private int              scanCount;
+    private int              scanLength;
+    private boolean          scanOperands;
+    private boolean          adaptiveOrder;
+    private long []          usageCount;
+    private int []           usageOrder;
+    private String []        usageLead;
+    private Map<String, Long> usageSeed;
+    private int              adaptCount;
+    private Map<String, ArgOption> completeNames;
+    private List<Map<ArgOption, List<ArgOption>>> completeMutex;
+    private List<List<List<ArgOperand>>> completeOperands;
+
+    /** Number of successful parses between reorderings in adaptive mode */
+    private static final int ADAPT_INTERVAL = 64;
     private boolean          patternWatch;
     private boolean          preParseDone;
+    private boolean          quiet;
+    private boolean          validating;
+    private int              argFiles;
+    private ArgListener      listener;
+    private ArgOutput        output = new ArgOutput();
+    private final List<String> errors = new ArrayList<String>();
+    private ArgNode          matchNode;
+    private int              lastStatus = -1;
+    private String           errorName;
     private String            patternMatch;
 
     protected ArgBase () {
         parser = new ArgParseUsage();
         help = new ArgHelp();
-        util = ArgUtil.getInstance();
-        util.setBase(this);
+        ArgUtil.getInstance().setBase(this);
         pattern = new ArgPattern();
+        pattern.setHelp(help);
+        help.setOutput(output);
+        pattern.setOutput(output);
+        tracer = new ArgTrace();
+        parser.setTrace(tracer);
+        pattern.setTrace(tracer);
     }
 
     protected String modelGetUsageText () {
@@ -477,6 +520,510 @@ public abstract class ArgBase implements ArgFace {
         this.patternWatch = patternWatch;
     }
 
+    /**
+     * Returns the diagnostic output for this instance. Until a level is set,
+     * it follows the {@code Debug} verbose and trace settings.
+     * 
+     * @return the diagnostic output
+     */
+    public ArgTrace getTrace () {
+        return tracer;
+    }
+
+    /**
+     * Sets the metrics that record the counts and phase times of parsing.
+     * Metrics are off until set; a null value turns them off again.
+     * 
+     * @param metrics the metrics or null
+     */
+    public void setMetrics (ArgMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Returns the metrics set for this instance.
+     * 
+     * @return the metrics or null
+     */
+    public ArgMetrics getMetrics () {
+        return metrics;
+    }
+
+    /**
+     * Sets the "quiet" feature. When quiet, nothing is printed while parsing:
+     * error messages are kept for {@link #getResult()} instead, and the help,
+     * version and about options are recognized without printing their text.
+     * 
+     * @param quiet {@code true} for quiet parsing
+     */
+    public void setQuiet (boolean quiet) {
+        this.quiet = quiet;
+        help.setQuiet(quiet);
+    }
+
+    /**
+     * Tests to see if parsing is quiet.
+     * 
+     * @return {@code true} if parsing is quiet
+     */
+    public boolean isQuiet () {
+        return quiet;
+    }
+
+    /**
+     * Sets a consumer for the values of a repeating operand or a repeating
+     * option argument. The values are given to the consumer in order when
+     * the program variables are set, once a usage has matched and its values
+     * have been converted. Operand values are read from the command line
+     * one at a time and are not collected. Option argument values are
+     * collected while each usage is tried, since an option applies before
+     * its usage is known to match. Nothing is given to the consumer by
+     * {@link #validate(String[])}. The usage text must have been parsed.
+     * 
+     * @param name the operand or option name
+     * @param consumer the consumer or null
+     * @return {@code true} if a repeating operand or option was found
+     */
+    public boolean setConsumer (String name, Consumer<String> consumer) {
+        if (checkOperand(name)) {
+            ArgOperand operand = findNamedOperand(name);
+            if (operand != null && operand.isRepeat()) {
+                operand.setConsumer(consumer);
+                return true;
+            }
+        }
+        if (checkOption(name)) {
+            ArgOption option = findNamedOption(name);
+            if (option != null && option.isRepeat()) {
+                option.setConsumer(consumer);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Sets the output for usage, help, problems, reports and error messages.
+     * The text written by each parse is collected and written at its end.
+     * 
+     * @param output the output
+     * @see ArgOutput
+     */
+    public void setOutput (ArgOutput output) {
+        this.output = output;
+        help.setOutput(output);
+        pattern.setOutput(output);
+    }
+
+    /**
+     * Returns the output for usage, help, problems, reports and error
+     * messages.
+     * 
+     * @return the output
+     */
+    public ArgOutput getOutput () {
+        return output;
+    }
+
+    /**
+     * Sets the width that option help is wrapped to, 80 by default. Help is
+     * rendered once for each width and kept with the compiled usage.
+     * 
+     * @param width the line width
+     */
+    public void setHelpWidth (int width) {
+        help.setWidth(width);
+    }
+
+    /**
+     * Returns the width that option help is wrapped to.
+     * 
+     * @return the line width
+     */
+    public int getHelpWidth () {
+        return help.getWidth();
+    }
+
+    /**
+     * Sets a listener that receives the outcome of each parse as events, in
+     * place of setting the program variables. The matching options and
+     * operands are given to the listener in command line order, with no
+     * reflection. Values of a repeating operand with a consumer go to the
+     * consumer alone.
+     * 
+     * @param listener the listener or null to set the program variables
+     * @see ArgListener
+     */
+    public void setListener (ArgListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Returns the parse listener.
+     * 
+     * @return the listener or null
+     */
+    public ArgListener getListener () {
+        return listener;
+    }
+
+    /**
+     * Sets the "argFiles" feature. When on, a command line argument of the
+     * form {@code @path} is replaced by the arguments held in that file.
+     * 
+     * @param argFiles {@code ArgFile.OFF}, {@code ArgFile.LINES} or
+     * {@code ArgFile.QUOTED}
+     * @see ArgFile
+     */
+    public void setArgFiles (int argFiles) {
+        this.argFiles = argFiles;
+    }
+
+    /**
+     * Returns the "argFiles" setting.
+     * 
+     * @return {@code ArgFile.OFF}, {@code ArgFile.LINES} or
+     * {@code ArgFile.QUOTED}
+     */
+    public int getArgFiles () {
+        return argFiles;
+    }
+
+    /**
+     * Returns the outcome of the last parse: the usage form and operand
+     * pattern that matched, the options and operands present with their
+     * values, and the problems found.
+     * 
+     * @return the result of the last parse
+     */
+    public ArgResult getResult () {
+        Map<String, List<String>> options = new LinkedHashMap<String, List<String>>();
+        Map<String, Integer> counts = new LinkedHashMap<String, Integer>();
+        Map<String, List<String>> operands = new LinkedHashMap<String, List<String>>();
+        String usage = null;
+        if (matchNode != null) {
+            usage = argList.buildUsageSpec(matchNode).trim();
+            for (ArgOption option : targetOptions) {
+                String name = option.getName();
+                name = (name.length() > 1 ? "--" : "-") + name;
+                List<String> values = new ArrayList<String>();
+                if (option.getList() != null) {
+                    values.addAll(option.getList());
+                } else if (option.getArgValue() != null) {
+                    values.add(option.getArgValue());
+                }
+                options.put(name, values);
+                counts.put(name, option.getCount());
+            }
+            Map<ArgOperand, Boolean> seen = new IdentityHashMap<ArgOperand, Boolean>();
+            for (ArgOperand operand : targetOperands) {
+                if (! operand.has() || seen.put(operand, Boolean.TRUE) != null) {
+                    continue;
+                }
+                List<String> values = new ArrayList<String>();
+                if (operand.isVariable()) {
+                    if (operand.isRepeat() && operand.getList() != null) {
+                        values.addAll(operand.getList());
+                    } else if (operand.getValue() != null) {
+                        values.add(operand.getValue());
+                    }
+                }
+                operands.put(operand.getSpecText(), values);
+            }
+        }
+        List<String> problems = new ArrayList<String>();
+        for (int n = 0; n < help.getProblemCount(); n++) {
+            problems.add(help.getProblemText(n));
+        }
+        problems.addAll(errors);
+        return new ArgResult(lastStatus, usage,
+                matchNode == null ? null : patternMatch, options, counts,
+                operands, new ArrayList<String>(nonOptionList), problems);
+    }
+
+    /**
+     * Checks the command line arguments against the usage without binding
+     * any program variables and without printing. The full matcher runs as
+     * for a parse; the program object is not touched and the quiet setting
+     * is restored afterwards.
+     * 
+     * @param args the command line arguments
+     * @return the verdict
+     */
+    public ArgResult validate (String [] args) {
+        boolean wasQuiet = quiet;
+        setQuiet(true);
+        validating = true;
+        try {
+            parseArguments(args);
+            return getResult();
+        } finally {
+            validating = false;
+            setQuiet(wasQuiet);
+        }
+    }
+
+    /**
+     * Returns the words that may complete a partial command line, for shell
+     * completion. The options still allowed by the usage alternatives that
+     * remain viable are offered, leaving out options already given unless
+     * they repeat and options excluded by those given. The literal operands
+     * expected at the word's position are offered as well. Nothing is offered
+     * when the word is the argument of an option. As in parsing, literal
+     * operands are matched without regard to case and option names with
+     * regard to case. The command line is not parsed and nothing is bound
+     * or printed.
+     * 
+     * @param args the words of the command line, without the program name
+     * @param cursorIndex the index of the word being completed, which may be
+     * {@code args.length} for a new word
+     * @return the candidate words starting with the word being completed
+     * @throws IllegalArgumentException if {@code cursorIndex} is negative or
+     * greater than {@code args.length}
+     */
+    public List<String> complete (String [] args, int cursorIndex) {
+        if (cursorIndex < 0 || cursorIndex > args.length) {
+            throw new IllegalArgumentException("Invalid cursor index: " + cursorIndex);
+        }
+        List<String> candidates = new ArrayList<String>();
+        if (! preParse()) {
+            return candidates;
+        }
+        if (completeNames == null) {
+            indexCompletion();
+        }
+        String prefix = cursorIndex < args.length ? args[cursorIndex] : "";
+        BitSet viable = new BitSet(usageList.size());
+        viable.set(0, usageList.size());
+        List<ArgOption> used = new ArrayList<ArgOption>();
+        List<String> words = new ArrayList<String>();
+        boolean optionsDone = false;
+        boolean optionArg = false;
+        for (int n = 0; n < cursorIndex; n++) {
+            String arg = args[n];
+            if (optionArg) {
+                optionArg = false;
+            } else if (optionsDone || arg.length() < 2 || arg.charAt(0) != '-') {
+                words.add(arg);
+            } else if (arg.equals("--")) {
+                optionsDone = true;
+            } else if (arg.startsWith("--")) {
+                int eq = arg.indexOf('=');
+                ArgOption option = completeNames.get(eq < 0 ? arg.substring(2) : arg.substring(2, eq));
+                if (option != null) {
+                    used.add(option);
+                    viable.and(optionUsage.get(option));
+                    optionArg = eq < 0 && takesArgument(option);
+                }
+            } else {
+                for (int k = 1; k < arg.length(); k++) {
+                    ArgOption option = completeNames.get(arg.substring(k, k + 1));
+                    if (option == null) {
+                        break;
+                    }
+                    used.add(option);
+                    viable.and(optionUsage.get(option));
+                    if (option.getArgName() != null) {
+                        optionArg = k == arg.length() - 1 && takesArgument(option);
+                        break;
+                    }
+                }
+            }
+        }
+        if (optionArg) {
+            return candidates;
+        }
+        int position = words.size();
+        Set<String> found = new LinkedHashSet<String>();
+        for (int u = viable.nextSetBit(0); u >= 0; u = viable.nextSetBit(u + 1)) {
+            List<List<ArgOperand>> operands = completeOperands.get(u);
+            if (! literalsMatch(operands, words)) {
+                viable.clear(u);
+                continue;
+            }
+            if (position < operands.size()) {
+                for (ArgOperand operand : operands.get(position)) {
+                    if (operand.isLiteral() && operand.getName().regionMatches(true,
+                            0, prefix, 0, prefix.length())) {
+                        found.add(operand.getName());
+                    }
+                }
+            }
+        }
+        if (! optionsDone && (prefix.isEmpty() || prefix.charAt(0) == '-')) {
+            for (ArgOption option : optionList) {
+                if (! optionAllowed(option, viable, used)) {
+                    continue;
+                }
+                addOptionName(found, option.getName(), prefix);
+                addOptionName(found, option.getAltName(), prefix);
+            }
+        }
+        candidates.addAll(found);
+        return candidates;
+    }
+
+    private static boolean takesArgument (ArgOption option) {
+        return option.getArgName() != null && ! option.isArgOptional();
+    }
+
+    private static void addOptionName (Set<String> found, String name, String prefix) {
+        if (name != null) {
+            name = (name.length() > 1 ? "--" : "-") + name;
+            if (name.startsWith(prefix)) {
+                found.add(name);
+            }
+        }
+    }
+
+    /**
+     * Tests the operand words against the literal operands of an alternative.
+     */
+    private static boolean literalsMatch (List<List<ArgOperand>> operands, List<String> words) {
+        for (int n = 0; n < words.size() && n < operands.size(); n++) {
+            boolean literal = true;
+            for (ArgOperand operand : operands.get(n)) {
+                if (! operand.isLiteral() || operand.getName().equalsIgnoreCase(words.get(n))) {
+                    literal = false;
+                    break;
+                }
+            }
+            if (literal) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Tests to see if an option may still be given in one of the viable
+     * alternatives.
+     */
+    private boolean optionAllowed (ArgOption option, BitSet viable, List<ArgOption> used) {
+        if (! option.isRepeat() && used.contains(option)) {
+            return false;
+        }
+        BitSet usages = optionUsage.get(option);
+        for (int u = usages.nextSetBit(0); u >= 0; u = usages.nextSetBit(u + 1)) {
+            if (! viable.get(u)) {
+                continue;
+            }
+            List<ArgOption> mutex = completeMutex.get(u).get(option);
+            if (mutex == null || Collections.disjoint(mutex, used)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Builds the completion index: options by name, the options exclusive of
+     * each option in each alternative, and the operands of each alternative
+     * by position.
+     */
+    private void indexCompletion () {
+        completeNames = new HashMap<String, ArgOption>();
+        for (ArgOption option : optionList) {
+            completeNames.put(option.getName(), option);
+            if (option.getAltName() != null) {
+                completeNames.put(option.getAltName(), option);
+            }
+        }
+        completeMutex = new ArrayList<Map<ArgOption, List<ArgOption>>>();
+        completeOperands = new ArrayList<List<List<ArgOperand>>>();
+        for (ArgNode start : usageList) {
+            Map<ArgOption, List<ArgOption>> mutex = new IdentityHashMap<ArgOption, List<ArgOption>>();
+            for (ArgOption option : optionList) {
+                List<ArgOption> list = new ArrayList<ArgOption>();
+                if (mutexCollect(start, option, list)) {
+                    list.remove(option);
+                    mutex.put(option, list);
+                }
+            }
+            completeMutex.add(mutex);
+            completeOperands.add(operandPositions(start));
+        }
+    }
+
+    /**
+     * Returns the operand choices of an alternative by position, up to the
+     * first optional or repeating operand, after which positions vary.
+     */
+    private List<List<ArgOperand>> operandPositions (ArgNode start) {
+        List<List<ArgOperand>> positions = new ArrayList<List<ArgOperand>>();
+        for (ArgNode node = start.getEast(); node != null; node = node.getEast()) {
+            if (onlyOptions(node)) {
+                continue;
+            }
+            List<ArgOperand> choices = new ArrayList<ArgOperand>();
+            boolean fixed = ! node.isOptional() && ! node.isRepeat();
+            for (ArgNode south = node; south != null; south = south.getSouth()) {
+                ArgOperand operand = south.getOperand();
+                if (operand == null) {
+                    fixed = false;
+                } else {
+                    choices.add(operand);
+                }
+            }
+            positions.add(choices);
+            if (! fixed) {
+                break;
+            }
+        }
+        return positions;
+    }
+
+    private void printError (String text) {
+        if (quiet) {
+            errors.add(text);
+        } else {
+            ArgUtil.printError(text);
+        }
+    }
+
+    /**
+     * Sets the "adaptiveOrder" feature. Usage alternatives that can never
+     * match the same command line are tried in order of how often they have
+     * matched. Alternatives that could both match keep their declared order.
+     * 
+     * @param adaptiveOrder {@code true} enables the adaptive order feature
+     */
+    public void setAdaptiveOrder (boolean adaptiveOrder) {
+        this.adaptiveOrder = adaptiveOrder;
+    }
+
+    /**
+     * Returns the number of successful matches for each usage alternative,
+     * keyed by the usage specification, in declared order. The counts may be
+     * saved and given to {@link #setUsageCounts(Map)} at a later startup.
+     * 
+     * @return the match counts of the usage alternatives
+     */
+    public Map<String, Long> getUsageCounts () {
+        Map<String, Long> counts = new LinkedHashMap<String, Long>();
+        if (argList == null || ! preParse()) {
+            return counts;
+        }
+        for (int n = 0; n < usageList.size(); n++) {
+            counts.put(usageKey(n), usageCount[n]);
+        }
+        return counts;
+    }
+
+    /**
+     * Sets the match counts for the usage alternatives, as returned by
+     * {@link #getUsageCounts()}. Entries that do not name a usage alternative
+     * are ignored. In adaptive order mode the trial order is updated at once.
+     * 
+     * @param counts the match counts keyed by usage specification
+     */
+    public void setUsageCounts (Map<String, Long> counts) {
+        usageSeed = new LinkedHashMap<String, Long>(counts);
+        if (usageList != null) {
+            seedUsage();
+        }
+    }
+
     /**
      * @return the usageText
      */
@@ -667,11 +1214,45 @@ public abstract class ArgBase implements ArgFace {
      * @return {@code true} on success
      */
     protected boolean parseUsage () {
+        output.begin();
+        try {
+            return compileUsageEvent();
+        } finally {
+            output.end();
+        }
+    }
+
+    private boolean compileUsageEvent () {
+        Object event = ArgEvents.beginSpecCompile();
+        long start = metrics == null ? 0 : System.nanoTime();
+        boolean status = compileUsage();
+        if (metrics != null) {
+            metrics.recordSince(ArgMetrics.PARSE_USAGE, start);
+        }
+        if (ArgEvents.shouldCommit(event)) {
+            int alternatives = 0;
+            if (status) {
+                for (ArgNode node = argList.getHome(); node != null;
+                        node = node.getSouth()) {
+                    alternatives++;
+                }
+            }
+            ArgEvents.commitSpecCompile(event, programName,
+                    usageText == null ? 0 : usageText.length(), alternatives,
+                    status ? optionList.size() : 0, status);
+        }
+        return status;
+    }
+
+    private boolean compileUsage () {
         if (usageText == null) {
-            ArgUtil.printError("No usage text");
+            printError("No usage text");
             return false;
         }
+        ArgUtil util = ArgUtil.getInstance();
+        util.setBase(this);
         util.setProgramName(programName);
+        errorName = programName;
         util.setOperandSuffix(getOperandSuffix());
         util.setOptionSuffix(getOptionSuffix());
         if (! parser.parse(usageText)) {
@@ -698,43 +1279,283 @@ public abstract class ArgBase implements ArgFace {
      * @return the number of arguments remaining or a negative value on error
      */
     protected int parseArguments (String [] args) {
+        output.begin();
+        try {
+            return parseCommandLine(args);
+        } finally {
+            output.end();
+        }
+    }
+
+    private int parseCommandLine (String [] args) {
+        ArgUtil util = ArgUtil.getInstance();
+        util.setBase(this);
+        if (errorName != null) {
+            util.setProgramName(errorName);
+        }
         if (! preParse()) {
             return -1;
         }
         help.initProblems();
-        reset();
-        targetOptions.clear();
+        errors.clear();
+        matchNode = null;
+        discard();
+        List<String> arguments = Arrays.asList(args);
+        if (argFiles != ArgFile.OFF && ArgFile.hasArgFile(args)) {
+            arguments = new ArrayList<String>();
+            try {
+                ArgFile.expand(args, argFiles, arguments);
+            } catch (IOException e) {
+                printError("Cannot read argument file: " + e.getMessage());
+                lastStatus = -1;
+                return -1;
+            }
+        }
+        scanArguments(arguments);
+        pattern.resetShape();
         int nArg = 0;
-        ArgNode node = argList.goHome();
-        while (node != null) {
-            Debug.trace(argList.buildUsageSpec(node));
+        int size = usageList.size();
+        ArgToken [] reject = new ArgToken [size];
+        BitSet viable = viableUsage(reject);
+        boolean adapt = adaptiveOrder && scanOperands;
+        int tried = 0;
+        for (int k = 0; k < size; k++) {
+            int n = adapt ? usageOrder[k] : k;
+            tried++;
+            ArgNode node = usageList.get(n);
+            tracer.trace(() -> argList.buildUsageSpec(node));
             argList.setCurrent(node);
-            nArg = parseArguments(node, args);
+            Object attempt = ArgEvents.beginAlternativeAttempt();
+            int problems = help.getProblemCount();
+            if (viable.get(n)) {
+                nArg = parseArguments(node);
+                if (nArg >= 0 && ! convertValues(node)) {
+                    nArg = -1;
+                }
+            } else {
+                nArg = rejectUsage(node, reject[n]);
+            }
+            if (ArgEvents.shouldCommit(attempt)) {
+                ArgEvents.commitAlternativeAttempt(attempt,
+                        argList.buildUsageSpec(node).trim(), n, scanLength, nArg >= 0,
+                        ! viable.get(n), rejectReason(nArg, problems));
+            }
+            if (nArg < 0 && listener != null && ! validating) {
+                listener.onAlternativeRejected(argList.buildUsageSpec(node).trim(),
+                        rejectReason(nArg, problems));
+            }
             if (nArg >= 0) {
-                modelSetProgramVariables(targetOperands, targetOptions);
+                matchNode = node;
+                if (listener != null && ! validating) {
+                    notifyListener(node);
+                } else if (! validating) {
+                    setProgramVariables(node);
+                }
+                countUsage(n);
                 break;
             } else if (nArg == -999) {
                 break;
             }
-            reset();
-            targetOptions.clear();
-            nonOptionList.clear();
-            node = node.getSouth();
-            Debug.trace("----------------");
+            discard();
+            tracer.trace("----------------");
+        }
+        if (metrics != null) {
+            metrics.count(ArgMetrics.PARSES, 1);
+            metrics.count(ArgMetrics.ALTERNATIVES, tried);
+            if (nArg < 0) {
+                metrics.count(ArgMetrics.FAILURES, 1);
+            }
         }
         if (nArg < 0) {
             if (nArg != -999) {
-                ArgUtil.printError("Missing or invalid arguments");
-                ArgUtil.printArgs(args);
-                help.printProblems();
+                printError("Missing or invalid arguments");
+                if (! quiet) {
+                    ArgUtil.printArgs(args);
+                    help.printProblems();
+                }
             }
             nArg = -1;
-        } else {
+        } else if (! validating && listener == null) {
             modelSetNonOptions(nonOptionList);
         }
+        lastStatus = nArg;
         return nArg;
     }
     
+    /**
+     * Discards the results of the previous parse attempt. Only the options
+     * and operands touched by that attempt are reset, so the cost depends on
+     * the command line rather than on the size of the usage definition.
+     */
+    private void discard () {
+        if (metrics != null) {
+            int entries = targetOptions.size() + targetOperands.size();
+            if (entries > 0) {
+                metrics.count(ArgMetrics.RESETS, 1);
+                metrics.count(ArgMetrics.RESET_ENTRIES, entries);
+            }
+        }
+        for (ArgOption option : targetOptions) {
+            option.reset();
+        }
+        targetOptions.clear();
+        for (ArgOperand operand : targetOperands) {
+            operand.reset();
+        }
+        targetOperands.clear();
+        nonOptionList.clear();
+    }
+
+    /**
+     * Converts the values of the matched operands and option arguments whose
+     * variables have a value type. A value that cannot be converted is a
+     * problem for this usage.
+     * 
+     * @return {@code true} if every value was converted
+     */
+    private boolean convertValues (ArgNode node) {
+        ArgConvert convert = ArgConvert.getInstance();
+        for (ArgOperand operand : targetOperands) {
+            Class<?> type = operand.getValueType();
+            if (type == null || operand.getConverted() != null || ! operand.has()) {
+                continue;
+            }
+            try {
+                if (operand.isRepeat()) {
+                    operand.setConverted(convert.convert(type, operand.getList()));
+                } else {
+                    operand.setConverted(convert.convert(type, operand.getValue()));
+                }
+            } catch (IllegalArgumentException e) {
+                help.addProblem(node, operand.getSpecText() + ": " + e.getMessage());
+                return false;
+            }
+        }
+        for (ArgOption option : targetOptions) {
+            Class<?> type = option.getValueType();
+            if (type == null || option.getConverted() != null) {
+                continue;
+            }
+            try {
+                if (option.isRepeat() && option.getList() != null) {
+                    option.setConverted(convert.convert(type, option.getList()));
+                } else if (option.getArgValue() != null) {
+                    option.setConverted(convert.convert(type, option.getArgValue()));
+                }
+            } catch (IllegalArgumentException e) {
+                String name = option.getName();
+                name = (name.length() > 1 ? "--" : "-") + name;
+                help.addProblem(node, name + ": " + e.getMessage());
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gives the values of repeating operands and option arguments to their
+     * consumers, once the usage is committed. Operand values are taken one at
+     * a time from the non option list, where the pattern match left them;
+     * any that had to be collected are given after them and dropped.
+     */
+    private void consumeValues () {
+        Map<Object, Boolean> seen = null;
+        for (ArgOperand operand : targetOperands) {
+            Consumer<String> consumer = operand.getConsumer();
+            if (consumer == null || ! operand.isRepeat()) {
+                continue;
+            }
+            if (seen == null) {
+                seen = new IdentityHashMap<Object, Boolean>();
+            }
+            if (seen.put(operand, Boolean.TRUE) == null) {
+                for (int n = operand.getValueStart(); n >= 0 && n < operand.getValueEnd(); n++) {
+                    consumer.accept(nonOptionList.get(n));
+                }
+                if (operand.getList() != null) {
+                    for (String value : operand.getList()) {
+                        consumer.accept(value);
+                    }
+                    operand.getList().clear();
+                }
+            }
+        }
+        for (ArgOption option : targetOptions) {
+            Consumer<String> consumer = option.getConsumer();
+            if (consumer == null || ! option.isRepeat() || option.getList() == null) {
+                continue;
+            }
+            if (seen == null) {
+                seen = new IdentityHashMap<Object, Boolean>();
+            }
+            if (seen.put(option, Boolean.TRUE) == null) {
+                for (String value : option.getList()) {
+                    consumer.accept(value);
+                }
+            }
+        }
+    }
+
+    private void setProgramVariables (ArgNode node) {
+        Object event = ArgEvents.beginBind();
+        long start = metrics == null ? 0 : System.nanoTime();
+        consumeValues();
+        modelSetProgramVariables(targetOperands, targetOptions);
+        if (metrics != null) {
+            metrics.recordSince(ArgMetrics.SET_VARIABLES, start);
+            metrics.count(ArgMetrics.BINDINGS,
+                    targetOperands.size() + targetOptions.size());
+        }
+        if (ArgEvents.shouldCommit(event)) {
+            ArgEvents.commitBind(event, argList.buildUsageSpec(node).trim(),
+                    targetOperands.size(), targetOptions.size());
+        }
+    }
+
+    /**
+     * Gives the options and operands of the matching usage to the listener,
+     * in command line order.
+     */
+    private void notifyListener (ArgNode node) {
+        consumeValues();
+        listener.onMatch(argList.buildUsageSpec(node).trim(), patternMatch);
+        Map<Object, Integer> taken = new IdentityHashMap<Object, Integer>();
+        for (ArgOption option : targetOptions) {
+            String value = option.getArgValue();
+            if (option.isRepeat()) {
+                value = nextValue(option, option.getList(), taken);
+            }
+            listener.onOption(option, value);
+        }
+        for (ArgOperand operand : targetOperands) {
+            if (! operand.isRepeat()) {
+                listener.onOperand(operand, operand.getValue());
+            } else if (operand.getConsumer() == null && operand.getList() != null) {
+                listener.onOperand(operand, nextValue(operand, operand.getList(), taken));
+            }
+        }
+    }
+
+    private String nextValue (Object key, List<String> list, Map<Object, Integer> taken) {
+        if (list == null) {
+            return null;
+        }
+        Integer index = taken.get(key);
+        int n = index == null ? 0 : index;
+        taken.put(key, n + 1);
+        return n < list.size() ? list.get(n) : null;
+    }
+
+    private String rejectReason (int nArg, int problems) {
+        if (nArg == -999) {
+            return "Invalid option";
+        }
+        if (help.getProblemCount() > problems) {
+            return help.getProblemText(problems);
+        }
+        return null;
+    }
+
     private void reset () {
         for (ArgOperand operand : varList) {
             operand.reset();
@@ -747,8 +1568,11 @@ public abstract class ArgBase implements ArgFace {
         }
     }
     
-    private int parseArguments (ArgNode start, String [] args) {
-        int nArg = parseArgOne(start, args);
+    private int parseArguments (ArgNode start) {
+        if (metrics != null) {
+            return measureArguments(start);
+        }
+        int nArg = parseArgOne(start);
         if (nArg < 0) {
             return nArg;
         }
@@ -759,25 +1583,44 @@ public abstract class ArgBase implements ArgFace {
         return nArg;
     }
 
+    private int measureArguments (ArgNode start) {
+        long time = System.nanoTime();
+        int nArg = parseArgOne(start);
+        metrics.recordSince(ArgMetrics.PARSE_ARG_ONE, time);
+        if (nArg < 0) {
+            return nArg;
+        }
+        time = System.nanoTime();
+        int n = parseArgTwo(start);
+        metrics.recordSince(ArgMetrics.MATCH_USAGE, time);
+        metrics.count(ArgMetrics.PATTERNS, pattern.getPatternCount());
+        if (n < 0) {
+            nArg = n;
+        }
+        return nArg;
+    }
+
     /**
-     * Parse arguments step one. Separate the options and their arguments from
-     * the operands.
+     * Scans the command line arguments once for all usage alternatives.
+     * Options are separated from their values and the arguments consumed by
+     * each option are determined, producing the token list that each usage
+     * alternative applies in {@link #parseArgOne(ArgNode)}. Scanning stops at
+     * the first option not found in any usage.
      * 
-     * @param start the starting node of the arguments list
      * @param args the command line arguments
-     * @return the argument index or negative if there is an error
      */
-    private int parseArgOne (ArgNode start, String [] args) {
+    private void scanArguments (List<String> args) {
         int nArg = 0;
         int firstOperand = -1;
         boolean takeAllArgs = false;
         boolean separatorSeen = false;
-        nonOptionList.clear();
+        tokenList.clear();
+        scanOperands = false;
 
         // Process each argument.
-        for (nArg = 0; nArg < args.length; nArg++) {
-            String arg = args[nArg];
-            Debug.trace("arg: " + arg);
+        for (nArg = 0; nArg < args.size(); nArg++) {
+            String arg = args.get(nArg);
+            tracer.trace("arg: ", arg);
             if (takeAllArgs) {
                 addNonOption(arg);
                 continue;
@@ -846,17 +1689,11 @@ public abstract class ArgBase implements ArgFace {
             else if ((!doubleDash) && (letterGroup(letters, name))) {
 
                 // Option is a group of single letters w/o arguments.
-                // Set them each to true and continue.
+                ArgOption [] options = new ArgOption [name.length()];
                 for (int n = 0; n < name.length(); n++) {
-                    String letter = name.substring(n, n + 1);
-                    ArgOption opt = findOption(start, letter);
-                    if (opt != null) {
-                        setOptionTrue(opt);
-                        targetOptions.add(opt);
-                    } else {
-                        return -1;
-                    }
+                    options[n] = findOption(name.substring(n, n + 1));
                 }
+                tokenList.add(ArgToken.letters(arg, name, options));
                 continue;
             }
 
@@ -868,154 +1705,247 @@ public abstract class ArgBase implements ArgFace {
                 name = name.substring(0, 1);
             }
 
-            // Find the Option.
-            // If not, try abbreviation
-            ArgOption option = findOption(start, name);
+            // No option by this name in any usage.
+            // Nothing after it can matter.
+            ArgOption option = findOption(name);
             if (option == null) {
-                option = findOptionAbb(start, name);
+                tokenList.add(ArgToken.invalid(arg, name));
+                break;
             }
 
-            // No option found.
-            if (option == null) {
-
-                // Does this option even exist in the option list?
-                if (findOption(name) != null) {
-
-                    // Yes, try another usage.
-                    String text = "Option -" + name + " does not apply to this usage";
-                    help.addProblem(start, text);
-                    return -1;
-                }
-                // Otherwise, print bad option and stop.
-                else {
-                    ArgUtil.printError("Invalid option: " + arg);
-                    return -999;
-                }
+            // This option does not include an argument.
+            // Continue with next program arg.
+            String argName = option.getArgName();
+            if (argName == null) {
+                tokenList.add(ArgToken.option(arg, name, option, null, false));
+                continue;
             }
+            boolean assign = true;
 
-            // Option found.
-            else {
-                
-                // Check this option against others in target list
-                // for mutual exclusion.
-                if (mutexOption(start, option)) {
-                    return -1;
-                }
-                
-                // Set option as true and add to target list.
-                setOptionTrue(option);
-                targetOptions.add(option);
-
-                // help option.
-                // Print help and exit.
-                if (option.nameMatch("help")) {
-                    if (help.printHelp()) {
-                        nArg = args.length;
-                        break;
-                    }
-                }
+            // Argument value is not yet known.
+            if (value == null) {
 
-                // version option.
-                // Print version text and exit.
-                if (option.nameMatch("version")) {
-                    if (help.printVersion()) {
-                        nArg = args.length;
-                        break;
-                    }
-                }
+                // The option argument is optional.
+                if (option.isArgOptional()) {
 
-                // about option.
-                // Print about text and exit.
-                if (option.nameMatch("about")) {
-                    if (help.printAbout()) {
-                        nArg = args.length;
-                        break;
-                    }
-                }
+                    // More program args.
+                    if (nArg + 1 < args.size()) {
 
-                // This option does not include an argument.
-                // Continue with next program arg.
-                String argName = option.getArgName();
-                if (argName == null) {
-                    continue;
-                }
-
-                // Argument value is not yet known.
-                if (value == null) {
-
-                    // The option argument is optional.
-                    if (option.isArgOptional()) {
-
-                        // More program args.
-                        if (nArg + 1 < args.length) {
-
-                            // Separator already seen, take next argument.
-                            if (separatorSeen) {
-                                value = args[++nArg];
-                            }
+                        // Separator already seen, take next argument.
+                        if (separatorSeen) {
+                            value = args.get(++nArg);
+                        }
 
-                            // Separator not seen, check next arg.
-                            // If it doesn't start with '=' or ':', argument not
-                            // specified.
-                            // Continue with next program arg.
-                            else {
-                                if (!args[nArg + 1].startsWith("=")
-                                        && !args[nArg + 1].startsWith(":")) {
-                                    continue;
-                                }
+                        // Separator not seen, check next arg.
+                        // If it doesn't start with '=' or ':', argument not
+                        // specified.
+                        else if (!args.get(nArg + 1).startsWith("=")
+                                && !args.get(nArg + 1).startsWith(":")) {
+                            assign = false;
+                        }
 
-                                // Next arg starts with separator.
-                                // Isolate value.
-                                else {
-                                    value = args[++nArg].substring(1);
+                        // Next arg starts with separator.
+                        // Isolate value.
+                        else {
+                            value = args.get(++nArg).substring(1);
 
-                                    // Is there more?
-                                    if (value.length() == 0) {
+                            // Is there more?
+                            if (value.length() == 0) {
 
-                                        // No. Another program arg?
-                                        if (nArg + 1 < args.length) {
+                                // No. Another program arg?
+                                if (nArg + 1 < args.size()) {
 
-                                            // Yes.
-                                            value = args[++nArg];
-                                        }
-                                    }
+                                    // Yes.
+                                    value = args.get(++nArg);
                                 }
                             }
                         }
                     }
+                }
 
-                    // Value not known, option argument is required.
-                    else {
-                        while (++nArg < args.length) {
-
-                            // Get next program arg.
-                            value = args[nArg];
+                // Value not known, option argument is required.
+                else {
+                    while (++nArg < args.size()) {
 
-                            // If it starts with '=' or ':', isolate value.
-                            if (value.startsWith("=") || value.startsWith(":")) {
-                                value = value.substring(1);
+                        // Get next program arg.
+                        value = args.get(nArg);
 
-                                // More after separator, done.
-                                if (value.length() > 0) {
-                                    break;
-                                }
-                            }
+                        // If it starts with '=' or ':', isolate value.
+                        if (value.startsWith("=") || value.startsWith(":")) {
+                            value = value.substring(1);
 
-                            // Doesn't start with separator, done.
-                            else {
+                            // More after separator, done.
+                            if (value.length() > 0) {
                                 break;
                             }
                         }
+
+                        // Doesn't start with separator, done.
+                        else {
+                            break;
+                        }
                     }
                 }
-                Debug.trace("opt: " + value);
-                setArgString(option, value);
             }
+            tokenList.add(ArgToken.option(arg, name, option, value, assign));
         }
         if (firstOperand >= 0) {
             nArg = firstOperand;
         }
-        return nArg;
+        scanCount = nArg;
+        scanLength = args.size();
+    }
+
+    /**
+     * Determines which usage alternatives can still apply to the scanned
+     * arguments. Each option narrows the set to the alternatives that
+     * include it, in command line order, up to the first help, version or
+     * about option. The token that rules out an alternative is saved so the
+     * problem can be reported when that alternative's turn comes.
+     * 
+     * @param reject receives the rejecting token for each alternative
+     * @return the set of viable usage alternatives
+     */
+    private BitSet viableUsage (ArgToken [] reject) {
+        BitSet viable = new BitSet(reject.length);
+        viable.set(0, reject.length);
+        BitSet dropped = new BitSet(reject.length);
+        for (ArgToken token : tokenList) {
+            if (token.isOption()) {
+                ArgOption option = token.getOption();
+                dropUsage(viable, dropped, option, token, reject);
+                if (option.nameMatch("help") || option.nameMatch("version")
+                        || option.nameMatch("about")) {
+                    break;
+                }
+            } else if (token.isLetters()) {
+                for (ArgOption option : token.getLetterOptions()) {
+                    dropUsage(viable, dropped, option, token, reject);
+                }
+            } else if (token.isInvalid()) {
+                break;
+            }
+            if (viable.isEmpty()) {
+                break;
+            }
+        }
+        return viable;
+    }
+
+    private void dropUsage (BitSet viable, BitSet dropped, ArgOption option,
+            ArgToken token, ArgToken [] reject) {
+        dropped.clear();
+        dropped.or(viable);
+        dropped.andNot(optionUsage.get(option));
+        for (int n = dropped.nextSetBit(0); n >= 0; n = dropped.nextSetBit(n + 1)) {
+            reject[n] = token;
+        }
+        viable.andNot(dropped);
+    }
+
+    private int rejectUsage (ArgNode start, ArgToken token) {
+        if (token.isOption()) {
+            String text = "Option -" + token.getName()
+                    + " does not apply to this usage";
+            help.addProblem(start, text);
+        }
+        return -1;
+    }
+
+    /**
+     * Parse arguments step one. Apply the scanned options to the usage
+     * alternative and separate the operands.
+     * 
+     * @param start the starting node of the arguments list
+     * @return the argument index or negative if there is an error
+     */
+    private int parseArgOne (ArgNode start) {
+        for (ArgToken token : tokenList) {
+
+            // Non option, kept in order for the pattern match.
+            if (token.isNonOption()) {
+                nonOptionList.add(token.getArg());
+                continue;
+            }
+
+            // Option does not exist in any usage.
+            // Print bad option and stop.
+            if (token.isInvalid()) {
+                printError("Invalid option: " + token.getArg());
+                return -999;
+            }
+
+            // Letter group. Set each letter option to true.
+            String name = token.getName();
+            if (token.isLetters()) {
+                for (int n = 0; n < name.length(); n++) {
+                    String letter = name.substring(n, n + 1);
+                    ArgOption opt = findOption(start, letter);
+                    if (opt != null) {
+                        setOptionTrue(opt);
+                        targetOptions.add(opt);
+                    } else {
+                        return -1;
+                    }
+                }
+                continue;
+            }
+
+            // Find the Option.
+            // If not, try abbreviation
+            ArgOption option = findOption(start, name);
+            if (option == null) {
+                option = findOptionAbb(start, name);
+            }
+
+            // Option exists but not in this usage.
+            if (option == null) {
+                String text = "Option -" + name + " does not apply to this usage";
+                help.addProblem(start, text);
+                return -1;
+            }
+                
+            // Check this option against others in target list
+            // for mutual exclusion.
+            if (mutexOption(start, option)) {
+                return -1;
+            }
+            
+            // Set option as true and add to target list.
+            setOptionTrue(option);
+            targetOptions.add(option);
+
+            // help option.
+            // Print help and exit.
+            if (option.nameMatch("help")) {
+                if (help.printHelp()) {
+                    return scanLength;
+                }
+            }
+
+            // version option.
+            // Print version text and exit.
+            if (option.nameMatch("version")) {
+                if (help.printVersion()) {
+                    return scanLength;
+                }
+            }
+
+            // about option.
+            // Print about text and exit.
+            if (option.nameMatch("about")) {
+                if (help.printAbout()) {
+                    return scanLength;
+                }
+            }
+
+            // Option argument scanned with the option.
+            if (token.isAssign()) {
+                tracer.trace("opt: ", token.getValue());
+                setArgString(option, token.getValue());
+            }
+        }
+        return scanCount;
     }
  
     private int parseArgTwo (ArgNode usageNode) {
@@ -1024,10 +1954,18 @@ public abstract class ArgBase implements ArgFace {
         pattern.setArgList(argList);
         pattern.setNonOptionList(nonOptionList);
         pattern.setPatternWatch(patternWatch);
+        pattern.setFeedConsumers(! validating);
         
         // Match non options to usage patterns.
         patternMatch = null;
-        if (pattern.matchUsage(usageNode)) {
+        Object search = ArgEvents.beginPatternSearch();
+        boolean matched = pattern.matchUsage(usageNode);
+        if (ArgEvents.shouldCommit(search)) {
+            ArgEvents.commitPatternSearch(search, nonOptionList.size(),
+                    pattern.getPatternCount(), matched ? pattern.getPatternMatch() : null,
+                    matched);
+        }
+        if (matched) {
             targetOperands = pattern.getTargetOperands();
             patternMatch = pattern.getPatternMatch();
             return 0;
@@ -1043,7 +1981,8 @@ public abstract class ArgBase implements ArgFace {
     }*/
 
     private void addNonOption (String arg) {
-        nonOptionList.add(arg);
+        tokenList.add(ArgToken.nonOption(arg));
+        scanOperands = true;
     }
     
     private ArgOption findOption (String name) {
@@ -1236,6 +2175,16 @@ public abstract class ArgBase implements ArgFace {
     public ArgHelp getHelp () {
     	return help;
     }
+
+    /**
+     * Completes the parsed usage as the first parse does, adding the help,
+     * version and about options where the usage has none.
+     * 
+     * @return {@code true} on success
+     */
+    boolean prepare () {
+        return preParse();
+    }
     
     private boolean preParse () {
         
@@ -1247,6 +2196,7 @@ public abstract class ArgBase implements ArgFace {
         } else {
             preParseDone = true;
         }
+        long start = metrics == null ? 0 : System.nanoTime();
         
         // Sort options prior to adding help, version, or about.
         if (isSortOptions()) {
@@ -1299,9 +2249,146 @@ public abstract class ArgBase implements ArgFace {
         isPosixFormat();
         nonOptionList = new ArrayList<String>();
         targetOptions = new ArrayList<ArgOption>();
+        targetOperands = pattern.getTargetOperands();
+        pattern.setArgList(argList);
+        pattern.setLitList(litList);
+        tokenList = new ArrayList<ArgToken>();
+        reset();
+        indexUsage();
+        if (metrics != null) {
+            metrics.recordSince(ArgMetrics.PRE_PARSE, start);
+        }
         return status;
     }
 
+    /**
+     * Indexes the usage alternatives. For each option, a set records the
+     * alternatives that include it so that options seen on the command line
+     * can rule out alternatives before any of them is applied.
+     */
+    private void indexUsage () {
+        usageList = new ArrayList<ArgNode>();
+        optionUsage = new IdentityHashMap<ArgOption, BitSet>();
+        for (ArgOption option : optionList) {
+            optionUsage.put(option, new BitSet());
+        }
+        for (ArgNode node = argList.goHome(); node != null; node = node.getSouth()) {
+            int index = usageList.size();
+            usageList.add(node);
+            for (ArgOption option : optionList) {
+                if (findOption(node, option.getName()) != null) {
+                    optionUsage.get(option).set(index);
+                }
+            }
+        }
+        int size = usageList.size();
+        usageCount = new long [size];
+        usageOrder = new int [size];
+        usageLead = new String [size];
+        for (int n = 0; n < size; n++) {
+            usageOrder[n] = n;
+            usageLead[n] = leadingLiteral(usageList.get(n));
+        }
+        adaptCount = 0;
+        completeNames = null;
+        if (usageSeed != null) {
+            seedUsage();
+        }
+    }
+
+    private String usageKey (int index) {
+        return argList.buildUsageSpec(usageList.get(index)).trim();
+    }
+
+    private void seedUsage () {
+        for (int n = 0; n < usageList.size(); n++) {
+            Long count = usageSeed.get(usageKey(n));
+            if (count != null) {
+                usageCount[n] = count;
+            }
+        }
+        reorderUsage();
+    }
+
+    private void countUsage (int index) {
+        usageCount[index]++;
+        if (adaptiveOrder && ++adaptCount >= ADAPT_INTERVAL) {
+            adaptCount = 0;
+            reorderUsage();
+        }
+    }
+
+    /**
+     * Moves the more frequently matched usage alternatives ahead of others.
+     * Only neighbors that can never match the same command line are
+     * exchanged, so the first alternative to match any given command line
+     * is the same as in declared order.
+     */
+    private void reorderUsage () {
+        boolean swapped = true;
+        while (swapped) {
+            swapped = false;
+            for (int k = 0; k + 1 < usageOrder.length; k++) {
+                int a = usageOrder[k];
+                int b = usageOrder[k + 1];
+                if (usageCount[b] > usageCount[a] && disjointUsage(a, b)) {
+                    usageOrder[k] = b;
+                    usageOrder[k + 1] = a;
+                    swapped = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns {@code true} if two usage alternatives can never both match.
+     * This is known when each begins with a required literal operand and
+     * the literals differ, ignoring case as the matcher does. Adaptive order
+     * is used only when there are operands, since with none every
+     * alternative's pattern is satisfied.
+     */
+    private boolean disjointUsage (int a, int b) {
+        if (usageLead[a] == null || usageLead[b] == null) {
+            return false;
+        }
+        return ! usageLead[a].equalsIgnoreCase(usageLead[b]);
+    }
+
+    /**
+     * Returns the required literal that must be the first operand of the usage
+     * alternative, or null if there is no such literal.
+     */
+    private String leadingLiteral (ArgNode start) {
+        for (ArgNode node = start.getEast(); node != null; node = node.getEast()) {
+            if (onlyOptions(node)) {
+                continue;
+            }
+            ArgOperand operand = node.getOperand();
+            if (operand != null && operand.isLiteral() && ! node.isOptional()
+                    && node.getSouth() == null) {
+                return operand.getName();
+            }
+            return null;
+        }
+        return null;
+    }
+
+    private boolean onlyOptions (ArgNode node) {
+        for ( ; node != null; node = node.getSouth()) {
+            ArgList group = node.getGroup();
+            if (group != null) {
+                for (ArgNode n = group.getHome(); n != null; n = n.getEast()) {
+                    if (! onlyOptions(n)) {
+                        return false;
+                    }
+                }
+            } else if (! node.isOption()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private boolean postProcess (ArgOperand operand) {
         
         // Special handling for literal "options" operand.
@@ -1387,7 +2474,7 @@ public abstract class ArgBase implements ArgFace {
     private void addLetters (String name) {
         if (name.length() == 1) {
             if (letters.contains(name)) {
-                ArgUtil.printError("Warning: Duplicate option letter: -"
+                printError("Warning: Duplicate option letter: -"
                         + name);
             } else {
                 letters += name;
@@ -1504,7 +2591,7 @@ public abstract class ArgBase implements ArgFace {
         if (option.isArgSet()) {
             if (allowOverwrite == null) {
                 String text = option.getText();
-                ArgUtil.printError("Option " + text + " may not be repeated");
+                printError("Option " + text + " may not be repeated");
                 return false;
             }
             return allowOverwrite;
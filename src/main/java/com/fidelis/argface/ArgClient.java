@@ -0,0 +1,117 @@
+/**
+ *+
+ *  ArgClient.java
+ *	1.0.0	Oct 19, 2026
+ *-
+ */
+package com.fidelis.argface;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * A client for {@link ArgServer}. One connection carries any number of
+ * requests, answered in order.
+ * <p>
+ * The {@code main} method checks one command line from a shell:<pre>
+ *  java com.fidelis.argface.ArgClient &lt;socket&gt; &lt;spec&gt; [&lt;arg&gt;]...</pre>
+ * It prints the result and exits with status 0 when the command line
+ * matched and 1 when it did not.
+ *
+ * @version 1.0.0
+ *
+ */
+public class ArgClient implements Closeable {
+
+    private final SocketChannel     channel;
+    private final DataInputStream   in;
+    private final DataOutputStream  out;
+
+    /**
+     * Connects to the server listening on the given socket path.
+     *
+     * @param socketPath the path of the Unix domain socket
+     * @throws IOException if the connection fails
+     */
+    public ArgClient (Path socketPath) throws IOException {
+        channel = ArgServer.openUnix(SocketChannel.class);
+        channel.connect(ArgServer.unixAddress(socketPath));
+        in = new DataInputStream(
+                new BufferedInputStream(Channels.newInputStream(channel)));
+        out = new DataOutputStream(
+                new BufferedOutputStream(Channels.newOutputStream(channel)));
+    }
+
+    /**
+     * Parses a command line against a named specification on the server.
+     *
+     * @param spec the specification name
+     * @param args the command line arguments
+     * @return the result
+     * @throws IOException if the connection fails or the request is larger
+     * than {@link ArgServer#MAX_FRAME}
+     */
+    public synchronized ArgResult parse (String spec, String... args)
+            throws IOException {
+        ByteArrayOutputStream request = new ByteArrayOutputStream(256);
+        DataOutputStream fields = new DataOutputStream(request);
+        ArgResult.writeText(fields, spec);
+        fields.writeInt(args.length);
+        for (String arg : args) {
+            ArgResult.writeText(fields, arg);
+        }
+        ArgServer.writeFrame(out, request.toByteArray());
+        byte [] response = ArgServer.readFrame(in);
+        if (response == null) {
+            throw new EOFException("Server closed the connection");
+        }
+        return ArgResult.readFrom(new DataInputStream(
+                new ByteArrayInputStream(response)));
+    }
+
+    /**
+     * Closes the connection.
+     *
+     * @throws IOException if the close fails
+     */
+    @Override
+    public void close () throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Checks one command line against a server specification.
+     *
+     * @param args the socket path, the specification name and the command
+     * line arguments
+     */
+    public static void main (String [] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: ArgClient <socket> <spec> [<arg>]...");
+            System.exit(2);
+        }
+        ArgResult result;
+        try (ArgClient client = new ArgClient(Paths.get(args[0]))) {
+            result = client.parse(args[1], Arrays.copyOfRange(args, 2, args.length));
+        } catch (IOException e) {
+            System.err.println("ArgClient: " + e.getMessage());
+            System.exit(2);
+            return;
+        }
+        System.out.println(result);
+        System.exit(result.isMatched() ? 0 : 1);
+    }
+
+}
@@ -6,9 +6,21 @@
  */
 package com.fidelis.argface;
 
-import java.lang.reflect.InvocationTargetException;
+import java.io.BufferedReader;
+import java.io.IOException;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 /**
  * The command implementation of ArgFace.
@@ -27,10 +39,11 @@ public class ArgCommand extends ArgStandard implements ArgFace {
 	public static final int COMMAND7 = 7;
 	public static final int COMMAND8 = 8;
 	public static final int MAXINDEX = 8;
-	private static Object[] clis = new Object[MAXINDEX + 1];
-	private static ArgCommand[] argCommands = new ArgCommand[MAXINDEX + 1];
-	private static int previousLevel = 0;
-	private static String programOptionSuffix;
+	private static volatile ArgCommandRegistry registry = ArgCommandRegistry.create();
+	private ArgCommandContext context;
+	private String poolKey;
+	private ArgCommandRegistry poolRegistry;
+	private final Deque<ArgCommand> batchPrograms = new ConcurrentLinkedDeque<ArgCommand>();
 	private int currentLevel = 0;
    
     /**
@@ -48,8 +61,7 @@ public class ArgCommand extends ArgStandard implements ArgFace {
      */
     public static ArgCommand create () {
     	ArgCommand argCommand = new ArgCommand();
-    	argCommand.currentLevel = previousLevel++;
-    	argCommand.setArgCommand(argCommand);
+    	argCommand.getContext();
         return argCommand;
     }
     
@@ -85,23 +97,211 @@ public class ArgCommand extends ArgStandard implements ArgFace {
         return argCommand;
     }
     
+    /**
+     * Creates a new {@code ArgCommand} instance for a command line interface
+     * object and parses the usage text. When command reuse is on for the
+     * program, a command level whose usage was parsed by an earlier dispatch
+     * is reused for the new object instead of being parsed again.
+     * 
+     * @param usageText the usage text as a String
+     * @param cli the command line interface object
+     * @return the new {@code ArgCommand} instance or null on failure
+     * @see #setReuseCommands(boolean)
+     */
     public static ArgCommand create (String usageText, Object cli) {
-        ArgCommand argCommand = create(usageText);
+        ArgCommand argCommand = reuse(usageText, cli);
+        if (argCommand != null) {
+            return argCommand;
+        }
+        argCommand = create(usageText);
+        argCommand.setPoolKey(poolKey(usageText, cli));
         argCommand.setCLI(cli);
         if (argCommand.parseUsage(cli)) {
+            argCommand.compiled(cli);
         	return argCommand;
         }
         return null;
     }
     
+    /**
+     * Creates a new {@code ArgCommand} instance for a command line interface
+     * object and parses the usage text.
+     * 
+     * @param usageText the usage text as an array of Strings
+     * @param cli the command line interface object
+     * @return the new {@code ArgCommand} instance or null on failure
+     * @see #create(String, Object)
+     */
     public static ArgCommand create (String [] usageText, Object cli) {
-        ArgCommand argCommand = create(usageText);
+        String text = String.join("\n", usageText);
+        ArgCommand argCommand = reuse(text, cli);
+        if (argCommand != null) {
+            return argCommand;
+        }
+        argCommand = create(usageText);
+        argCommand.setPoolKey(poolKey(text, cli));
         argCommand.setCLI(cli);
         if (argCommand.parseUsage(cli)) {
+            argCommand.compiled(cli);
             return argCommand;
         }
         return null;
     }
+
+    private void compiled (Object cli) {
+        ArgCommandSet commandSet = getContext().getRoot().getCommandSet();
+        if (poolKey != null && commandSet != null) {
+            commandSet.setCompiled(cli.getClass());
+        }
+    }
+
+    private void setPoolKey (String poolKey) {
+        this.poolKey = poolKey;
+        poolRegistry = poolKey == null ? null : registry;
+    }
+
+    private static String poolKey (String usageText, Object cli) {
+        ArgCommandContext parent = ArgCommandContext.dispatching();
+        if (parent == null || ! parent.getRoot().isReuse()) {
+            return null;
+        }
+        return poolKey(usageText, cli.getClass(), parent.getRoot());
+    }
+
+    private static String poolKey (String usageText, Class<?> cliClass,
+            ArgCommandContext program) {
+        return cliClass.getName() + '\n'
+                + program.getOptionSuffix() + '\n' + usageKey(usageText);
+    }
+
+    /**
+     * Returns the usage text as it is keyed in the pool: one newline
+     * between lines, no white space at either end of a line and no blank
+     * lines at the end. Texts that differ only in these ways parse the same.
+     */
+    static String usageKey (String usageText) {
+        StringBuilder sb = new StringBuilder(usageText.length());
+        for (String line : usageText.split("\r\n|\r|\n")) {
+            sb.append(line.trim()).append('\n');
+        }
+        int end = sb.length();
+        while (end > 0 && sb.charAt(end - 1) == '\n') {
+            end--;
+        }
+        sb.setLength(end);
+        return sb.toString();
+    }
+
+    /**
+     * Parses a command level's usage text ahead of its first dispatch and
+     * leaves the result in the registry's pool for that dispatch to take.
+     * 
+     * @param program the program level the command is dispatched beneath
+     * @param usageText the usage text as a String or null
+     * @param usageLines the usage text as an array of Strings or null
+     * @param cli a command line interface object of the command's class
+     * @return {@code true} on success
+     */
+    static boolean compile (ArgCommandContext program, String usageText,
+            String [] usageLines, Object cli) {
+        ArgCommand argCommand = new ArgCommand();
+        argCommand.context = ArgCommandContext.detached(argCommand, program);
+        argCommand.currentLevel = argCommand.context.getLevel();
+        if (usageLines != null) {
+            argCommand.setUsageText(usageLines);
+            usageText = String.join("\n", usageLines);
+        } else {
+            argCommand.setUsageText(usageText);
+        }
+        argCommand.setPoolKey(poolKey(usageText, cli.getClass(), program));
+        argCommand.setCLI(cli);
+        if (! argCommand.parseUsage(cli)) {
+            return false;
+        }
+        argCommand.release();
+        return true;
+    }
+
+    private static ArgCommand reuse (String usageText, Object cli) {
+        String key = poolKey(usageText, cli);
+        if (key == null) {
+            return null;
+        }
+        ArgCommand argCommand = registry.takeIdle(key);
+        if (argCommand == null) {
+            return null;
+        }
+        argCommand.context = null;
+        argCommand.getContext();
+        argCommand.setCLI(cli);
+        argCommand.rebind(cli);
+        return argCommand;
+    }
+
+    /**
+     * Returns a command level to the pool of the registry it was created
+     * under once the dispatch that created it has returned.
+     */
+    void release () {
+        if (poolKey != null) {
+            poolRegistry.putIdle(poolKey, this);
+        }
+    }
+
+    /**
+     * Returns the command set of this program.
+     * 
+     * @return the command set or null
+     * @see #setCommandSet(ArgCommandSet)
+     */
+    public ArgCommandSet getCommandSet () {
+        return getContext().getRoot().getCommandSet();
+    }
+
+    /**
+     * Sets the command set for the commands beneath this program. Command
+     * levels are then reused, as with {@link #setReuseCommands(boolean)},
+     * and the command set may parse their usage texts before they are
+     * dispatched.
+     * 
+     * @param commandSet the command set
+     * @see ArgCommandSet#warmUp()
+     */
+    public void setCommandSet (ArgCommandSet commandSet) {
+        ArgCommandContext program = getContext().getRoot();
+        program.setCommandSet(commandSet);
+        program.setReuse(true);
+        commandSet.setProgram(program);
+    }
+
+    /**
+     * Tests to see if command levels are reused.
+     * 
+     * @return {@code true} if command levels are reused
+     * @see #setReuseCommands(boolean)
+     */
+    public boolean isReuseCommands () {
+        return getContext().getRoot().isReuse();
+    }
+
+    /**
+     * Sets whether the command levels beneath this program are reused. Each
+     * command level's usage text is then parsed once, by the first dispatch
+     * to it, and later dispatches bind the parsed usage to their own command
+     * line interface object. A command level's {@code ArgCommand} must not
+     * be used after the {@code execute} method that created it returns.
+     * <p>
+     * Parsed levels are kept by the registry in use, so they are shared by
+     * the programs dispatching through it, as in a batch. Only the usage
+     * parsing is saved: each level still scans the arguments its command is
+     * given, as it does without reuse.
+     * 
+     * @param reuse {@code true} to reuse command levels
+     * @see ArgCommandRegistry#POOL_SIZE
+     */
+    public void setReuseCommands (boolean reuse) {
+        getContext().getRoot().setReuse(reuse);
+    }
     
     public int parse (String [] args) {
         int nArg = parseArguments(args);
@@ -134,65 +334,352 @@ public class ArgCommand extends ArgStandard implements ArgFace {
 		}
 		cmd = cmdPrefix + cmd + "Command";
 		String className = packageName + "." + cmd;
-		Class<?> commandClass = null;
-		try {
-			commandClass = Class.forName(className);
-		} catch (ClassNotFoundException ex) {
-			System.out.println("Invalid command: " + classToCommand(cmd));
-			System.out.println("Looking for: " + className);
+		ArgCommandRegistry.Entry entry = registry.find(commandWords(cmd), className);
+		if (entry == null) {
+			getOutput().println("Invalid command: " + classToCommand(cmd));
+			getOutput().println("Looking for: " + className);
+			return false;
+		}
+		if (! canDispatch(entry, command)) {
+			return false;
+		}
+		return dispatch(entry, commandArgs);
+	}
+
+	/**
+	 * Executes the command named by the leading words of a command line.
+	 * The longest command name in the registry is used, so with
+	 * {@code "show status new"} registered, {@code show status new -v}
+	 * executes that command with {@code -v} as its arguments. If no
+	 * registered name matches, the first word is the command and is found
+	 * as by {@link #executeCommand(String, String[])}.
+	 * 
+	 * @param commandLine the command words followed by the command arguments
+	 * @return the result of the command's {@code execute} method, or
+	 * {@code false} if there is no such command
+	 */
+	public boolean executeCommandLine (String... commandLine) {
+		if (commandLine == null || commandLine.length == 0) {
+			return false;
+		}
+		ArgCommandRegistry.Match match = registry.resolve(commandLine, 0);
+		if (match == null) {
+			return executeCommand(commandLine[0],
+					Arrays.copyOfRange(commandLine, 1, commandLine.length));
+		}
+		if (! canDispatch(match.getCommand(), commandLine[0])) {
+			return false;
+		}
+		String [] commandArgs = Arrays.copyOfRange(commandLine,
+				match.getWordCount(), commandLine.length);
+		return dispatch(match.getCommand(), commandArgs);
+	}
+
+	/**
+	 * Tests to see if a command can be executed, and reports why it can't.
+	 */
+	private boolean canDispatch (ArgCommandRegistry.Entry entry, String command) {
+		if (! entry.hasExecute()) {
+			getOutput().println("No \"execute\" method for \"" + command + "\" command");
+			return false;
+		}
+		if (! entry.hasFactory()) {
+			getOutput().println("No public no argument constructor for \"" + command + "\" command");
 			return false;
 		}
-		Object commandObject = null;
+		return true;
+	}
+
+	/**
+	 * Executes a command. A checked exception from the command is reported
+	 * and gives {@code false}; unchecked exceptions and errors are thrown
+	 * to the caller.
+	 */
+	private boolean dispatch (ArgCommandRegistry.Entry entry, String [] commandArgs) {
+		ArgCommandContext context = getContext();
+		ArgCommandContext previous = context.beginDispatch();
 		try {
-			commandObject = commandClass.newInstance();
-		} catch (InstantiationException e1) {
-			e1.printStackTrace();
-		} catch (IllegalAccessException e1) {
-			e1.printStackTrace();
+			return entry.execute(commandArgs);
+		} catch (RuntimeException e) {
+			throw e;
+		} catch (Exception e) {
+			getOutput().errorln("Command \""
+					+ classToCommand(entry.getCommandClass().getSimpleName())
+					+ "\" failed: " + e);
+		} finally {
+			context.endDispatch(previous);
+		}
+		return false;
+	}
+
+	/**
+	 * Reads a batch of command lines, one per line. Blank lines and lines
+	 * starting with {@code #} are skipped; each other line is split into
+	 * arguments by {@link ArgUtil#splitCommandLine(String)}.
+	 * 
+	 * @param reader the source of the command lines
+	 * @return the command lines
+	 * @throws IOException if the reader fails
+	 */
+	public static List<String []> readBatch (BufferedReader reader) throws IOException {
+		List<String []> commandLines = new ArrayList<String []>();
+		String line;
+		while ((line = reader.readLine()) != null) {
+			String trimmed = line.trim();
+			if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+				continue;
+			}
+			commandLines.add(ArgUtil.splitCommandLine(trimmed));
 		}
-		Method m = null;
+		return commandLines;
+	}
+
+	/**
+	 * Runs a batch of command lines concurrently, with results in batch
+	 * order.
+	 * 
+	 * @param commandLines the command lines
+	 * @param limit the most command lines to run at once
+	 * @return the result of each command line
+	 * @see #executeBatch(List, int, boolean)
+	 */
+	public List<ArgCommandResult> executeBatch (List<String []> commandLines, int limit) {
+		return executeBatch(commandLines, limit, true);
+	}
+
+	/**
+	 * Runs a batch of command lines concurrently. Each command line is
+	 * parsed against this program's usage, with a new command line interface
+	 * object of the program's class, and its command is executed as by
+	 * {@link #executeCommandLine(String[])}, all on a thread of its own.
+	 * Virtual threads are used where the platform has them. This program
+	 * level is not changed; its command reuse and command set apply to the
+	 * batch.
+	 * <p>
+	 * No more than {@code limit} command lines run at once; the caller waits
+	 * for a free slot before starting the next, so the batch may be any
+	 * size. The results are in batch order when {@code ordered} is
+	 * {@code true}, otherwise in the order the command lines finished.
+	 * 
+	 * @param commandLines the command lines
+	 * @param limit the most command lines to run at once
+	 * @param ordered {@code true} for results in batch order
+	 * @return the result of each command line
+	 */
+	public List<ArgCommandResult> executeBatch (List<String []> commandLines,
+			int limit, boolean ordered) {
+		final int size = commandLines.size();
+		final ArgCommandResult [] byIndex = new ArgCommandResult [size];
+		final Queue<ArgCommandResult> byFinish = new ConcurrentLinkedQueue<ArgCommandResult>();
+		final Semaphore slots = new Semaphore(Math.max(1, limit));
+		ExecutorService executor = batchExecutor();
+		int index = 0;
 		try {
-			Class<?> [] exParams = {String[].class};
-			m = commandClass.getMethod("execute", exParams);
-		} catch (NoSuchMethodException e) {
-			System.out.println("No \"execute\" method for \"" + command + "\" command");
-			return false;
-		} catch (SecurityException e) {
-			e.printStackTrace();
+			for (final String [] commandLine : commandLines) {
+				final int n = index++;
+				slots.acquireUninterruptibly();
+				try {
+					executor.execute(() -> {
+						try {
+							ArgCommandResult result = executeBatchLine(n, commandLine);
+							byIndex[n] = result;
+							byFinish.add(result);
+						} finally {
+							slots.release();
+						}
+					});
+				} catch (RejectedExecutionException e) {
+					slots.release();
+					byIndex[n] = new ArgCommandResult(n, commandLine,
+							ArgCommandResult.ERROR, e, 0);
+					byFinish.add(byIndex[n]);
+				}
+			}
+		} finally {
+			executor.shutdown();
+		}
+		boolean interrupted = false;
+		while (! executor.isTerminated()) {
+			try {
+				executor.awaitTermination(1, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
 		}
-		Boolean ret = null;
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+		if (ordered) {
+			return Arrays.asList(byIndex);
+		}
+		return new ArrayList<ArgCommandResult>(byFinish);
+	}
+
+	private ArgCommandResult executeBatchLine (int index, String [] commandLine) {
+		long start = System.nanoTime();
+		ArgCommand program = null;
+		int status = ArgCommandResult.ERROR;
+		Throwable error = null;
 		try {
-			ret = (Boolean) m.invoke(commandObject, (Object)commandArgs);
-		} catch (IllegalAccessException e) {
-			e.printStackTrace();
-		} catch (IllegalArgumentException e) {
-			e.printStackTrace();
-		} catch (InvocationTargetException e) {
-			e.printStackTrace();
+			program = batchProgram();
+			if (program == null) {
+				status = ArgCommandResult.ERROR;
+			} else if (program.parse(commandLine) < 0) {
+				status = ArgCommandResult.USAGE_ERROR;
+			} else if (program.value("<command>") == null) {
+				status = ArgCommandResult.SUCCESS;
+			} else if (program.executeCommandLine(program.commandWords())) {
+				status = ArgCommandResult.SUCCESS;
+			} else {
+				status = ArgCommandResult.FAILURE;
+			}
+		} catch (Throwable t) {
+			status = ArgCommandResult.ERROR;
+			error = t;
+		} finally {
+			if (program != null) {
+				batchPrograms.push(program);
+			}
+			ArgUtil.remove();
 		}
-		return ret.booleanValue();
+		return new ArgCommandResult(index, commandLine, status, error,
+				System.nanoTime() - start);
 	}
 
-	public ArgCommand getArgCommand (int index) {
-		if (0 <= index && index <= MAXINDEX) {
-			return argCommands[index];
+	/**
+	 * Returns a copy of this program level, parsed once and kept for later
+	 * batches, bound to a new command line interface object.
+	 * 
+	 * @return the program copy or null if the usage could not be parsed
+	 * @throws ReflectiveOperationException if the new command line interface
+	 * object could not be created
+	 */
+	private ArgCommand batchProgram () throws ReflectiveOperationException {
+		Object cli = getCLI(PROGRAM).getClass().getDeclaredConstructor().newInstance();
+		ArgCommand program = batchPrograms.poll();
+		ArgCommandContext root = getContext().getRoot();
+		if (program != null) {
+			program.setCLI(cli);
+			program.rebind(cli);
+			return program;
+		}
+		program = new ArgCommand();
+		ArgCommandContext copy = program.getContext();
+		copy.setReuse(root.isReuse());
+		copy.setCommandSet(root.getCommandSet());
+		program.setMetrics(getMetrics());
+		program.setUsageText(getUsageText());
+		program.setCLI(cli);
+		if (! program.parseUsage(cli)) {
+			return null;
+		}
+		return program;
+	}
+
+	private String [] commandWords () {
+		String [] commandArgs = valueArray("<command-args>");
+		int count = commandArgs == null ? 0 : commandArgs.length;
+		String [] words = new String [count + 1];
+		words[0] = value("<command>");
+		if (count > 0) {
+			System.arraycopy(commandArgs, 0, words, 1, count);
+		}
+		return words;
+	}
+
+	private static ExecutorService batchExecutor () {
+		try {
+			Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return (ExecutorService) method.invoke(null);
+		} catch (ReflectiveOperationException e) {
+			return Executors.newCachedThreadPool();
 		}
-		return null;
 	}
 
-	private void setArgCommand (ArgCommand argCommand) {
-		argCommands[currentLevel] = argCommand;
+	/**
+	 * Returns the registry used to find commands. Unless one has been set,
+	 * commands are found by class name and kept as they are used.
+	 * 
+	 * @return the command registry
+	 */
+	public static ArgCommandRegistry getRegistry () {
+		return registry;
 	}
 
+	/**
+	 * Sets the registry used to find commands.
+	 * 
+	 * @param registry the command registry
+	 * @see ArgCommandRegistry#builder()
+	 */
+	public static void setRegistry (ArgCommandRegistry registry) {
+		ArgCommand.registry = registry;
+	}
+
+	/**
+	 * Returns the {@code ArgCommand} at the given level of this command's
+	 * invocation: {@code PROGRAM} for the program level, or a command level
+	 * above or beneath this one.
+	 * 
+	 * @param index the level
+	 * @return the {@code ArgCommand} or null if there is none at that level
+	 */
+	public ArgCommand getArgCommand (int index) {
+		ArgCommandContext level = getContext().atLevel(index);
+		if (level != null) {
+			return level.getArgCommand();
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the command line interface object at the given level of this
+	 * command's invocation.
+	 * 
+	 * @param index the level
+	 * @return the command line interface object or null if there is none
+	 * @see #getArgCommand(int)
+	 */
 	public Object getCLI (int index) {
-		if (0 <= index && index <= MAXINDEX) {
-			return clis[index];
+		ArgCommandContext level = getContext().atLevel(index);
+		if (level != null) {
+			return level.getCLI();
 		}
 		return null;
 	}
 
+	/**
+	 * Returns the level of this command: {@code PROGRAM} or the number of
+	 * commands it is nested beneath.
+	 * 
+	 * @return the command level
+	 */
+	public int getLevel () {
+		return currentLevel;
+	}
+
 	private void setCLI (Object cli) {
-		clis[currentLevel] = cli;
+		getContext().setCLI(cli);
+	}
+
+	/**
+	 * Binds the parsed usage to another command line interface object, which
+	 * also becomes this level's object for command execution.
+	 * 
+	 * @param cli the command line interface object
+	 */
+	@Override
+	protected void rebind (Object cli) {
+		setCLI(cli);
+		super.rebind(cli);
+	}
+
+	private ArgCommandContext getContext () {
+		if (context == null) {
+			context = ArgCommandContext.create(this);
+			currentLevel = context.getLevel();
+		}
+		return context;
 	}
 
 	protected Boolean modelGetPosixFormat () {
@@ -201,12 +688,13 @@ public class ArgCommand extends ArgStandard implements ArgFace {
 	
 	protected String modelGetOptionSuffix () {
 		String optionSuffix = super.modelGetOptionSuffix();
+		ArgCommandContext program = getContext().getRoot();
 		if (currentLevel == PROGRAM) {
-			programOptionSuffix = optionSuffix;
+			program.setOptionSuffix(optionSuffix);
 		}
 		if (optionSuffix.equals("Option")) {
-			if (programOptionSuffix != null) {
-				optionSuffix = programOptionSuffix;
+			if (program.getOptionSuffix() != null) {
+				optionSuffix = program.getOptionSuffix();
 			}
 		}
 		return optionSuffix;
@@ -221,6 +709,10 @@ public class ArgCommand extends ArgStandard implements ArgFace {
 	}
 	
 	public String classToCommand (String name) {
+		return commandWords(name);
+	}
+
+	static String commandWords (String name) {
 		if (name.endsWith("Command")) {
 			name = name.substring(0, name.length() - 7);
 			StringBuilder command = new StringBuilder(32);
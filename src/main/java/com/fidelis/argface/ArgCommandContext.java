@@ -0,0 +1,221 @@
+/**
+ *+
+ *  ArgCommandContext.java
+ *	1.0.0	Oct 19, 2026
+ *-
+ */
+package com.fidelis.argface;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * One node of an {@code ArgCommand} invocation tree. The program level
+ * {@code ArgCommand} is the root; each command created while another is
+ * dispatching becomes a child of the dispatching command, one level deeper.
+ * There is no limit on the depth or on the number of children.
+ * <p>
+ * The command being dispatched is tracked per thread, so commands
+ * dispatched concurrently, or one after another from the same program level,
+ * each get their own branch. A branch is removed from its parent when its
+ * dispatch returns, so a long running program that dispatches many commands
+ * does not accumulate them.
+ *
+ * @version 1.0.0
+ *
+ */
+class ArgCommandContext {
+
+    private static final ThreadLocal<ArgCommandContext> dispatching =
+            new ThreadLocal<ArgCommandContext>();
+
+    private final ArgCommandContext         parent;
+    private final int                       level;
+    private final ArgCommand                argCommand;
+    private final Thread                    thread = Thread.currentThread();
+    private final List<ArgCommandContext>   children =
+            new CopyOnWriteArrayList<ArgCommandContext>();
+    private volatile Object                 cli;
+    private volatile String                 optionSuffix;
+    private volatile boolean                reuse;
+    private volatile ArgCommandSet          commandSet;
+
+    private ArgCommandContext (ArgCommandContext parent, ArgCommand argCommand) {
+        this.parent = parent;
+        this.level = parent == null ? ArgCommand.PROGRAM : parent.level + 1;
+        this.argCommand = argCommand;
+    }
+
+    /**
+     * Creates the context for a new command. If a command is being
+     * dispatched on this thread, the new context is its child; otherwise it
+     * is the root of a new tree.
+     *
+     * @param argCommand the new command
+     * @return the new context
+     */
+    static ArgCommandContext create (ArgCommand argCommand) {
+        ArgCommandContext parent = dispatching.get();
+        ArgCommandContext context = new ArgCommandContext(parent, argCommand);
+        if (parent != null) {
+            parent.children.add(context);
+        }
+        return context;
+    }
+
+    /**
+     * Creates a context for a command compiled ahead of a dispatch. The
+     * context has the given parent but is not one of its children.
+     *
+     * @param argCommand the command
+     * @param parent the context the command will be dispatched beneath
+     * @return the new context
+     */
+    static ArgCommandContext detached (ArgCommand argCommand,
+            ArgCommandContext parent) {
+        return new ArgCommandContext(parent, argCommand);
+    }
+
+    /**
+     * Returns the context dispatching a command on the current thread.
+     *
+     * @return the dispatching context or null
+     */
+    static ArgCommandContext dispatching () {
+        return dispatching.get();
+    }
+
+    /**
+     * Marks this context as dispatching on the current thread. Commands
+     * created until {@link #endDispatch(ArgCommandContext)} become children.
+     *
+     * @return the context that was dispatching before, to be restored
+     */
+    ArgCommandContext beginDispatch () {
+        ArgCommandContext previous = dispatching.get();
+        dispatching.set(this);
+        return previous;
+    }
+
+    /**
+     * Ends a dispatch started with {@link #beginDispatch()}, removing the
+     * children created by it on this thread.
+     *
+     * @param previous the context returned by {@code beginDispatch}
+     */
+    void endDispatch (ArgCommandContext previous) {
+        Thread current = Thread.currentThread();
+        for (ArgCommandContext child : children) {
+            if (child.thread == current) {
+                children.remove(child);
+                child.argCommand.release();
+            }
+        }
+        if (previous == null) {
+            dispatching.remove();
+        } else {
+            dispatching.set(previous);
+        }
+    }
+
+    /**
+     * Returns the context at the given level on the path through this
+     * context: an ancestor for a lower level, or the command being
+     * dispatched beneath this one on the current thread for a higher level.
+     *
+     * @param index the level
+     * @return the context or null if there is none at that level
+     */
+    ArgCommandContext atLevel (int index) {
+        if (index < 0) {
+            return null;
+        }
+        ArgCommandContext context = this;
+        if (index > level) {
+            context = dispatching.get();
+            while (context != null && context.level > index) {
+                context = context.parent;
+            }
+            if (context == null || context.level != index
+                    || ! context.hasAncestor(this)) {
+                return null;
+            }
+            return context;
+        }
+        while (context.level > index) {
+            context = context.parent;
+        }
+        return context;
+    }
+
+    private boolean hasAncestor (ArgCommandContext ancestor) {
+        for (ArgCommandContext c = this; c != null; c = c.parent) {
+            if (c == ancestor) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the root of this tree.
+     *
+     * @return the program level context
+     */
+    ArgCommandContext getRoot () {
+        ArgCommandContext context = this;
+        while (context.parent != null) {
+            context = context.parent;
+        }
+        return context;
+    }
+
+    ArgCommandContext getParent () {
+        return parent;
+    }
+
+    List<ArgCommandContext> getChildren () {
+        return children;
+    }
+
+    int getLevel () {
+        return level;
+    }
+
+    ArgCommand getArgCommand () {
+        return argCommand;
+    }
+
+    Object getCLI () {
+        return cli;
+    }
+
+    void setCLI (Object cli) {
+        this.cli = cli;
+    }
+
+    String getOptionSuffix () {
+        return optionSuffix;
+    }
+
+    void setOptionSuffix (String optionSuffix) {
+        this.optionSuffix = optionSuffix;
+    }
+
+    boolean isReuse () {
+        return reuse;
+    }
+
+    void setReuse (boolean reuse) {
+        this.reuse = reuse;
+    }
+
+    ArgCommandSet getCommandSet () {
+        return commandSet;
+    }
+
+    void setCommandSet (ArgCommandSet commandSet) {
+        this.commandSet = commandSet;
+    }
+
+}
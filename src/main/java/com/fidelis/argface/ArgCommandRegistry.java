@@ -0,0 +1,527 @@
+/**
+ *+
+ *  ArgCommandRegistry.java
+ *	1.0.0	Oct 19, 2026
+ *-
+ */
+package com.fidelis.argface;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.function.Supplier;
+
+/**
+ * The command registry for {@code ArgCommand}. Maps command names, such as
+ * {@code "show status"}, to a factory for the command object and a method
+ * handle for its {@code execute(String[])} method. Dispatching a command is
+ * then a map lookup and a direct call.
+ * <p>
+ * A registry is built with a {@link Builder}, from command classes given
+ * explicitly or listed one per line in {@code META-INF/argface/commands}
+ * resources. Commands not in the registry are found by class name the first
+ * time they are used, as {@code ArgCommand} has always done, and the class
+ * found is kept so later dispatches cost a lookup. The most recent
+ * {@value #MISSING_SIZE} names with no class are kept as well.
+ * <p>
+ * A registry also keeps the command levels that programs reusing commands
+ * have parsed, so that later dispatches under the same registry need not
+ * parse them again. At most {@value #POOL_SIZE} idle levels are kept for a
+ * usage text, and at most {@value #POOL_USAGES} usage texts.
+ *
+ * @version 1.0.0
+ *
+ */
+public class ArgCommandRegistry {
+
+    /** The resource that lists command class names */
+    public static final String INDEX = "META-INF/argface/commands";
+
+    private static final MethodType EXECUTE =
+            MethodType.methodType(boolean.class, String [].class);
+
+    private static final MethodType EXECUTE_BOXED =
+            MethodType.methodType(Boolean.class, String [].class);
+
+    private static final MethodType INVOKE =
+            MethodType.methodType(boolean.class, Object.class, String [].class);
+
+    /** The most idle command levels kept for one usage text */
+    public static final int POOL_SIZE = 4;
+
+    /** The most usage texts with idle command levels kept */
+    public static final int POOL_USAGES = 256;
+
+    /** The most class names with no class remembered */
+    public static final int MISSING_SIZE = 64;
+
+    private final Map<String, Entry> commands;
+    private final Map<String, Entry> classes = new ConcurrentHashMap<String, Entry>();
+    private final Map<String, Boolean> missing = Collections.synchronizedMap(
+            new LinkedHashMap<String, Boolean>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry (Map.Entry<String, Boolean> eldest) {
+            return size() > MISSING_SIZE;
+        }
+    });
+    private final Node               trie = new Node();
+    private final Map<String, Deque<ArgCommand>> idle =
+            new ConcurrentHashMap<String, Deque<ArgCommand>>();
+
+    private ArgCommandRegistry (Map<String, Entry> commands) {
+        this.commands = commands;
+        for (Map.Entry<String, Entry> command : commands.entrySet()) {
+            Node node = trie;
+            for (String word : command.getKey().split(" ")) {
+                Node next = node.words.get(word);
+                if (next == null) {
+                    next = new Node();
+                    node.words.put(word, next);
+                }
+                node = next;
+            }
+            node.entry = command.getValue();
+        }
+    }
+
+    /**
+     * Creates a registry with no registered commands. Commands are found by
+     * class name and kept as they are used.
+     *
+     * @return the new registry
+     */
+    public static ArgCommandRegistry create () {
+        return new ArgCommandRegistry(Collections.<String, Entry>emptyMap());
+    }
+
+    /**
+     * Creates a new registry builder.
+     *
+     * @return the new builder
+     */
+    public static Builder builder () {
+        return new Builder();
+    }
+
+    /**
+     * Returns the names of the registered commands.
+     *
+     * @return the registered command names
+     */
+    public Set<String> getCommandNames () {
+        return Collections.unmodifiableSet(commands.keySet());
+    }
+
+    /**
+     * Returns the command registered under the given name.
+     *
+     * @param commandName the command name, words separated by single spaces
+     * @return the command or null if not registered
+     */
+    public Entry getCommand (String commandName) {
+        return commands.get(commandName);
+    }
+
+    /**
+     * Takes an idle command level parsed under the given key.
+     *
+     * @param key the command class, option suffix and usage text
+     * @return the command level or null if there is none
+     */
+    ArgCommand takeIdle (String key) {
+        Deque<ArgCommand> levels = idle.get(key);
+        return levels == null ? null : levels.poll();
+    }
+
+    /**
+     * Keeps an idle command level for a later dispatch, unless the pool for
+     * its key, or the number of keys, is at its limit.
+     *
+     * @param key the command class, option suffix and usage text
+     * @param argCommand the command level
+     */
+    void putIdle (String key, ArgCommand argCommand) {
+        Deque<ArgCommand> levels = idle.get(key);
+        if (levels == null) {
+            if (idle.size() >= POOL_USAGES) {
+                return;
+            }
+            levels = new ConcurrentLinkedDeque<ArgCommand>();
+            Deque<ArgCommand> other = idle.putIfAbsent(key, levels);
+            if (other != null) {
+                levels = other;
+            }
+        }
+        if (levels.size() < POOL_SIZE) {
+            levels.push(argCommand);
+        }
+    }
+
+    /**
+     * Returns the number of idle command levels kept.
+     *
+     * @return the number of idle command levels
+     */
+    int getIdleCount () {
+        int count = 0;
+        for (Deque<ArgCommand> levels : idle.values()) {
+            count += levels.size();
+        }
+        return count;
+    }
+
+    /**
+     * Resolves the longest registered command name at the start of a
+     * command line, one word per argument. Given {@code show status new -v}
+     * and a registered {@code "show status new"}, the result is that
+     * command with three words used.
+     *
+     * @param words the command line
+     * @param start the index of the first word
+     * @return the command and words used, or null if no name matches
+     */
+    public Match resolve (String [] words, int start) {
+        Node node = trie;
+        Match match = null;
+        for (int n = start; n < words.length; n++) {
+            node = node.words.get(words[n].toLowerCase());
+            if (node == null) {
+                break;
+            }
+            if (node.entry != null) {
+                match = new Match(node.entry, n + 1 - start);
+            }
+        }
+        return match;
+    }
+
+    /**
+     * Finds a command by name. If the name is not registered, the class is
+     * looked up by name. A class found is kept; a missing class is kept only
+     * among the most recent misses, since the names come from user input.
+     *
+     * @param commandName the command name
+     * @param className the fully qualified command class name
+     * @return the command or null if there is no such class
+     */
+    Entry find (String commandName, String className) {
+        Entry entry = commands.get(commandName);
+        if (entry != null) {
+            return entry;
+        }
+        entry = classes.get(className);
+        if (entry != null) {
+            return entry;
+        }
+        if (missing.containsKey(className)) {
+            return null;
+        }
+        entry = Entry.forClassName(className);
+        if (entry == null) {
+            missing.put(className, Boolean.TRUE);
+            return null;
+        }
+        classes.put(className, entry);
+        return entry;
+    }
+
+    /**
+     * A registered command: a factory for the command object and a handle
+     * for its {@code execute} method.
+     */
+    public static class Entry {
+        private final Class<?>          commandClass;
+        private final Supplier<?>       factory;
+        private final MethodHandle      execute;
+
+        private Entry (Class<?> commandClass, Supplier<?> factory,
+                MethodHandle execute) {
+            this.commandClass = commandClass;
+            this.factory = factory;
+            this.execute = execute;
+        }
+
+        private static Entry forClass (Class<?> commandClass,
+                Supplier<?> factory) {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            MethodHandle execute = executeHandle(lookup, commandClass, EXECUTE);
+            if (execute == null) {
+                execute = executeHandle(lookup, commandClass, EXECUTE_BOXED);
+            }
+            if (factory == null) {
+                factory = constructor(lookup, commandClass);
+            }
+            return new Entry(commandClass, factory, execute);
+        }
+
+        private static Entry forClassName (String className) {
+            try {
+                return forClass(Class.forName(className), null);
+            } catch (ClassNotFoundException ex) {
+                return null;
+            }
+        }
+
+        private static MethodHandle executeHandle (MethodHandles.Lookup lookup,
+                Class<?> commandClass, MethodType type) {
+            try {
+                return lookup.findVirtual(commandClass, "execute", type)
+                        .asType(INVOKE);
+            } catch (NoSuchMethodException e) {
+                return null;
+            } catch (IllegalAccessException e) {
+                return null;
+            }
+        }
+
+        private static Supplier<?> constructor (MethodHandles.Lookup lookup,
+                Class<?> commandClass) {
+            final MethodHandle handle;
+            try {
+                handle = lookup.findConstructor(commandClass,
+                        MethodType.methodType(void.class))
+                        .asType(MethodType.methodType(Object.class));
+            } catch (NoSuchMethodException e) {
+                return null;
+            } catch (IllegalAccessException e) {
+                return null;
+            }
+            return () -> {
+                try {
+                    return (Object) handle.invokeExact();
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Error e) {
+                    throw e;
+                } catch (Throwable t) {
+                    throw new IllegalStateException(t);
+                }
+            };
+        }
+
+        /**
+         * Returns the command class.
+         *
+         * @return the command class
+         */
+        public Class<?> getCommandClass () {
+            return commandClass;
+        }
+
+        /**
+         * Returns {@code true} if the command has an
+         * {@code execute(String[])} method returning {@code boolean}.
+         *
+         * @return {@code true} if the command has an execute method
+         */
+        public boolean hasExecute () {
+            return execute != null;
+        }
+
+        /**
+         * Returns {@code true} if command objects can be created, by the
+         * factory given to the builder or by a public no argument
+         * constructor.
+         *
+         * @return {@code true} if the command objects can be created
+         */
+        public boolean hasFactory () {
+            return factory != null;
+        }
+
+        /**
+         * Creates a new command object and calls its {@code execute} method.
+         *
+         * @param args the command arguments
+         * @return the result of {@code execute}
+         * @throws IllegalStateException if the command has no execute method
+         * or its objects can't be created
+         * @throws Exception anything thrown by the command
+         */
+        public boolean execute (String [] args) throws Exception {
+            if (execute == null || factory == null) {
+                throw new IllegalStateException("Can't execute "
+                        + commandClass.getName() + ": no "
+                        + (execute == null ? "execute method" : "public constructor"));
+            }
+            Object command = factory.get();
+            try {
+                return (boolean) execute.invokeExact(command, args);
+            } catch (Exception e) {
+                throw e;
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new UndeclaredThrowableException(t);
+            }
+        }
+    }
+
+    /**
+     * A command found by {@link ArgCommandRegistry#resolve(String[], int)}.
+     */
+    public static class Match {
+        private final Entry entry;
+        private final int   wordCount;
+
+        private Match (Entry entry, int wordCount) {
+            this.entry = entry;
+            this.wordCount = wordCount;
+        }
+
+        /**
+         * Returns the command.
+         *
+         * @return the command
+         */
+        public Entry getCommand () {
+            return entry;
+        }
+
+        /**
+         * Returns the number of words in the command name.
+         *
+         * @return the number of words used
+         */
+        public int getWordCount () {
+            return wordCount;
+        }
+    }
+
+    private static class Node {
+        private final Map<String, Node> words = new HashMap<String, Node>();
+        private Entry                   entry;
+    }
+
+    /**
+     * Builds an {@code ArgCommandRegistry}.
+     */
+    public static class Builder {
+        private final Map<String, Entry> commands = new HashMap<String, Entry>();
+
+        private Builder () {
+        }
+
+        /**
+         * Adds a command class under the name derived from its simple name,
+         * as {@link ArgCommand#classToCommand(String)} does. The class must
+         * have a public no argument constructor.
+         *
+         * @param commandClass the command class
+         * @return this builder
+         */
+        public Builder add (Class<?> commandClass) {
+            return add(commandName(commandClass), commandClass);
+        }
+
+        /**
+         * Adds a command class under the given name.
+         *
+         * @param commandName the command name, words separated by spaces
+         * @param commandClass the command class
+         * @return this builder
+         */
+        public Builder add (String commandName, Class<?> commandClass) {
+            return put(commandName, Entry.forClass(commandClass, null));
+        }
+
+        /**
+         * Adds a command class and a factory for its objects.
+         *
+         * @param <T> the command type
+         * @param commandName the command name, words separated by spaces
+         * @param commandClass the command class
+         * @param factory creates a command object for each dispatch
+         * @return this builder
+         */
+        public <T> Builder add (String commandName, Class<T> commandClass,
+                Supplier<? extends T> factory) {
+            return put(commandName, Entry.forClass(commandClass, factory));
+        }
+
+        /**
+         * Adds the command classes listed in every
+         * {@code META-INF/argface/commands} resource visible to the class
+         * loader. Each line names one class; blank lines and lines starting
+         * with {@code #} are ignored.
+         *
+         * @param loader the class loader
+         * @return this builder
+         * @throws IOException if a resource cannot be read
+         * @throws ClassNotFoundException if a listed class does not exist
+         */
+        public Builder addIndex (ClassLoader loader)
+                throws IOException, ClassNotFoundException {
+            Enumeration<URL> urls = loader.getResources(INDEX);
+            while (urls.hasMoreElements()) {
+                URL url = urls.nextElement();
+                BufferedReader reader = new BufferedReader(new InputStreamReader(
+                        url.openStream(), StandardCharsets.UTF_8));
+                try {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        line = line.trim();
+                        if (line.isEmpty() || line.startsWith("#")) {
+                            continue;
+                        }
+                        add(Class.forName(line, false, loader));
+                    }
+                } finally {
+                    reader.close();
+                }
+            }
+            return this;
+        }
+
+        /**
+         * Builds the registry.
+         *
+         * @return the new registry
+         */
+        public ArgCommandRegistry build () {
+            return new ArgCommandRegistry(new HashMap<String, Entry>(commands));
+        }
+
+        private Builder put (String commandName, Entry entry) {
+            commands.put(normalize(commandName), entry);
+            return this;
+        }
+    }
+
+    /**
+     * Returns the command name for a command class, derived from its simple
+     * name: {@code ShowStatusCommand} is {@code "show status"}.
+     *
+     * @param commandClass the command class
+     * @return the command name
+     */
+    public static String commandName (Class<?> commandClass) {
+        String name = commandClass.getSimpleName();
+        if (! name.endsWith("Command")) {
+            name += "Command";
+        }
+        return ArgCommand.commandWords(name);
+    }
+
+    static String normalize (String commandName) {
+        return commandName.trim().replaceAll("\\s+", " ").toLowerCase();
+    }
+
+}
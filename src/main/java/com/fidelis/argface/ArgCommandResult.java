@@ -0,0 +1,107 @@
+/**
+ *+
+ *  ArgCommandResult.java
+ *	1.0.0	Oct 19, 2026
+ *-
+ */
+package com.fidelis.argface;
+
+import java.util.Arrays;
+
+/**
+ * The outcome of one command line in a batch run by
+ * {@link ArgCommand#executeBatch(java.util.List, int, boolean)}.
+ *
+ * @version 1.0.0
+ *
+ */
+public class ArgCommandResult {
+
+    /** Exit status: the command's {@code execute} method returned true */
+    public static final int SUCCESS     = 0;
+
+    /** Exit status: the command failed or there was no such command */
+    public static final int FAILURE     = 1;
+
+    /** Exit status: the command line did not match the program usage */
+    public static final int USAGE_ERROR = 2;
+
+    /** Exit status: the command line could not be run */
+    public static final int ERROR       = 3;
+
+    private final int           index;
+    private final String []     commandLine;
+    private final int           status;
+    private final Throwable     error;
+    private final long          nanos;
+
+    ArgCommandResult (int index, String [] commandLine, int status,
+            Throwable error, long nanos) {
+        this.index = index;
+        this.commandLine = commandLine;
+        this.status = status;
+        this.error = error;
+        this.nanos = nanos;
+    }
+
+    /**
+     * Returns the position of the command line in the batch.
+     *
+     * @return the batch index
+     */
+    public int getIndex () {
+        return index;
+    }
+
+    /**
+     * Returns the command line.
+     *
+     * @return the command line arguments
+     */
+    public String [] getCommandLine () {
+        return commandLine;
+    }
+
+    /**
+     * Returns the exit status: {@code SUCCESS}, {@code FAILURE},
+     * {@code USAGE_ERROR} or {@code ERROR}.
+     *
+     * @return the exit status
+     */
+    public int getStatus () {
+        return status;
+    }
+
+    /**
+     * Tests to see if the command succeeded.
+     *
+     * @return {@code true} if the exit status is {@code SUCCESS}
+     */
+    public boolean isSuccess () {
+        return status == SUCCESS;
+    }
+
+    /**
+     * Returns the exception that prevented the command line from running.
+     *
+     * @return the exception or null
+     */
+    public Throwable getError () {
+        return error;
+    }
+
+    /**
+     * Returns the time taken to parse and execute the command line.
+     *
+     * @return the elapsed time in nanoseconds
+     */
+    public long getNanos () {
+        return nanos;
+    }
+
+    @Override
+    public String toString () {
+        return index + ": " + Arrays.toString(commandLine) + " => " + status;
+    }
+
+}
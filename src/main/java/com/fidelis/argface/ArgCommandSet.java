@@ -0,0 +1,205 @@
+/**
+ *+
+ *  ArgCommandSet.java
+ *	1.0.0	Oct 19, 2026
+ *-
+ */
+package com.fidelis.argface;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The set of commands beneath an {@code ArgCommand} program, each with the
+ * usage text its {@code execute} method passes to
+ * {@link ArgCommand#create(String, Object)}. A command's usage text is
+ * parsed once, by its first dispatch, unless {@link #warmUp()} has already
+ * parsed it. Warming up moves the cost of parsing every command's usage
+ * from the first dispatch of each command to a single parallel step, so the
+ * choice between startup time and first dispatch time is left to the
+ * program.
+ * <p>
+ * Commands are added before the set is given to the program with
+ * {@link ArgCommand#setCommandSet(ArgCommandSet)}:<pre>
+ *  ArgCommandSet commands = new ArgCommandSet()
+ *      .add(ShowCommand.class, ShowCommand.USAGE)
+ *      .add(ShowStatusCommand.class, ShowStatusCommand.USAGE);
+ *  argCommand.setCommandSet(commands);
+ *  commands.warmUp();</pre>
+ * <p>
+ * Parsed usages are kept by the command registry in use, so warm up after
+ * {@link ArgCommand#setRegistry(ArgCommandRegistry)}. A registry set later
+ * starts with nothing parsed; the set then reports no command as parsed,
+ * and a further {@code warmUp} parses them all for the new registry.
+ *
+ * @version 1.0.0
+ *
+ */
+public class ArgCommandSet {
+
+    private final Map<Class<?>, Usage>  commands =
+            new LinkedHashMap<Class<?>, Usage>();
+    private final Set<Class<?>>         compiled =
+            Collections.newSetFromMap(new ConcurrentHashMap<Class<?>, Boolean>());
+    private ArgCommandRegistry          registry;
+    private volatile ArgCommandContext  program;
+
+    /**
+     * Adds a command and its usage text.
+     *
+     * @param commandClass the command class
+     * @param usageText the usage text as a String
+     * @return this command set
+     */
+    public ArgCommandSet add (Class<?> commandClass, String usageText) {
+        commands.put(commandClass, new Usage(commandClass, usageText, null));
+        return this;
+    }
+
+    /**
+     * Adds a command and its usage text.
+     *
+     * @param commandClass the command class
+     * @param usageText the usage text as an array of Strings
+     * @return this command set
+     */
+    public ArgCommandSet add (Class<?> commandClass, String [] usageText) {
+        commands.put(commandClass, new Usage(commandClass, null, usageText));
+        return this;
+    }
+
+    /**
+     * Returns the command classes in the order they were added.
+     *
+     * @return the command classes
+     */
+    public List<Class<?>> getCommandClasses () {
+        return new ArrayList<Class<?>>(commands.keySet());
+    }
+
+    /**
+     * Tests to see if the usage text of a command has been parsed, either by
+     * {@link #warmUp()} or by a dispatch, under the registry now in use.
+     *
+     * @param commandClass the command class
+     * @return {@code true} if the usage text has been parsed
+     */
+    public boolean isCompiled (Class<?> commandClass) {
+        return compiled().contains(commandClass);
+    }
+
+    /**
+     * Returns the commands parsed under the registry now in use, forgetting
+     * those parsed under another.
+     */
+    private synchronized Set<Class<?>> compiled () {
+        ArgCommandRegistry current = ArgCommand.getRegistry();
+        if (current != registry) {
+            compiled.clear();
+            registry = current;
+        }
+        return compiled;
+    }
+
+    /**
+     * Parses the usage text of every command not yet parsed, in parallel on
+     * the common fork-join pool.
+     *
+     * @return the number of usage texts parsed successfully
+     * @throws IllegalStateException if the set has not been given to a
+     * program or a command object cannot be created
+     * @see #warmUp(ForkJoinPool)
+     */
+    public int warmUp () {
+        return warmUp(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Parses the usage text of every command not yet parsed, in parallel on
+     * the given fork-join pool. The set must have been given to a program
+     * first, since a command's variable names depend on the program's
+     * option suffix.
+     *
+     * @param pool the fork-join pool
+     * @return the number of usage texts parsed successfully
+     * @throws IllegalStateException if the set has not been given to a
+     * program or a command object cannot be created
+     */
+    public int warmUp (ForkJoinPool pool) {
+        if (program == null) {
+            throw new IllegalStateException("Command set has no program");
+        }
+        final List<Usage> pending = new ArrayList<Usage>();
+        Set<Class<?>> done = compiled();
+        for (Usage usage : commands.values()) {
+            if (! done.contains(usage.commandClass)) {
+                pending.add(usage);
+            }
+        }
+        try {
+            return pool.submit(() -> pending.parallelStream()
+                    .mapToInt(usage -> compile(usage) ? 1 : 0)
+                    .sum()).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+        return 0;
+    }
+
+    private boolean compile (Usage usage) {
+        Object cli;
+        try {
+            cli = usage.commandClass.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Can't create a "
+                    + usage.commandClass.getName(), e);
+        }
+        if (! ArgCommand.compile(program, usage.text, usage.lines, cli)) {
+            return false;
+        }
+        compiled.add(usage.commandClass);
+        return true;
+    }
+
+    /**
+     * Records that a command's usage text has been parsed by a dispatch.
+     *
+     * @param commandClass the command class
+     */
+    void setCompiled (Class<?> commandClass) {
+        compiled().add(commandClass);
+    }
+
+    void setProgram (ArgCommandContext program) {
+        this.program = program;
+    }
+
+    private static class Usage {
+        private final Class<?>  commandClass;
+        private final String    text;
+        private final String [] lines;
+
+        private Usage (Class<?> commandClass, String text, String [] lines) {
+            this.commandClass = commandClass;
+            this.text = text;
+            this.lines = lines;
+        }
+    }
+
+}
@@ -9,6 +9,7 @@ package com.fidelis.argface;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * ArgFace common code.
@@ -27,6 +28,7 @@ import java.util.List;
 public class ArgCommon {
     private ArgReflect reflect;
     private ArgFind finder;
+    private ArgTrace tracer = new ArgTrace();
     
     /**
      * No argument constructor.
@@ -42,6 +44,18 @@ public class ArgCommon {
     	finder = new ArgFind(reflect);
     }
     
+    /**
+     * Sets the diagnostic output for this {@code ArgCommon} instance.
+     * 
+     * @param tracer the diagnostic output
+     */
+    public void setTrace (ArgTrace tracer) {
+        this.tracer = tracer;
+        if (finder != null) {
+            finder.setTrace(tracer);
+        }
+    }
+    
     /**
      * Returns the {@code ArgReflect} object for this {@code ArgCommon} instance.
      * 
@@ -267,7 +281,12 @@ public class ArgCommon {
             status = false;
         }
         
-        Debug.trace("pp: " + operand);
+        // A repeating operand may take its values one at a time.
+        if (operand.isRepeat()) {
+            operand.setConsumer(consumer(setter, field));
+        }
+        
+        tracer.trace("pp: ", operand);
         return status;
     }
     
@@ -308,8 +327,9 @@ public class ArgCommon {
             Method argSetter = finder.findArgSetter(option);
 
             // If setter not found, try for argument field.
+            Field argField = null;
             if (argSetter == null) {
-                Field argField = finder.findArgField(option);
+                argField = finder.findArgField(option);
 
                 // Field not found, print can't access msg.
                 if (argField == null) {
@@ -317,11 +337,39 @@ public class ArgCommon {
                     status = false;
                 }
             }
+
+            // A repeating argument may take its values one at a time.
+            if (option.isRepeat()) {
+                option.setConsumer(consumer(argSetter, argField));
+            }
         }
-        Debug.trace("pp: " + option);
+        tracer.trace("pp: ", option);
         return status;
     }
 
+    /**
+     * Returns a consumer for a {@code String} setter or a {@code Consumer}
+     * field, or null for any other variable.
+     */
+    private Consumer<String> consumer (final Method setter, final Field field) {
+        if (setter != null) {
+            if (setter.getParameterTypes()[0] != String.class) {
+                return null;
+            }
+            return value -> reflect.setValue(setter, value);
+        }
+        if (field != null && field.getType() == Consumer.class) {
+            return value -> {
+                @SuppressWarnings("unchecked")
+                Consumer<String> consumer = (Consumer<String>) reflect.getValue(field);
+                if (consumer != null) {
+                    consumer.accept(value);
+                }
+            };
+        }
+        return null;
+    }
+
     /**
      * Sets the program variables for the indicated operands and options.
      * 
@@ -360,7 +408,12 @@ public class ArgCommon {
     private void setOperandValue (ArgOperand operand, Object value) {
         Method setter = operand.getSetter();
         Field field = operand.getField();
-        if (operand.isRepeat()) {
+        if (operand.getValueType() != null) {
+            setConverted(setter, field, operand.getConverted());
+        } else if (operand.isRepeat()) {
+            if (operand.getConsumer() != null) {
+                return;
+            }
             setRepeat(setter, field, operand.getList(), operand.isRepeatList());
         } else {
             if (setter != null) {
@@ -394,7 +447,12 @@ public class ArgCommon {
     private void setOptionArgVar (ArgOption option) {
         Method setter = option.getArgSetter();
         Field field = option.getArgField();
-        if (option.isRepeat()) {
+        if (option.getValueType() != null) {
+            setConverted(setter, field, option.getConverted());
+        } else if (option.isRepeat()) {
+            if (option.getConsumer() != null) {
+                return;
+            }
             List<String> list = option.getList();
             if (setter != null) {
                 if (option.isRepeatList()) {
@@ -419,6 +477,17 @@ public class ArgCommon {
         }
     }
     
+    private void setConverted (Method setter, Field field, Object value) {
+        if (value == null) {
+            return;
+        }
+        if (setter != null) {
+            reflect.setValue(setter, value);
+        } else if (field != null) {
+            reflect.setValue(field, value);
+        }
+    }
+    
     private void setOptionCount (ArgOption option) {
         String name = option.getName();
         String altName = option.getAltName();
@@ -0,0 +1,222 @@
+/**
+ *+
+ *  ArgConvert.java
+ *	1.0.0	Oct 19, 2026
+ *-
+ */
+package com.fidelis.argface;
+
+import java.io.File;
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Value converters, keyed by the type of the program variable. A variable of
+ * a type with a converter is set to the converted value instead of the
+ * argument text. Each value is converted once, when a usage matches, and a
+ * value that cannot be converted is a parse problem.
+ * <p>
+ * Converters are provided for {@code int}, {@code long}, {@code double} and
+ * their wrappers, {@code BigInteger}, {@code BigDecimal}, {@code Path},
+ * {@code File}, {@code Duration} and every {@code enum} type. A repeating
+ * operand or option argument may be an array of any of these types;
+ * {@code int[]}, {@code long[]} and {@code double[]} are filled without
+ * boxing. Other types are added with {@link #register(Class, Function)}.
+ * <p>
+ * A {@code Duration} is written in ISO-8601 form, such as {@code PT1M30S},
+ * or as a number with one of the units {@code ns}, {@code us}, {@code ms},
+ * {@code s}, {@code m}, {@code h} or {@code d}. A number without a unit is
+ * in seconds. Enum constants are matched ignoring case, with dashes taken as
+ * underscores.
+ *
+ * @version 1.0.0
+ *
+ */
+public class ArgConvert {
+    private static final ArgConvert instance = new ArgConvert();
+
+    private final Map<Class<?>, Function<String, ?>> converters =
+            new ConcurrentHashMap<Class<?>, Function<String, ?>>();
+
+    private ArgConvert () {
+        register(int.class, Integer::valueOf);
+        register(Integer.class, Integer::valueOf);
+        register(long.class, Long::valueOf);
+        register(Long.class, Long::valueOf);
+        register(double.class, Double::valueOf);
+        register(Double.class, Double::valueOf);
+        register(BigInteger.class, BigInteger::new);
+        register(BigDecimal.class, BigDecimal::new);
+        register(Path.class, text -> Paths.get(text));
+        register(File.class, File::new);
+        register(Duration.class, ArgConvert::toDuration);
+    }
+
+    /**
+     * Returns the one and only {@code ArgConvert} instance.
+     *
+     * @return the converters
+     */
+    public static ArgConvert getInstance () {
+        return instance;
+    }
+
+    /**
+     * Adds or replaces the converter for a type. The converter should throw
+     * an unchecked exception for text it cannot convert.
+     *
+     * @param type the variable type
+     * @param converter the converter
+     */
+    public <T> void register (Class<T> type, Function<String, ? extends T> converter) {
+        converters.put(type, checked(type, converter));
+    }
+
+    /**
+     * Tests to see if values can be converted to a type. Arrays can be
+     * converted when their component type can.
+     *
+     * @param type the variable type
+     * @return {@code true} if there is a converter for the type
+     */
+    public boolean canConvert (Class<?> type) {
+        if (type.isArray()) {
+            type = type.getComponentType();
+        }
+        return converters.containsKey(type) || type.isEnum();
+    }
+
+    /**
+     * Converts the text of an argument to a type.
+     *
+     * @param type the variable type
+     * @param text the argument text
+     * @return the converted value
+     * @throws IllegalArgumentException if the text cannot be converted
+     */
+    public Object convert (Class<?> type, String text) {
+        return converter(type).apply(text);
+    }
+
+    /**
+     * Converts the values of a repeating argument to an array type.
+     *
+     * @param arrayType the array type
+     * @param values the argument values
+     * @return the array of converted values
+     * @throws IllegalArgumentException if a value cannot be converted
+     */
+    public Object convert (Class<?> arrayType, List<String> values) {
+        Class<?> type = arrayType.getComponentType();
+        int size = values.size();
+        if (type == int.class) {
+            int [] array = new int [size];
+            for (int n = 0; n < size; n++) {
+                array[n] = parse(values.get(n), type, Integer::parseInt);
+            }
+            return array;
+        }
+        if (type == long.class) {
+            long [] array = new long [size];
+            for (int n = 0; n < size; n++) {
+                array[n] = parse(values.get(n), type, Long::parseLong);
+            }
+            return array;
+        }
+        if (type == double.class) {
+            double [] array = new double [size];
+            for (int n = 0; n < size; n++) {
+                array[n] = parse(values.get(n), type, Double::parseDouble);
+            }
+            return array;
+        }
+        Function<String, ?> converter = converter(type);
+        Object array = Array.newInstance(type, size);
+        for (int n = 0; n < size; n++) {
+            Array.set(array, n, converter.apply(values.get(n)));
+        }
+        return array;
+    }
+
+    private static <T> T parse (String text, Class<?> type, Function<String, T> parser) {
+        try {
+            return parser.apply(text);
+        } catch (RuntimeException e) {
+            throw invalid(type, text);
+        }
+    }
+
+    private Function<String, ?> converter (Class<?> type) {
+        Function<String, ?> converter = converters.get(type);
+        if (converter == null) {
+            if (! type.isEnum()) {
+                throw new IllegalArgumentException("No converter for " + type.getName());
+            }
+            converter = checked(type, text -> toEnum(type, text));
+            converters.put(type, converter);
+        }
+        return converter;
+    }
+
+    /**
+     * Wraps a converter so that any failure is reported in the same way.
+     */
+    private static Function<String, ?> checked (final Class<?> type,
+            final Function<String, ?> converter) {
+        return text -> {
+            try {
+                return converter.apply(text);
+            } catch (RuntimeException e) {
+                throw invalid(type, text);
+            }
+        };
+    }
+
+    private static IllegalArgumentException invalid (Class<?> type, String text) {
+        return new IllegalArgumentException("Invalid " + type.getSimpleName()
+                + " value: " + text);
+    }
+
+    private static Object toEnum (Class<?> type, String text) {
+        String name = text.replace('-', '_');
+        for (Object constant : type.getEnumConstants()) {
+            if (((Enum<?>) constant).name().equalsIgnoreCase(name)) {
+                return constant;
+            }
+        }
+        throw new IllegalArgumentException(text);
+    }
+
+    private static Duration toDuration (String text) {
+        if (text.startsWith("P") || text.startsWith("p")) {
+            return Duration.parse(text);
+        }
+        int n = 0;
+        while (n < text.length() && Character.isDigit(text.charAt(n))) {
+            n++;
+        }
+        long amount = Long.parseLong(text.substring(0, n));
+        String unit = text.substring(n);
+        switch (unit) {
+        case "ns": return Duration.ofNanos(amount);
+        case "us": return Duration.ofNanos(amount * 1000);
+        case "ms": return Duration.ofMillis(amount);
+        case "":
+        case "s":  return Duration.ofSeconds(amount);
+        case "m":  return Duration.ofMinutes(amount);
+        case "h":  return Duration.ofHours(amount);
+        case "d":  return Duration.ofDays(amount);
+        default:
+            throw new IllegalArgumentException(text);
+        }
+    }
+
+}
@@ -0,0 +1,117 @@
+/**
+ *+
+ *  ArgEvents.java
+ *	1.0.0	Oct 19, 2026
+ *-
+ */
+package com.fidelis.argface;
+
+/**
+ * Java Flight Recorder events for ArgFace. The events are emitted by
+ * {@code ArgBase} with the usual begin, {@code shouldCommit} and commit
+ * sequence. A {@code begin} method returns null, and nothing is allocated,
+ * unless the event type is enabled in a running recording.
+ * <p>
+ * The event classes are in {@code ArgFlightEvents}, which needs Java 11 and
+ * the {@code jdk.jfr} module and is looked up by name. When it can't be
+ * loaded, as on Java 8, each {@code begin} method returns null and no event
+ * is ever committed.
+ *
+ * @version 1.0.0
+ *
+ */
+final class ArgEvents {
+    private static final Recorder RECORDER = loadRecorder();
+
+    private ArgEvents () {
+    }
+
+    /**
+     * The flight recorder events, implemented by {@code ArgFlightEvents}.
+     */
+    interface Recorder {
+        Object beginSpecCompile ();
+        Object beginAlternativeAttempt ();
+        Object beginPatternSearch ();
+        Object beginBind ();
+        boolean shouldCommit (Object event);
+        void commitSpecCompile (Object event, String programName, int usageLength,
+                int alternatives, int options, boolean success);
+        void commitAlternativeAttempt (Object event, String usage, int index,
+                int arguments, boolean matched, boolean pruned, String reason);
+        void commitPatternSearch (Object event, int operands, int candidates,
+                String pattern, boolean matched);
+        void commitBind (Object event, String usage, int operands, int options);
+    }
+
+    private static Recorder loadRecorder () {
+        try {
+            Class<?> type = Class.forName("com.fidelis.argface.ArgFlightEvents", true,
+                    ArgEvents.class.getClassLoader());
+            return (Recorder) type.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            return null;
+        } catch (LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * Begins a spec compile event: the usage text parsed into alternatives.
+     */
+    static Object beginSpecCompile () {
+        return RECORDER == null ? null : RECORDER.beginSpecCompile();
+    }
+
+    /**
+     * Begins an alternative attempt event: one usage alternative tried
+     * against a command line.
+     */
+    static Object beginAlternativeAttempt () {
+        return RECORDER == null ? null : RECORDER.beginAlternativeAttempt();
+    }
+
+    /**
+     * Begins a pattern search event: the operand patterns of one usage
+     * alternative searched.
+     */
+    static Object beginPatternSearch () {
+        return RECORDER == null ? null : RECORDER.beginPatternSearch();
+    }
+
+    /**
+     * Begins a bind event: the program variables set from a parse.
+     */
+    static Object beginBind () {
+        return RECORDER == null ? null : RECORDER.beginBind();
+    }
+
+    /**
+     * Tests to see if a begun event is enabled and should be committed.
+     */
+    static boolean shouldCommit (Object event) {
+        return event != null && RECORDER.shouldCommit(event);
+    }
+
+    static void commitSpecCompile (Object event, String programName, int usageLength,
+            int alternatives, int options, boolean success) {
+        RECORDER.commitSpecCompile(event, programName, usageLength,
+                alternatives, options, success);
+    }
+
+    static void commitAlternativeAttempt (Object event, String usage, int index,
+            int arguments, boolean matched, boolean pruned, String reason) {
+        RECORDER.commitAlternativeAttempt(event, usage, index, arguments,
+                matched, pruned, reason);
+    }
+
+    static void commitPatternSearch (Object event, int operands, int candidates,
+            String pattern, boolean matched) {
+        RECORDER.commitPatternSearch(event, operands, candidates, pattern, matched);
+    }
+
+    static void commitBind (Object event, String usage, int operands, int options) {
+        RECORDER.commitBind(event, usage, operands, options);
+    }
+
+}
@@ -7,9 +7,14 @@
 package com.fidelis.argface;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Arguments Interface.
+ * <p>
+ * Settings added after the first release have default implementations that
+ * do nothing, so implementations written against the first release still
+ * compile and run. {@code ArgBase} implements them all.
  * 
  * @version 1.0.0
  * @author Leo Hinterlang
@@ -76,6 +81,21 @@ public interface ArgFace {
      */
     public List<String> valueList (String name);
 
+    /**
+     * Sets a consumer that receives each value of the named repeating operand
+     * or repeating option argument, in place of collecting the values.
+     * <p>
+     * Names are given as for {@link #valueList(String)}. The default sets no
+     * consumer and returns {@code false}; the values are then collected.
+     * 
+     * @param name the argument name
+     * @param consumer the consumer or null
+     * @return {@code true} if the name is a repeating operand or option
+     */
+    public default boolean setConsumer (String name, Consumer<String> consumer) {
+        return false;
+    }
+
     /**
      * Returns the {@code String} array value of the argument operands.
      * 
@@ -225,6 +245,74 @@ public interface ArgFace {
      */
     public void setPatternWatch (boolean patternWatch);
     
+    /**
+     * Sets the "adaptiveOrder" feature. Usage alternatives that can never
+     * match the same command line are tried in order of how often they have
+     * matched. The default does nothing.
+     * 
+     * @param adaptiveOrder {@code true} enables the adaptive order feature
+     */
+    public default void setAdaptiveOrder (boolean adaptiveOrder) {
+    }
+    
+    /**
+     * Sets the metrics that record the counts and phase times of parsing.
+     * A null value turns metrics off. The default records nothing.
+     * 
+     * @param metrics the metrics or null
+     */
+    public default void setMetrics (ArgMetrics metrics) {
+    }
+    
+    /**
+     * Sets the "quiet" feature. When quiet, nothing is printed while parsing;
+     * error messages are kept with the result. The default does nothing, so
+     * output is printed as before.
+     * 
+     * @param quiet {@code true} for quiet parsing
+     */
+    public default void setQuiet (boolean quiet) {
+    }
+    
+    /**
+     * Sets the output for usage, help, problems, reports and error messages.
+     * The default does nothing, and messages go where they went before.
+     * 
+     * @param output the output
+     */
+    public default void setOutput (ArgOutput output) {
+    }
+    
+    /**
+     * Sets the width that option help is wrapped to. The default does
+     * nothing, and help keeps its usual width.
+     * 
+     * @param width the line width
+     */
+    public default void setHelpWidth (int width) {
+    }
+    
+    /**
+     * Sets a listener that receives the options and operands of each parse
+     * as events, in place of setting the program variables. The default
+     * does nothing, so the program variables are set as before.
+     * 
+     * @param listener the listener or null
+     */
+    public default void setListener (ArgListener listener) {
+    }
+    
+    /**
+     * Sets the "argFiles" feature, which replaces an {@code @path} argument
+     * with the arguments held in that file. The default does nothing, so
+     * arguments are taken as given.
+     * 
+     * @param argFiles {@code ArgFile.OFF}, {@code ArgFile.LINES} or
+     * {@code ArgFile.QUOTED}
+     */
+    public default void setArgFiles (int argFiles) {
+    }
+    
     /**
      * Returns the matching pattern text following successful argument parsing.
      * 
@@ -0,0 +1,189 @@
+/**
+ *+
+ *  ArgFile.java
+ *	1.0.0	Oct 19, 2026
+ *-
+ */
+package com.fidelis.argface;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * An argument file. A command line argument of the form {@code @path} is
+ * replaced by the arguments held in the file at {@code path}, when argument
+ * files are enabled with {@link ArgBase#setArgFiles(int)}.
+ * <p>
+ * The file is read through a buffer, one argument at a time, and closed
+ * once it has been read. Its arguments take their place in the command
+ * line, which is held in memory for the parse like any other, so the cost
+ * is that of the arguments themselves, as if they had been given on the
+ * command line. The file is UTF-8 and is split in one of two ways:
+ * <ul>
+ * <li>{@code LINES}: each line is one argument, taken as is. Empty lines
+ * are skipped.</li>
+ * <li>{@code QUOTED}: arguments are separated by white space, with single
+ * quotes, double quotes and backslash escapes split as by
+ * {@link ArgUtil#splitCommandLine(String)}. A quote left open at the end of
+ * the file is an error.</li>
+ * </ul>
+ * An argument {@code @@text} stands for the literal {@code @text}.
+ * Arguments following {@code --} are never expanded.
+ *
+ * @version 1.0.0
+ *
+ */
+public class ArgFile implements Iterator<String>, Closeable {
+
+    /** Argument files are not expanded */
+    public static final int OFF     = 0;
+
+    /** Each line of an argument file is one argument */
+    public static final int LINES   = 1;
+
+    /** Arguments are separated by white space and may be quoted */
+    public static final int QUOTED  = 2;
+
+    private final Path              path;
+    private final BufferedReader    reader;
+    private final ArgUtil.Splitter  splitter;
+    private String                  next;
+
+    private ArgFile (Path path, BufferedReader reader, int mode) {
+        this.path = path;
+        this.reader = reader;
+        this.splitter = mode == QUOTED ? new ArgUtil.Splitter(reader) : null;
+    }
+
+    /**
+     * Opens an argument file.
+     *
+     * @param path the file path
+     * @param mode {@code LINES} or {@code QUOTED}
+     * @return the argument file
+     * @throws IOException if the file cannot be opened
+     */
+    static ArgFile open (Path path, int mode) throws IOException {
+        return new ArgFile(path, Files.newBufferedReader(path, StandardCharsets.UTF_8), mode);
+    }
+
+    /**
+     * Adds the command line arguments to a list, replacing each
+     * {@code @path} argument with the contents of the file.
+     *
+     * @param args the command line arguments
+     * @param mode {@code LINES} or {@code QUOTED}
+     * @param list the list of arguments
+     * @throws IOException if an argument file cannot be read or ends inside
+     * a quote
+     */
+    static void expand (String [] args, int mode, List<String> list)
+            throws IOException {
+        boolean expand = true;
+        for (String arg : args) {
+            if (expand && arg.length() > 1 && arg.charAt(0) == '@') {
+                if (arg.charAt(1) == '@') {
+                    list.add(arg.substring(1));
+                    continue;
+                }
+                try (ArgFile file = open(Paths.get(arg.substring(1)), mode)) {
+                    while (file.hasNext()) {
+                        list.add(file.next());
+                    }
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+                continue;
+            }
+            if (arg.equals("--")) {
+                expand = false;
+            }
+            list.add(arg);
+        }
+    }
+
+    /**
+     * Tests to see if an argument array holds an argument file.
+     *
+     * @param args the command line arguments
+     * @return {@code true} if an argument names a file
+     */
+    static boolean hasArgFile (String [] args) {
+        for (String arg : args) {
+            if (arg.equals("--")) {
+                return false;
+            }
+            if (arg.length() > 1 && arg.charAt(0) == '@') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Tests to see if there is another argument.
+     *
+     * @return {@code true} if there is another argument
+     * @throws UncheckedIOException if the file cannot be read or ends inside
+     * a quote
+     */
+    @Override
+    public boolean hasNext () {
+        if (next == null) {
+            try {
+                next = splitter == null ? nextLine() : nextQuoted();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public String next () {
+        if (! hasNext()) {
+            throw new NoSuchElementException();
+        }
+        String value = next;
+        next = null;
+        return value;
+    }
+
+    /**
+     * Closes the file.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close () throws IOException {
+        reader.close();
+    }
+
+    private String nextLine () throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (! line.isEmpty()) {
+                return line;
+            }
+        }
+        return null;
+    }
+
+    private String nextQuoted () throws IOException {
+        String arg = splitter.next();
+        if (splitter.isUnterminated()) {
+            throw new IOException(path + ": unterminated quote");
+        }
+        return arg;
+    }
+
+}
@@ -0,0 +1,291 @@
+/**
+ *+
+ *  ArgFilter.java
+ *	1.0.0	Oct 19, 2026
+ *-
+ */
+package com.fidelis.argface;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A streaming filter that checks command lines against one usage
+ * specification. Each input line is a command line as a JSON array of
+ * strings:<pre>
+ *  ["-v", "--count", "5", "from.txt", "to.txt"]</pre>
+ * and each output line is a JSON object holding the line number and the
+ * members of {@link ArgResult#toJson()}. A line that is not a JSON array of
+ * strings, or that is longer than the record limit, produces an object with
+ * {@code "matched":false} and an {@code error} member. Blank lines are
+ * skipped.
+ * <p>
+ * One line is read, parsed and written at a time, so memory use is bounded
+ * by the record limit whatever the size of the input, and a slow reader of
+ * the output slows the filter rather than letting results accumulate.
+ * Output is flushed whenever no more input is immediately available. Each
+ * command line is checked with {@link ArgBase#validate(String[])}, so no
+ * program variables are bound and nothing is printed.
+ *
+ * @version 1.0.0
+ *
+ */
+public class ArgFilter {
+
+    /** The default record limit in characters */
+    public static final int MAX_RECORD = 1 << 16;
+
+    private final ArgBase   spec;
+    private int             maxRecord = MAX_RECORD;
+
+    /**
+     * Creates a new {@code ArgFilter} for a specification whose usage text
+     * has been parsed.
+     *
+     * @param spec the usage specification
+     */
+    public ArgFilter (ArgBase spec) {
+        this.spec = spec;
+    }
+
+    /**
+     * Creates a new {@code ArgFilter} for the given usage text.
+     *
+     * @param usageText the usage text as a String
+     * @return the {@code ArgFilter} or null if the usage text is invalid
+     */
+    public static ArgFilter create (String usageText) {
+        ArgProcedure spec = new ArgProcedure();
+        spec.setUsageText(usageText);
+        return create(spec);
+    }
+
+    /**
+     * Creates a new {@code ArgFilter} for the given usage text.
+     *
+     * @param usageText the usage text as an array of Strings
+     * @return the {@code ArgFilter} or null if the usage text is invalid
+     */
+    public static ArgFilter create (String [] usageText) {
+        ArgProcedure spec = new ArgProcedure();
+        spec.setUsageText(usageText);
+        return create(spec);
+    }
+
+    private static ArgFilter create (ArgProcedure spec) {
+        spec.setQuiet(true);
+        spec.setProgramName("filter");
+        if (! spec.parseUsage()) {
+            return null;
+        }
+        return new ArgFilter(spec);
+    }
+
+    /**
+     * Sets the longest input line accepted, in characters.
+     *
+     * @param maxRecord the record limit
+     */
+    public void setMaxRecord (int maxRecord) {
+        this.maxRecord = maxRecord;
+    }
+
+    /**
+     * Returns the longest input line accepted, in characters.
+     *
+     * @return the record limit
+     */
+    public int getMaxRecord () {
+        return maxRecord;
+    }
+
+    /**
+     * Reads command lines from the input stream until end of stream and
+     * writes a result line for each. Both streams are UTF-8. Neither stream
+     * is closed.
+     *
+     * @param in the input stream
+     * @param out the output stream
+     * @return the number of results written
+     * @throws IOException if either stream fails
+     */
+    public long filter (InputStream in, OutputStream out) throws IOException {
+        BufferedReader reader = new BufferedReader(
+                new InputStreamReader(in, StandardCharsets.UTF_8));
+        Writer writer = new BufferedWriter(
+                new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        StringBuilder line = new StringBuilder(256);
+        StringBuilder record = new StringBuilder(512);
+        long lineNumber = 0;
+        long count = 0;
+        while (true) {
+            line.setLength(0);
+            int length = readLine(reader, line);
+            if (length < 0) {
+                break;
+            }
+            lineNumber++;
+            if (length <= maxRecord && line.toString().trim().isEmpty()) {
+                continue;
+            }
+            record.setLength(0);
+            record.append("{\"line\":").append(lineNumber).append(',');
+            if (length > maxRecord) {
+                appendError(record, "Record longer than " + maxRecord + " characters");
+            } else {
+                String [] args;
+                try {
+                    args = parseArray(line.toString());
+                } catch (IllegalArgumentException e) {
+                    args = null;
+                    appendError(record, e.getMessage());
+                }
+                if (args != null) {
+                    ArgResult result;
+                    synchronized (spec) {
+                        result = spec.validate(args);
+                    }
+                    result.appendJsonMembers(record);
+                }
+            }
+            record.append("}\n");
+            writer.append(record);
+            count++;
+            if (! reader.ready()) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    private static void appendError (StringBuilder record, String message) {
+        record.append("\"matched\":false,\"error\":");
+        ArgResult.appendJson(record, message);
+    }
+
+    /**
+     * Reads one line into the builder, keeping at most one character more
+     * than the record limit and discarding the rest.
+     *
+     * @return the full length of the line, or -1 at end of stream
+     */
+    private int readLine (BufferedReader reader, StringBuilder line)
+            throws IOException {
+        int length = 0;
+        int c;
+        while ((c = reader.read()) >= 0) {
+            if (c == '\n') {
+                return length;
+            }
+            if (c == '\r') {
+                continue;
+            }
+            if (length <= maxRecord) {
+                line.append((char) c);
+            }
+            length++;
+        }
+        return length == 0 ? -1 : length;
+    }
+
+    /**
+     * Parses a JSON array of strings.
+     *
+     * @param text the JSON text
+     * @return the strings
+     * @throws IllegalArgumentException if the text is not an array of strings
+     */
+    static String [] parseArray (String text) {
+        List<String> list = new ArrayList<String>();
+        int n = skipSpace(text, 0);
+        if (n >= text.length() || text.charAt(n) != '[') {
+            throw new IllegalArgumentException("Expected '[' at " + n);
+        }
+        n = skipSpace(text, n + 1);
+        if (n < text.length() && text.charAt(n) == ']') {
+            n++;
+        } else {
+            StringBuilder sb = new StringBuilder();
+            while (true) {
+                if (n >= text.length() || text.charAt(n) != '"') {
+                    throw new IllegalArgumentException("Expected string at " + n);
+                }
+                sb.setLength(0);
+                n = parseString(text, n + 1, sb);
+                list.add(sb.toString());
+                n = skipSpace(text, n);
+                if (n < text.length() && text.charAt(n) == ',') {
+                    n = skipSpace(text, n + 1);
+                } else if (n < text.length() && text.charAt(n) == ']') {
+                    n++;
+                    break;
+                } else {
+                    throw new IllegalArgumentException("Expected ',' or ']' at " + n);
+                }
+            }
+        }
+        if (skipSpace(text, n) != text.length()) {
+            throw new IllegalArgumentException("Unexpected text at " + n);
+        }
+        return list.toArray(new String [list.size()]);
+    }
+
+    private static int parseString (String text, int n, StringBuilder sb) {
+        while (n < text.length()) {
+            char c = text.charAt(n++);
+            if (c == '"') {
+                return n;
+            }
+            if (c != '\\') {
+                sb.append(c);
+                continue;
+            }
+            if (n >= text.length()) {
+                break;
+            }
+            c = text.charAt(n++);
+            switch (c) {
+            case '"':
+            case '\\':
+            case '/': sb.append(c); break;
+            case 'b': sb.append('\b'); break;
+            case 'f': sb.append('\f'); break;
+            case 'n': sb.append('\n'); break;
+            case 'r': sb.append('\r'); break;
+            case 't': sb.append('\t'); break;
+            case 'u':
+                if (n + 4 > text.length()) {
+                    throw new IllegalArgumentException("Invalid escape at " + (n - 2));
+                }
+                try {
+                    sb.append((char) Integer.parseInt(text.substring(n, n + 4), 16));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid escape at " + (n - 2));
+                }
+                n += 4;
+                break;
+            default:
+                throw new IllegalArgumentException("Invalid escape at " + (n - 2));
+            }
+        }
+        throw new IllegalArgumentException("Unterminated string");
+    }
+
+    private static int skipSpace (String text, int n) {
+        while (n < text.length() && Character.isWhitespace(text.charAt(n))) {
+            n++;
+        }
+        return n;
+    }
+
+}
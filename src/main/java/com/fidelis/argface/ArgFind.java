@@ -9,6 +9,7 @@ package com.fidelis.argface;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * ArgFace finders.
@@ -19,9 +20,9 @@ import java.util.List;
  */
 public class ArgFind {
     private ArgReflect     reflect;
-    private ArgUtil        util = ArgUtil.getInstance();
     private String         operandSuffix;
     private String         optionSuffix;
+    private ArgTrace       tracer = new ArgTrace();
     
     /**
      * No argument constructor.
@@ -38,6 +39,15 @@ public class ArgFind {
     	setReflect(reflect);
     }
     
+    /**
+     * Sets the diagnostic output for this {@code ArgFind} instance.
+     * 
+     * @param tracer the diagnostic output
+     */
+    public void setTrace (ArgTrace tracer) {
+        this.tracer = tracer;
+    }
+    
     /**
      * Sets the {@code ArgReflect} object for this {@code ArgFind} instance.
      * 
@@ -57,6 +67,7 @@ public class ArgFind {
     }
     
     private void setup () {
+        ArgUtil util = ArgUtil.getInstance();
         if (operandSuffix == null) {
             operandSuffix = util.getOperandSuffix();
         }
@@ -84,7 +95,9 @@ public class ArgFind {
     /**
      * Finds a setter method for the specified operand.
      * This method only works for {@code boolean} and {@code String} setters and
-     * for repeating operands of type {@code String[]} or {@code List}.
+     * for repeating operands of type {@code String[]} or {@code List}. A
+     * repeating operand may also have a {@code String} setter, which is
+     * called once for each value.
      * 
      * @param operand the operand to match to a setter method
      * @return the corresponding setter {@code Method}
@@ -103,12 +116,21 @@ public class ArgFind {
                     operand.setRepeatList(true);
                 }
             }
+            if (method == null) {
+                method = reflect.findSetter(fieldName, String.class);
+            }
         } else {
             method = reflect.findSetter(fieldName, String.class);
             if (method == null) {
                 method = reflect.findSetter(fieldName, boolean.class);
             }
         }
+        if (method == null && operand.isVariable()) {
+            method = findConvertSetter(fieldName, operand.isRepeat());
+            if (method != null) {
+                operand.setValueType(method.getParameterTypes()[0]);
+            }
+        }
         if (method != null) {
             operand.setSetter(method);
         }
@@ -118,7 +140,8 @@ public class ArgFind {
     /**
      * Finds a field for the specified operand.
      * This method only works for {@code boolean} and {@code String} fields and
-     * for repeating operands of types {@code String[]} or {@code List}.
+     * for repeating operands of types {@code String[]}, {@code List} or
+     * {@code Consumer}.
      * 
      * @param operand the operand to match to a member variable
      * @return the corresponding variable {@code Field}
@@ -137,12 +160,21 @@ public class ArgFind {
                     operand.setRepeatList(true);
                 }
             }
+            if (field == null) {
+                field = reflect.findField(fieldName, Consumer.class);
+            }
         } else {
             field = reflect.findField(fieldName, String.class);
             if (field == null) {
                 field = reflect.findField(fieldName, boolean.class);
             }
         }
+        if (field == null && operand.isVariable()) {
+            field = findConvertField(fieldName, operand.isRepeat());
+            if (field != null) {
+                operand.setValueType(field.getType());
+            }
+        }
         if (field != null) {
             operand.setField(field);
         }
@@ -210,12 +242,12 @@ public class ArgFind {
         String name = getName(option);
         String altName = getAltName(option);
         String fieldName = name + optionSuffix;
-        Debug.verbose("findOptionField: " + fieldName);
+        tracer.verbose("findOptionField: ", fieldName);
         field = reflect.findField(fieldName, boolean.class);
         if (field == null) {
             if (altName != null) {
                 fieldName = altName + optionSuffix;
-                Debug.verbose("findOptionField alt: " + fieldName);
+                tracer.verbose("findOptionField alt: ", fieldName);
                 field = reflect.findField(fieldName, boolean.class);
             }
         }
@@ -277,6 +309,16 @@ public class ArgFind {
                 c = List.class;
                 option.setRepeatList(true);
                 setter = reflect.findSetter(argFieldName, c);
+                if (setter == null) {
+                    option.setRepeatList(false);
+                    setter = reflect.findSetter(argFieldName, String.class);
+                }
+            }
+        }
+        if (setter == null) {
+            setter = findConvertSetter(argFieldName, option.isRepeat());
+            if (setter != null) {
+                option.setValueType(setter.getParameterTypes()[0]);
             }
         }
         return setter;
@@ -334,7 +376,47 @@ public class ArgFind {
             }
             field = reflect.findField(argFieldName, c);
         }
+        if (field == null && option.isRepeat()) {
+            option.setRepeatList(false);
+            field = reflect.findField(argFieldName, Consumer.class);
+        }
+        if (field == null) {
+            field = findConvertField(argFieldName, option.isRepeat());
+            if (field != null) {
+                option.setValueType(field.getType());
+            }
+        }
         return field;
     }
     
+    /**
+     * Finds a setter whose parameter type has a converter. A repeating
+     * argument needs an array type and any other argument a single value.
+     */
+    private Method findConvertSetter (String fieldName, boolean repeat) {
+        ArgConvert convert = ArgConvert.getInstance();
+        for (Method method : reflect.findSetters(fieldName)) {
+            Class<?> type = method.getParameterTypes()[0];
+            if (type.isArray() == repeat && convert.canConvert(type)) {
+                return method;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Finds a variable whose type has a converter. A repeating argument
+     * needs an array type and any other argument a single value.
+     */
+    private Field findConvertField (String fieldName, boolean repeat) {
+        Field field = reflect.findField(fieldName, null);
+        if (field != null) {
+            Class<?> type = field.getType();
+            if (type.isArray() == repeat && ArgConvert.getInstance().canConvert(type)) {
+                return field;
+            }
+        }
+        return null;
+    }
+    
 }
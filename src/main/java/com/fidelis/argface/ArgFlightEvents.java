@@ -0,0 +1,228 @@
+/**
+ *+
+ *  ArgFlightEvents.java
+ *	1.0.0	Oct 19, 2026
+ *-
+ */
+package com.fidelis.argface;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder events for ArgFace. This is the only class that uses
+ * the {@code jdk.jfr} module. It is compiled for Java 11 apart from the rest
+ * of the library and is loaded by {@link ArgEvents} only when it can be, so
+ * ArgFace runs on Java 8 and on a runtime image without the module.
+ * <p>
+ * No event object is created unless its type is enabled in a running
+ * recording.
+ *
+ * @version 1.0.0
+ *
+ */
+final class ArgFlightEvents implements ArgEvents.Recorder {
+    private static final EventType SPEC_COMPILE =
+            EventType.getEventType(SpecCompile.class);
+    private static final EventType ALTERNATIVE_ATTEMPT =
+            EventType.getEventType(AlternativeAttempt.class);
+    private static final EventType PATTERN_SEARCH =
+            EventType.getEventType(PatternSearch.class);
+    private static final EventType BIND =
+            EventType.getEventType(Bind.class);
+
+    ArgFlightEvents () {
+    }
+
+    @Override
+    public Object beginSpecCompile () {
+        if (! SPEC_COMPILE.isEnabled()) {
+            return null;
+        }
+        SpecCompile event = new SpecCompile();
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public Object beginAlternativeAttempt () {
+        if (! ALTERNATIVE_ATTEMPT.isEnabled()) {
+            return null;
+        }
+        AlternativeAttempt event = new AlternativeAttempt();
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public Object beginPatternSearch () {
+        if (! PATTERN_SEARCH.isEnabled()) {
+            return null;
+        }
+        PatternSearch event = new PatternSearch();
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public Object beginBind () {
+        if (! BIND.isEnabled()) {
+            return null;
+        }
+        Bind event = new Bind();
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public boolean shouldCommit (Object event) {
+        return ((Event) event).shouldCommit();
+    }
+
+    @Override
+    public void commitSpecCompile (Object started, String programName, int usageLength,
+            int alternatives, int options, boolean success) {
+        SpecCompile event = (SpecCompile) started;
+        event.programName = programName;
+        event.usageLength = usageLength;
+        event.alternatives = alternatives;
+        event.options = options;
+        event.success = success;
+        event.commit();
+    }
+
+    @Override
+    public void commitAlternativeAttempt (Object started, String usage, int index,
+            int arguments, boolean matched, boolean pruned, String reason) {
+        AlternativeAttempt event = (AlternativeAttempt) started;
+        event.usage = usage;
+        event.index = index;
+        event.arguments = arguments;
+        event.matched = matched;
+        event.pruned = pruned;
+        event.reason = reason;
+        event.commit();
+    }
+
+    @Override
+    public void commitPatternSearch (Object started, int operands, int candidates,
+            String pattern, boolean matched) {
+        PatternSearch event = (PatternSearch) started;
+        event.operands = operands;
+        event.candidates = candidates;
+        event.pattern = pattern;
+        event.matched = matched;
+        event.commit();
+    }
+
+    @Override
+    public void commitBind (Object started, String usage, int operands, int options) {
+        Bind event = (Bind) started;
+        event.usage = usage;
+        event.operands = operands;
+        event.options = options;
+        event.commit();
+    }
+
+    /**
+     * The usage text has been parsed into usage alternatives.
+     */
+    @Name("argface.SpecCompile")
+    @Label("Spec Compile")
+    @Category("argFace")
+    @Description("Parsing of the usage text")
+    @StackTrace(false)
+    static class SpecCompile extends Event {
+        @Label("Program Name")
+        String  programName;
+
+        @Label("Usage Length")
+        int     usageLength;
+
+        @Label("Alternatives")
+        int     alternatives;
+
+        @Label("Options")
+        int     options;
+
+        @Label("Success")
+        boolean success;
+    }
+
+    /**
+     * One usage alternative has been tried against a command line.
+     */
+    @Name("argface.AlternativeAttempt")
+    @Label("Alternative Attempt")
+    @Category("argFace")
+    @Description("A usage alternative tried against a command line")
+    @StackTrace(false)
+    static class AlternativeAttempt extends Event {
+        @Label("Usage")
+        String  usage;
+
+        @Label("Alternative Index")
+        int     index;
+
+        @Label("Arguments")
+        int     arguments;
+
+        @Label("Matched")
+        boolean matched;
+
+        @Label("Pruned")
+        @Description("Ruled out by an option before it was applied")
+        boolean pruned;
+
+        @Label("Failure Reason")
+        String  reason;
+    }
+
+    /**
+     * The operand patterns of one usage alternative have been searched.
+     */
+    @Name("argface.PatternSearch")
+    @Label("Pattern Search")
+    @Category("argFace")
+    @Description("Search of the operand patterns of a usage alternative")
+    @StackTrace(false)
+    static class PatternSearch extends Event {
+        @Label("Operands")
+        int     operands;
+
+        @Label("Candidates")
+        @Description("Patterns tried; zero when the outcome was cached")
+        int     candidates;
+
+        @Label("Pattern")
+        String  pattern;
+
+        @Label("Matched")
+        boolean matched;
+    }
+
+    /**
+     * The program variables have been set from a successful parse.
+     */
+    @Name("argface.Bind")
+    @Label("Bind")
+    @Category("argFace")
+    @Description("Setting of the program variables")
+    @StackTrace(false)
+    static class Bind extends Event {
+        @Label("Usage")
+        String  usage;
+
+        @Label("Operands")
+        int     operands;
+
+        @Label("Options")
+        int     options;
+    }
+
+}
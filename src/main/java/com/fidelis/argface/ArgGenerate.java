@@ -0,0 +1,381 @@
+/**
+ *+
+ *  ArgGenerate.java
+ *	1.0.0	Oct 19, 2026
+ *-
+ */
+package com.fidelis.argface;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates the help text, a man page and shell completion scripts for a
+ * usage text at build time, so that a program can answer {@code --help}
+ * without parsing its usage text at all.
+ * <p>
+ * For a program named {@code copy}, four files are written:
+ * <ul>
+ * <li>{@code copy.help}: the text printed for {@code --help}.</li>
+ * <li>{@code copy.1}: a roff man page.</li>
+ * <li>{@code copy.bash}: a bash completion script.</li>
+ * <li>{@code copy.zsh}: a zsh completion script.</li>
+ * </ul>
+ * Written to {@code META-INF/argface} under the classes directory during the
+ * build, for example with the {@code exec} plugin in the
+ * {@code prepare-package} phase, the help text is found at run time by
+ * {@link #printHelp(String, String[])}:
+ * <pre>
+ *   java com.fidelis.argface.ArgGenerate -d target/classes/META-INF/argface src/main/usage/copy.txt
+ * </pre>
+ * Each usage file holds the usage text of one program and is named for it.
+ *
+ * @version 1.0.0
+ *
+ */
+public class ArgGenerate {
+
+    /** Classpath location of the generated files */
+    public static final String RESOURCE_PATH = "META-INF/argface/";
+
+    private static final String USAGE =
+            "ArgGenerate [-d <dir>] [-w <width>] <usage-file>...\n"
+            + "Options:\n"
+            + "  -d <dir>    Directory to write to, the current directory by default\n"
+            + "  -w <width>  Width that option help is wrapped to, 80 by default\n";
+
+    private final ArgProcedure spec;
+    private final String       name;
+
+    private ArgGenerate (ArgProcedure spec, String name) {
+        this.spec = spec;
+        this.name = name;
+    }
+
+    /**
+     * Creates a generator for a usage text.
+     *
+     * @param name the program name
+     * @param usageText the usage text
+     * @return the generator or null if the usage text is invalid
+     */
+    public static ArgGenerate create (String name, String usageText) {
+        ArgProcedure spec = new ArgProcedure();
+        spec.setUsageText(usageText);
+        spec.setProgramName(name);
+        if (! spec.parseUsage() || ! spec.prepare()) {
+            return null;
+        }
+        return new ArgGenerate(spec, name);
+    }
+
+    /**
+     * Generates the help text, man page and completion scripts from the
+     * usage files named on the command line.
+     *
+     * @param args the command line arguments
+     */
+    public static void main (String [] args) {
+        ArgProcedure cli = new ArgProcedure();
+        cli.setUsageText(USAGE);
+        cli.setProgramName("ArgGenerate");
+        if (! cli.parseUsage() || cli.parseArguments(args) < 0) {
+            System.exit(2);
+        }
+        if (cli.has("--help")) {
+            return;
+        }
+        Path dir = Paths.get(cli.has("-d") ? cli.value("-d") : ".");
+        int width = 80;
+        if (cli.has("-w")) {
+            try {
+                width = Integer.parseInt(cli.value("-w"));
+            } catch (NumberFormatException e) {
+                System.err.println("ArgGenerate: Invalid width: " + cli.value("-w"));
+                System.exit(2);
+            }
+        }
+        int status = 0;
+        for (String file : cli.valueList("<usage-file>")) {
+            Path path = Paths.get(file);
+            String name = path.getFileName().toString();
+            int dot = name.lastIndexOf('.');
+            if (dot > 0) {
+                name = name.substring(0, dot);
+            }
+            try {
+                String usageText = new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+                ArgGenerate generate = create(name, usageText);
+                if (generate == null) {
+                    status = 1;
+                    continue;
+                }
+                generate.setWidth(width);
+                generate.writeAll(dir);
+            } catch (IOException e) {
+                System.err.println("ArgGenerate: " + e.getMessage());
+                status = 1;
+            }
+        }
+        System.exit(status);
+    }
+
+    /**
+     * Sets the width that option help is wrapped to.
+     *
+     * @param width the line width
+     */
+    public void setWidth (int width) {
+        spec.setHelpWidth(width);
+    }
+
+    /**
+     * Writes the four generated files to a directory, creating it if needed.
+     *
+     * @param dir the directory
+     * @throws IOException if a file cannot be written
+     */
+    public void writeAll (Path dir) throws IOException {
+        Files.createDirectories(dir);
+        write(dir.resolve(name + ".help"), helpText());
+        write(dir.resolve(name + ".1"), manPage());
+        write(dir.resolve(name + ".bash"), bashCompletion());
+        write(dir.resolve(name + ".zsh"), zshCompletion());
+    }
+
+    private static void write (Path path, String text) throws IOException {
+        Files.write(path, text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the text printed for {@code --help}.
+     *
+     * @return the help text
+     */
+    public String helpText () {
+        return spec.getHelp().renderHelp();
+    }
+
+    /**
+     * Returns a roff man page in section 1.
+     *
+     * @return the man page
+     */
+    public String manPage () {
+        StringBuilder sb = new StringBuilder();
+        sb.append(".TH ").append(roff(name.toUpperCase())).append(" 1\n");
+        sb.append(".SH NAME\n").append(roff(name)).append('\n');
+        sb.append(".SH SYNOPSIS\n.nf\n");
+        for (String usage : usageLines()) {
+            sb.append(roffLine(usage)).append('\n');
+        }
+        sb.append(".fi\n");
+        List<ArgOption> options = spec.getOptionList();
+        if (! options.isEmpty()) {
+            sb.append(".SH OPTIONS\n");
+            for (ArgOption option : options) {
+                sb.append(".TP\n.B ");
+                String names = optionName(option.getName());
+                if (option.getAltName() != null) {
+                    names += ", " + optionName(option.getAltName());
+                }
+                sb.append(roff(names));
+                if (option.getArgName() != null) {
+                    String arg = option.isArgOptional() ? "[" + option.getArgName() + "]"
+                                                        : "<" + option.getArgName() + ">";
+                    sb.append(" \\fI").append(roff(arg)).append("\\fR");
+                }
+                sb.append('\n');
+                String help = option.getHelp();
+                sb.append(help == null ? "" : roffLine(help.trim())).append('\n');
+            }
+        }
+        String helpText = spec.getHelpText();
+        if (helpText != null) {
+            sb.append(".SH DESCRIPTION\n");
+            for (String line : helpText.split("\n")) {
+                sb.append(roffLine(line)).append('\n');
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Returns a bash completion script. Options and command words are
+     * completed, falling back to file names.
+     *
+     * @return the bash script
+     */
+    public String bashCompletion () {
+        String function = "_" + name.replaceAll("[^A-Za-z0-9_]", "_");
+        StringBuilder words = new StringBuilder();
+        for (String word : words()) {
+            if (words.length() > 0) {
+                words.append(' ');
+            }
+            words.append(word);
+        }
+        return "# bash completion for " + name + "\n"
+                + function + " () {\n"
+                + "    local cur=\"${COMP_WORDS[COMP_CWORD]}\"\n"
+                + "    COMPREPLY=( $(compgen -W \"" + words + "\" -- \"$cur\") )\n"
+                + "}\n"
+                + "complete -o default -F " + function + " " + name + "\n";
+    }
+
+    /**
+     * Returns a zsh completion script using {@code _arguments}.
+     *
+     * @return the zsh script
+     */
+    public String zshCompletion () {
+        StringBuilder sb = new StringBuilder();
+        sb.append("#compdef ").append(name).append('\n');
+        sb.append("_arguments");
+        for (ArgOption option : spec.getOptionList()) {
+            String help = option.getHelp() == null ? "" : zsh(option.getHelp().trim());
+            String arg = option.getArgName() == null ? ""
+                    : ":" + zsh(option.getArgName()) + ":";
+            zshOption(sb, option.getName(), help, arg);
+            if (option.getAltName() != null) {
+                zshOption(sb, option.getAltName(), help, arg);
+            }
+        }
+        List<String> literals = literals();
+        if (! literals.isEmpty()) {
+            sb.append(" \\\n    '1: :(");
+            for (int n = 0; n < literals.size(); n++) {
+                sb.append(n == 0 ? "" : " ").append(zsh(literals.get(n)));
+            }
+            sb.append(")'");
+        }
+        sb.append(" \\\n    '*: :_files'\n");
+        return sb.toString();
+    }
+
+    private static void zshOption (StringBuilder sb, String optionName, String help, String arg) {
+        sb.append(" \\\n    '").append(optionName(optionName)).append('[').append(help)
+                .append(']').append(arg).append('\'');
+    }
+
+    /**
+     * Prints the help text generated for a program when the command line
+     * asks for help with {@code --help}. The program's usage text is not
+     * parsed at all.
+     *
+     * @param name the program name
+     * @param args the command line arguments
+     * @return {@code true} if the help text was printed
+     */
+    public static boolean printHelp (String name, String [] args) {
+        boolean asked = false;
+        for (String arg : args) {
+            if (arg.equals("--")) {
+                break;
+            }
+            if (arg.equals("--help")) {
+                asked = true;
+                break;
+            }
+        }
+        if (! asked) {
+            return false;
+        }
+        String text = readResource(name + ".help");
+        if (text == null) {
+            return false;
+        }
+        System.out.print(text);
+        System.out.flush();
+        return true;
+    }
+
+    /**
+     * Reads a generated file from the classpath.
+     *
+     * @param fileName the file name, such as {@code copy.help}
+     * @return the file contents or null if there is no such resource
+     */
+    static String readResource (String fileName) {
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        if (loader == null) {
+            loader = ArgGenerate.class.getClassLoader();
+        }
+        try (InputStream in = loader.getResourceAsStream(RESOURCE_PATH + fileName)) {
+            if (in == null) {
+                return null;
+            }
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(4096);
+            byte [] buffer = new byte [4096];
+            int n;
+            while ((n = in.read(buffer)) > 0) {
+                bytes.write(buffer, 0, n);
+            }
+            return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private List<String> usageLines () {
+        List<String> lines = new ArrayList<String>();
+        ArgList argList = spec.getArgList();
+        for (ArgNode node = argList.getHome(); node != null; node = node.getSouth()) {
+            lines.add(argList.buildUsageSpec(node).trim());
+        }
+        return lines;
+    }
+
+    private List<String> words () {
+        List<String> words = new ArrayList<String>();
+        for (ArgOption option : spec.getOptionList()) {
+            words.add(optionName(option.getName()));
+            if (option.getAltName() != null) {
+                words.add(optionName(option.getAltName()));
+            }
+        }
+        words.addAll(literals());
+        return words;
+    }
+
+    private List<String> literals () {
+        List<String> literals = new ArrayList<String>();
+        for (ArgOperand operand : spec.getLitList()) {
+            String literal = operand.getName();
+            if (! literal.equalsIgnoreCase("options") && ! literal.equals(name)
+                    && ! literals.contains(literal)) {
+                literals.add(literal);
+            }
+        }
+        return literals;
+    }
+
+    private static String optionName (String optionName) {
+        return (optionName.length() > 1 ? "--" : "-") + optionName;
+    }
+
+    private static String roff (String text) {
+        return text.replace("\\", "\\e").replace("-", "\\-");
+    }
+
+    private static String roffLine (String text) {
+        text = roff(text);
+        if (text.startsWith(".") || text.startsWith("'")) {
+            text = "\\&" + text;
+        }
+        return text;
+    }
+
+    private static String zsh (String text) {
+        return text.replace("'", "'\\''").replace("[", "\\[").replace("]", "\\]")
+                .replace(":", "\\:");
+    }
+
+}
@@ -7,7 +7,9 @@
 package com.fidelis.argface;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * ArgFace Help Class.
@@ -20,10 +22,14 @@ public class ArgHelp {
     private ArgList         argList;
     private List<ArgOption> optionList;
     private boolean         suppressHelp;
+    private boolean         quiet;
     private String          usageText;
     private String          versionText;
     private String          aboutText;
     private String          helpText;
+    private int             width = 80;
+    private Map<Integer, String> rendered = new HashMap<Integer, String>();
+    private ArgOutput       output = new ArgOutput();
     private List<ArgNode>   problemUsage = new ArrayList<ArgNode>();
     private List<String>    problemText  = new ArrayList<String>();
     
@@ -34,6 +40,7 @@ public class ArgHelp {
      */
     public void setArgList (ArgList argList) {
         this.argList = argList;
+        rendered.clear();
     }
 
     /**
@@ -43,6 +50,16 @@ public class ArgHelp {
      */
     public void setOptionList (List<ArgOption> optionList) {
         this.optionList = optionList;
+        rendered.clear();
+    }
+
+    /**
+     * Sets the output that usage, help and problems are written to.
+     * 
+     * @param output the output
+     */
+    public void setOutput (ArgOutput output) {
+        this.output = output;
     }
 
     /**
@@ -54,6 +71,16 @@ public class ArgHelp {
         this.suppressHelp = suppressHelp;
     }
 
+    /**
+     * Sets the "quiet" operating mode. When quiet, the print methods report
+     * whether they would print without printing anything.
+     * 
+     * @param quiet {@code true} for quiet
+     */
+    public void setQuiet (boolean quiet) {
+        this.quiet = quiet;
+    }
+
     /**
      * Sets the "version" text.
      * 
@@ -79,6 +106,26 @@ public class ArgHelp {
      */
     public void setHelpText (String helpText) {
         this.helpText = helpText;
+        rendered.clear();
+    }
+
+    /**
+     * Sets the width that option help is wrapped to. The help rendered for
+     * each width is kept, so changing the width back and forth costs nothing.
+     * 
+     * @param width the line width
+     */
+    public void setWidth (int width) {
+        this.width = width;
+    }
+
+    /**
+     * Returns the width that option help is wrapped to.
+     * 
+     * @return the line width
+     */
+    public int getWidth () {
+        return width;
     }
     
     /**
@@ -90,6 +137,9 @@ public class ArgHelp {
         if (suppressHelp) {
             return false;
         }
+        if (quiet) {
+            return true;
+        }
         return outputUsage();
     }
     
@@ -105,7 +155,7 @@ public class ArgHelp {
         if (usageText == null) {
             return false;
         }
-        System.out.println(usageText);
+        output.println(usageText);
         return true;
     }
     
@@ -118,15 +168,41 @@ public class ArgHelp {
         if (suppressHelp) {
             return false;
         }
+        if (quiet) {
+            return true;
+        }
         return outputHelp();
     }
     
     /**
-     * Outputs the "help" text.
+     * Outputs the "help" text. The text is rendered once for each width and
+     * written with a single write.
      * 
      * @return {@code true} if the help text was output
      */
     public boolean outputHelp () {
+        output.print(renderHelp());
+        return true;
+    }
+
+    /**
+     * Returns the "help" text as output by {@link #outputHelp()}: the usage,
+     * the options with their help wrapped to the current width, and the help
+     * text.
+     * 
+     * @return the rendered help text
+     */
+    public String renderHelp () {
+        String text = rendered.get(width);
+        if (text == null) {
+            text = buildHelp(width);
+            rendered.put(width, text);
+        }
+        return text;
+    }
+
+    private String buildHelp (int width) {
+        String nl = System.lineSeparator();
         int maxNameLength = 0;
         int maxAltLength = 0;
         int maxArgLength = 0;
@@ -162,11 +238,14 @@ public class ArgHelp {
                 }
             }
         }
-        String nameFormat = maxNameLength == 0 ? "%s" : "%" + maxNameLength + "s";
-        String altFormat =  maxAltLength == 0 ? "%s" : "%-" + maxAltLength + "s";
-        String argFormat = maxArgLength == 0 ? "%s" : "%-" + maxArgLength + "s";
-        outputUsage();
-        System.out.println("Options:");
+        StringBuilder sb = new StringBuilder();
+        if (usageText == null) {
+            usageText = buildUsageText();
+        }
+        if (usageText != null) {
+            sb.append(usageText).append(nl);
+        }
+        sb.append("Options:").append(nl);
         for (ArgOption opt : optionList) {
             String name = opt.getName();
             String altName = opt.getAltName();
@@ -182,28 +261,29 @@ public class ArgHelp {
                     comma = "  ";
                 }
             }
-            StringBuilder sb = new StringBuilder("  ");
-            sb.append(String.format(nameFormat, nDash + name));
+            int start = sb.length();
+            sb.append("  ");
+            padLeft(sb, nDash + name, maxNameLength);
             if (altName != null) {
                 String aDash = altName.length() == 1 ? "-" : "--";
-                sb.append(String.format(altFormat, comma + aDash + altName));
+                padRight(sb, comma + aDash + altName, maxAltLength);
             } else {
-                sb.append(String.format(altFormat, " "));
+                padRight(sb, " ", maxAltLength);
             }
             if (argName != null) {
                 String arg = opt.isArgOptional() ? "[" + argName + "]"
                                                  : "<" + argName + ">";
-                sb.append(String.format(argFormat, arg));
+                padRight(sb, arg, maxArgLength);
             } else {
-                sb.append(String.format(argFormat, " "));
+                padRight(sb, " ", maxArgLength);
             }
             String help = opt.getHelp();
             if (help != null) {
                 String [] parts = help.split("\\s");
-                int slen = 0;
-                int position = sb.length();
+                int slen = start;
+                int position = sb.length() - start;
                 for (String s : parts) {
-                    if ((sb.length() - slen + s.length()) > 80) {
+                    if ((sb.length() - slen + s.length()) > width) {
                         sb.append('\n');
                         slen = sb.length();
                         for (int n = 0; n <= position; n++) {
@@ -215,13 +295,26 @@ public class ArgHelp {
                     sb.append(s);
                 }
             }
-            System.out.println(sb);
+            sb.append(nl);
         }
         if (helpText != null) {
-            System.out.println();
-            System.out.println(helpText);
+            sb.append(nl).append(helpText).append(nl);
+        }
+        return sb.toString();
+    }
+
+    private static void padLeft (StringBuilder sb, String text, int width) {
+        for (int n = text.length(); n < width; n++) {
+            sb.append(' ');
+        }
+        sb.append(text);
+    }
+
+    private static void padRight (StringBuilder sb, String text, int width) {
+        sb.append(text);
+        for (int n = text.length(); n < width; n++) {
+            sb.append(' ');
         }
-        return true;
     }
     
     /**
@@ -233,6 +326,9 @@ public class ArgHelp {
         if (suppressHelp) {
             return false;
         }
+        if (quiet) {
+            return versionText != null;
+        }
         return outputVersion();
     }
     
@@ -245,7 +341,7 @@ public class ArgHelp {
         if (versionText == null) {
             return false;
         }
-        System.out.println(versionText);
+        output.println(versionText);
         return true;
     }
     
@@ -258,6 +354,9 @@ public class ArgHelp {
         if (suppressHelp) {
             return false;
         }
+        if (quiet) {
+            return aboutText != null;
+        }
         return outputAbout();
     }
 
@@ -270,7 +369,7 @@ public class ArgHelp {
         if (aboutText == null) {
             return false;
         }
-        System.out.println(aboutText);
+        output.println(aboutText);
         return true;
     }
     
@@ -284,24 +383,47 @@ public class ArgHelp {
         problemText.add(text);
     }
     
+    /**
+     * Returns the number of problems recorded since the last
+     * {@code initProblems}.
+     * 
+     * @return the number of problems
+     */
+    public int getProblemCount () {
+        return problemText.size();
+    }
+    
+    /**
+     * Returns the text of a recorded problem.
+     * 
+     * @param index the problem index
+     * @return the problem text
+     */
+    public String getProblemText (int index) {
+        return problemText.get(index);
+    }
+    
     public void printProblems () {
+        if (quiet) {
+            return;
+        }
         int size = problemUsage.size();
         if (size == 0) {
-            System.out.println("No help for this problem");
+            output.println("No help for this problem");
             return;
         }
         if (size == 1) {
-            System.out.println("Possible problem:");
+            output.println("Possible problem:");
         } else {
-            System.out.println("Possible problems:");
+            output.println("Possible problems:");
         }
         for (int n = 0; n < size; n++) {
             ArgNode base = problemUsage.get(n);
             String text = problemText.get(n);
             String usageSpec = argList.buildUsageSpec(base);
-            System.out.println("  " + usageSpec);
-            System.out.println("  " + text);
-            System.out.println();
+            output.println("  " + usageSpec);
+            output.println("  " + text);
+            output.println();
         }
     }
     
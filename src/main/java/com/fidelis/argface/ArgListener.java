@@ -0,0 +1,68 @@
+/**
+ *+
+ *  ArgListener.java
+ *	1.0.0	Oct 19, 2026
+ *-
+ */
+package com.fidelis.argface;
+
+/**
+ * Receives the outcome of a parse as a series of events, in place of setting
+ * the program variables. A listener is set with
+ * {@link ArgBase#setListener(ArgListener)}.
+ * <p>
+ * Each usage alternative that is tried and rejected is reported with
+ * {@code onAlternativeRejected}. When an alternative matches, {@code onMatch}
+ * is called first, then {@code onOption} for each option in command line
+ * order, then {@code onOperand} for each operand in command line order. Only
+ * the matching alternative reports options and operands, so nothing needs to
+ * be undone by the listener. No events are given by
+ * {@link ArgBase#validate(String[])}.
+ * <p>
+ * Every method has an empty default, so a listener overrides only the events
+ * it needs.
+ *
+ * @version 1.0.0
+ *
+ */
+public interface ArgListener {
+
+    /**
+     * Called when a usage alternative matches the command line.
+     *
+     * @param usage the usage text of the matching alternative
+     * @param pattern the matching operand pattern
+     */
+    public default void onMatch (String usage, String pattern) {
+    }
+
+    /**
+     * Called for each occurrence of an option on the command line.
+     *
+     * @param option the option
+     * @param value the option argument or null if there is none
+     */
+    public default void onOption (ArgOption option, String value) {
+    }
+
+    /**
+     * Called for each operand on the command line. A repeating operand is
+     * reported once for each value, unless it has a consumer, which then
+     * receives the values alone.
+     *
+     * @param operand the operand
+     * @param value the operand value
+     */
+    public default void onOperand (ArgOperand operand, String value) {
+    }
+
+    /**
+     * Called when a usage alternative does not match the command line.
+     *
+     * @param usage the usage text of the alternative
+     * @param reason the first problem found or null
+     */
+    public default void onAlternativeRejected (String usage, String reason) {
+    }
+
+}
@@ -0,0 +1,283 @@
+/**
+ *+
+ *  ArgMetrics.java
+ *	1.0.0	Oct 19, 2026
+ *-
+ */
+package com.fidelis.argface;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Parse metrics. Counts events and records the time spent in each phase of
+ * parsing, with a latency histogram per phase. All updates are atomic, so
+ * one {@code ArgMetrics} may be shared by several ArgFace instances and
+ * threads. Metrics are collected only when an instance has been given an
+ * {@code ArgMetrics} with {@link ArgFace#setMetrics(ArgMetrics)}.
+ * <p>
+ * Histogram bucket {@code n} counts the phases that took less than
+ * 2<sup>n</sup> nanoseconds and not less than 2<sup>n-1</sup>.
+ *
+ * @version 1.0.0
+ *
+ */
+public class ArgMetrics {
+
+    /** Phase: parsing the usage text */
+    public static final int PARSE_USAGE     = 0;
+
+    /** Phase: preparing a parsed usage for the first command line */
+    public static final int PRE_PARSE       = 1;
+
+    /** Phase: applying the options to a usage alternative */
+    public static final int PARSE_ARG_ONE   = 2;
+
+    /** Phase: matching the operands to a usage alternative */
+    public static final int MATCH_USAGE     = 3;
+
+    /** Phase: setting the program variables */
+    public static final int SET_VARIABLES   = 4;
+
+    /** Number of phases */
+    public static final int PHASES          = 5;
+
+    /** Counter: command lines parsed */
+    public static final int PARSES          = 0;
+
+    /** Counter: command lines that failed to parse */
+    public static final int FAILURES        = 1;
+
+    /** Counter: usage alternatives tried */
+    public static final int ALTERNATIVES    = 2;
+
+    /** Counter: operand patterns enumerated */
+    public static final int PATTERNS        = 3;
+
+    /** Counter: parse attempts discarded */
+    public static final int RESETS          = 4;
+
+    /** Counter: options and operands reset by discarded attempts */
+    public static final int RESET_ENTRIES   = 5;
+
+    /** Counter: options and operands bound to program variables */
+    public static final int BINDINGS        = 6;
+
+    /** Number of counters */
+    public static final int COUNTERS        = 7;
+
+    /** Number of histogram buckets per phase */
+    public static final int BUCKETS         = 64;
+
+    private static final String [] PHASE_NAMES = {
+        "parseUsage", "preParse", "parseArgOne", "matchUsage",
+        "setProgramVariables"
+    };
+
+    private static final String [] COUNTER_NAMES = {
+        "parses", "failures", "alternatives", "patterns", "resets",
+        "resetEntries", "bindings"
+    };
+
+    private final AtomicLongArray counters   = new AtomicLongArray(COUNTERS);
+    private final AtomicLongArray phaseCount = new AtomicLongArray(PHASES);
+    private final AtomicLongArray phaseNanos = new AtomicLongArray(PHASES);
+    private final AtomicLongArray histogram  = new AtomicLongArray(PHASES * BUCKETS);
+
+    /**
+     * Adds to a counter.
+     *
+     * @param counter the counter index
+     * @param amount the amount to add
+     */
+    public void count (int counter, long amount) {
+        counters.addAndGet(counter, amount);
+    }
+
+    /**
+     * Records the time taken by one occurrence of a phase.
+     *
+     * @param phase the phase index
+     * @param nanos the elapsed time in nanoseconds
+     */
+    public void record (int phase, long nanos) {
+        phaseCount.incrementAndGet(phase);
+        phaseNanos.addAndGet(phase, nanos);
+        histogram.incrementAndGet(phase * BUCKETS + bucket(nanos));
+    }
+
+    /**
+     * Records the time since {@code start} for a phase.
+     *
+     * @param phase the phase index
+     * @param start the {@code System.nanoTime} value when the phase began
+     */
+    public void recordSince (int phase, long start) {
+        record(phase, System.nanoTime() - start);
+    }
+
+    /**
+     * Clears all counters and histograms.
+     */
+    public void reset () {
+        for (int n = 0; n < COUNTERS; n++) {
+            counters.set(n, 0);
+        }
+        for (int n = 0; n < PHASES; n++) {
+            phaseCount.set(n, 0);
+            phaseNanos.set(n, 0);
+        }
+        for (int n = 0; n < PHASES * BUCKETS; n++) {
+            histogram.set(n, 0);
+        }
+    }
+
+    /**
+     * Returns a copy of the current values. Updates made while the copy is
+     * taken may or may not be included.
+     *
+     * @return a snapshot of the metrics
+     */
+    public Snapshot snapshot () {
+        long [] c = new long [COUNTERS];
+        for (int n = 0; n < COUNTERS; n++) {
+            c[n] = counters.get(n);
+        }
+        long [] pc = new long [PHASES];
+        long [] pn = new long [PHASES];
+        long [][] h = new long [PHASES][BUCKETS];
+        for (int p = 0; p < PHASES; p++) {
+            pc[p] = phaseCount.get(p);
+            pn[p] = phaseNanos.get(p);
+            for (int b = 0; b < BUCKETS; b++) {
+                h[p][b] = histogram.get(p * BUCKETS + b);
+            }
+        }
+        return new Snapshot(c, pc, pn, h);
+    }
+
+    /**
+     * Returns the name of a phase.
+     *
+     * @param phase the phase index
+     * @return the phase name
+     */
+    public static String phaseName (int phase) {
+        return PHASE_NAMES[phase];
+    }
+
+    /**
+     * Returns the name of a counter.
+     *
+     * @param counter the counter index
+     * @return the counter name
+     */
+    public static String counterName (int counter) {
+        return COUNTER_NAMES[counter];
+    }
+
+    private static int bucket (long nanos) {
+        if (nanos <= 0) {
+            return 0;
+        }
+        return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(nanos));
+    }
+
+    /**
+     * An unchanging copy of the metrics at one point in time.
+     */
+    public static class Snapshot {
+        private final long []   counters;
+        private final long []   phaseCount;
+        private final long []   phaseNanos;
+        private final long [][] histogram;
+
+        private Snapshot (long [] counters, long [] phaseCount,
+                long [] phaseNanos, long [][] histogram) {
+            this.counters = counters;
+            this.phaseCount = phaseCount;
+            this.phaseNanos = phaseNanos;
+            this.histogram = histogram;
+        }
+
+        /**
+         * Returns the value of a counter.
+         *
+         * @param counter the counter index
+         * @return the counter value
+         */
+        public long getCount (int counter) {
+            return counters[counter];
+        }
+
+        /**
+         * Returns the number of times a phase was recorded.
+         *
+         * @param phase the phase index
+         * @return the number of occurrences
+         */
+        public long getPhaseCount (int phase) {
+            return phaseCount[phase];
+        }
+
+        /**
+         * Returns the total time spent in a phase.
+         *
+         * @param phase the phase index
+         * @return the total time in nanoseconds
+         */
+        public long getPhaseNanos (int phase) {
+            return phaseNanos[phase];
+        }
+
+        /**
+         * Returns a copy of the latency histogram for a phase.
+         *
+         * @param phase the phase index
+         * @return the bucket counts
+         */
+        public long [] getHistogram (int phase) {
+            return histogram[phase].clone();
+        }
+
+        /**
+         * Returns an upper bound for the given percentile of a phase's
+         * latency, taken from the histogram.
+         *
+         * @param phase the phase index
+         * @param percent the percentile, from 0 to 100
+         * @return the latency bound in nanoseconds, or 0 if none recorded
+         */
+        public long getPercentile (int phase, double percent) {
+            long total = phaseCount[phase];
+            if (total == 0) {
+                return 0;
+            }
+            long target = (long) Math.ceil(total * percent / 100.0);
+            long seen = 0;
+            for (int b = 0; b < BUCKETS; b++) {
+                seen += histogram[phase][b];
+                if (seen >= target && seen > 0) {
+                    return b == 0 ? 0 : 1L << Math.min(b, 62);
+                }
+            }
+            return Long.MAX_VALUE;
+        }
+
+        @Override
+        public String toString () {
+            StringBuilder sb = new StringBuilder();
+            for (int n = 0; n < counters.length; n++) {
+                sb.append(String.format("%-20s %d%n", counterName(n),
+                        counters[n]));
+            }
+            for (int p = 0; p < phaseCount.length; p++) {
+                long count = phaseCount[p];
+                long mean = count == 0 ? 0 : phaseNanos[p] / count;
+                sb.append(String.format("%-20s %d x %d ns, p99 < %d ns%n",
+                        phaseName(p), count, mean, getPercentile(p, 99)));
+            }
+            return sb.toString();
+        }
+    }
+
+}
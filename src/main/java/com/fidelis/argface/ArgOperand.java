@@ -9,6 +9,7 @@ package com.fidelis.argface;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Defines an argument operand.
@@ -31,9 +32,14 @@ public class ArgOperand {
     private boolean         repeat;
     private boolean         repeatList;
     private List<String>     list;
+    private Consumer<String> consumer;
+    private Class<?>         valueType;
+    private Object           converted;
     private boolean          has;
     private String           value;
     private int              count;
+    private int              valueStart = -1;
+    private int              valueEnd = -1;
 
     /**
      * Creates a new {@code ArgOperand}.
@@ -213,6 +219,97 @@ public class ArgOperand {
         this.list = list;
     }
     
+    /**
+     * Returns the type the operand value is converted to, or null when the
+     * variable takes the text.
+     * 
+     * @return the value type or null
+     * @see ArgConvert
+     */
+    public Class<?> getValueType () {
+        return valueType;
+    }
+
+    /**
+     * Sets the type the operand value is converted to.
+     * 
+     * @param valueType the value type or null
+     */
+    public void setValueType (Class<?> valueType) {
+        this.valueType = valueType;
+    }
+
+    /**
+     * Returns the converted operand value.
+     * 
+     * @return the converted value or null
+     */
+    public Object getConverted () {
+        return converted;
+    }
+
+    /**
+     * Sets the converted operand value.
+     * 
+     * @param converted the converted value
+     */
+    public void setConverted (Object converted) {
+        this.converted = converted;
+    }
+
+    /**
+     * Returns the consumer of the values of this repeating operand.
+     * 
+     * @return the consumer or null
+     */
+    public Consumer<String> getConsumer () {
+        return consumer;
+    }
+
+    /**
+     * Sets a consumer for the values of this repeating operand. When a usage
+     * matches, each value is given to the consumer in command line order
+     * when the program variables are set. The values are taken from the
+     * non option list and are not collected in the operand list.
+     * 
+     * @param consumer the consumer or null
+     */
+    public void setConsumer (Consumer<String> consumer) {
+        this.consumer = consumer;
+    }
+
+    /**
+     * Returns the index in the non option list of the first value of this
+     * operand left there for its consumer.
+     * 
+     * @return the index or -1 if there is none
+     */
+    public int getValueStart () {
+        return valueStart;
+    }
+
+    /**
+     * Returns the index in the non option list following the last value of
+     * this operand left there for its consumer.
+     * 
+     * @return the index or -1 if there is none
+     */
+    public int getValueEnd () {
+        return valueEnd;
+    }
+
+    /**
+     * Sets the range of the non option list holding the values of this
+     * operand for its consumer.
+     * 
+     * @param valueStart the index of the first value or -1 for none
+     * @param valueEnd the index following the last value or -1 for none
+     */
+    public void setValueRange (int valueStart, int valueEnd) {
+        this.valueStart = valueStart;
+        this.valueEnd = valueEnd;
+    }
+
     /**
      * Adds a new String to the operand list.
      * 
@@ -298,6 +395,9 @@ public class ArgOperand {
         has = false;
         value = null;
         count = 0;
+        converted = null;
+        valueStart = -1;
+        valueEnd = -1;
         if (list != null) {
             list.clear();
         }
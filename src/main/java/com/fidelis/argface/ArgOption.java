@@ -9,6 +9,7 @@ package com.fidelis.argface;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Command Line Arguments Option Class. This class contains all of the
@@ -62,6 +63,9 @@ public class ArgOption implements Comparable<ArgOption> {
     private boolean      repeat;
     private boolean      repeatList;
     private List<String> list;
+    private Consumer<String> consumer;
+    private Class<?>     valueType;
+    private Object       converted;
     private String       help;
 
     /**
@@ -518,6 +522,64 @@ public class ArgOption implements Comparable<ArgOption> {
         return list;
     }
 
+    /**
+     * Returns the type the option argument is converted to, or null when the
+     * variable takes the text.
+     * 
+     * @return the value type or null
+     * @see ArgConvert
+     */
+    public Class<?> getValueType () {
+        return valueType;
+    }
+
+    /**
+     * Sets the type the option argument is converted to.
+     * 
+     * @param valueType the value type or null
+     */
+    public void setValueType (Class<?> valueType) {
+        this.valueType = valueType;
+    }
+
+    /**
+     * Returns the converted option argument.
+     * 
+     * @return the converted value or null
+     */
+    public Object getConverted () {
+        return converted;
+    }
+
+    /**
+     * Sets the converted option argument.
+     * 
+     * @param converted the converted value
+     */
+    public void setConverted (Object converted) {
+        this.converted = converted;
+    }
+
+    /**
+     * Returns the consumer of the values of this repeating option argument.
+     * 
+     * @return the consumer or null
+     */
+    public Consumer<String> getConsumer () {
+        return consumer;
+    }
+
+    /**
+     * Sets a consumer for the values of this repeating option argument. When
+     * a usage matches, each value is given to the consumer in command line
+     * order instead of the option argument variable being set.
+     * 
+     * @param consumer the consumer or null
+     */
+    public void setConsumer (Consumer<String> consumer) {
+        this.consumer = consumer;
+    }
+
     /**
      * Adds a {@code String} to the list of argument values.
      * 
@@ -555,6 +617,7 @@ public class ArgOption implements Comparable<ArgOption> {
         count = 0;
         argValue = null;
         argSet = false;
+        converted = null;
         if (list != null) {
             list.clear();
         }
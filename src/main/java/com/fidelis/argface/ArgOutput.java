@@ -0,0 +1,178 @@
+/**
+ *+
+ *  ArgOutput.java
+ *	1.0.0	Oct 19, 2026
+ *-
+ */
+package com.fidelis.argface;
+
+import java.io.Flushable;
+import java.io.IOException;
+
+/**
+ * The output of an ArgFace instance: usage, help, problems, reports and
+ * error messages. There are two channels, "out" and "err", each written to
+ * an {@code Appendable}. Without one, a channel goes to {@code System.out} or
+ * {@code System.err} as they are when the text is written.
+ * <p>
+ * Between {@link #begin()} and the matching {@link #end()} text is collected
+ * and written at the end, with one call for each run of text to the same
+ * channel, so "out" and "err" text still appear in the order given. ArgFace
+ * brackets each parse, each usage compile and each report in this way.
+ * Outside of them, text is written as soon as it is given.
+ *
+ * @version 1.0.0
+ *
+ */
+public class ArgOutput {
+    private static final String NL = System.lineSeparator();
+
+    private Appendable    out;
+    private Appendable    err;
+    private boolean       discard;
+    private int           depth;
+    private StringBuilder buffer = new StringBuilder();
+    private boolean       bufferErr;
+
+    /**
+     * Creates output to {@code System.out} and {@code System.err}.
+     */
+    public ArgOutput () {
+    }
+
+    /**
+     * Creates output to the given channels.
+     *
+     * @param out the "out" channel or null for {@code System.out}
+     * @param err the "err" channel or null for {@code System.err}
+     */
+    public ArgOutput (Appendable out, Appendable err) {
+        this.out = out;
+        this.err = err;
+    }
+
+    /**
+     * Creates output that is thrown away.
+     *
+     * @return output that writes nothing
+     */
+    public static ArgOutput discard () {
+        ArgOutput output = new ArgOutput();
+        output.discard = true;
+        return output;
+    }
+
+    /**
+     * Sets the "out" channel.
+     *
+     * @param out the "out" channel or null for {@code System.out}
+     */
+    public void setOut (Appendable out) {
+        this.out = out;
+    }
+
+    /**
+     * Sets the "err" channel.
+     *
+     * @param err the "err" channel or null for {@code System.err}
+     */
+    public void setErr (Appendable err) {
+        this.err = err;
+    }
+
+    /**
+     * Starts collecting text. Calls may be nested.
+     */
+    public void begin () {
+        depth++;
+    }
+
+    /**
+     * Ends the matching {@link #begin()}. At the outermost level, the text
+     * collected is written.
+     */
+    public void end () {
+        if (depth > 0 && --depth == 0) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes text to the "out" channel.
+     *
+     * @param text the text
+     */
+    public void print (String text) {
+        channel(false).append(text);
+        written();
+    }
+
+    /**
+     * Writes a line to the "out" channel.
+     *
+     * @param text the text of the line
+     */
+    public void println (Object text) {
+        channel(false).append(text).append(NL);
+        written();
+    }
+
+    /**
+     * Writes an empty line to the "out" channel.
+     */
+    public void println () {
+        println("");
+    }
+
+    /**
+     * Writes a line to the "err" channel.
+     *
+     * @param text the text of the line
+     */
+    public void errorln (Object text) {
+        channel(true).append(text).append(NL);
+        written();
+    }
+
+    /**
+     * Writes the text collected so far.
+     */
+    public void flush () {
+        if (buffer.length() == 0) {
+            return;
+        }
+        Appendable channel = bufferErr ? (err != null ? err : System.err)
+                                       : (out != null ? out : System.out);
+        try {
+            if (! discard) {
+                channel.append(buffer);
+                if (channel instanceof Flushable) {
+                    ((Flushable) channel).flush();
+                }
+            }
+        } catch (IOException e) {
+            // Output is best effort, as with System.out.
+        } finally {
+            buffer.setLength(0);
+        }
+    }
+
+    /**
+     * Returns the buffer for a channel, first writing any text collected for
+     * the other channel.
+     */
+    private StringBuilder channel (boolean toErr) {
+        if (toErr != bufferErr) {
+            flush();
+            bufferErr = toErr;
+        }
+        return buffer;
+    }
+
+    private void written () {
+        if (depth == 0) {
+            flush();
+        }
+    }
+
+}
@@ -33,6 +33,16 @@ public class ArgParseUsage {
     private List<ArgOperand>     varList    = new ArrayList<ArgOperand>();
     private List<ArgOperand>     litList    = new ArrayList<ArgOperand>();
     private List<ArgOption>      optionList = new ArrayList<ArgOption>();
+    private ArgTrace             tracer     = new ArgTrace();
+    
+    /**
+     * Sets the diagnostic output for this parser.
+     * 
+     * @param tracer the diagnostic output
+     */
+    public void setTrace (ArgTrace tracer) {
+        this.tracer = tracer;
+    }
     
     /**
      * Parses the specified usage text.
@@ -41,7 +51,7 @@ public class ArgParseUsage {
      * @return {@code true} if successful
      */
     public boolean parse (String usage) {
-        Debug.trace(usage);
+        tracer.trace(usage);
         boolean status = true;
         source = new TokenString(usage, delimiters);
         argList = new ArgList();
@@ -74,17 +84,16 @@ public class ArgParseUsage {
             return false;
         }
         for (ArgOperand operand : varList) {
-            Debug.trace("np var operand: " + operand);
+            tracer.trace("np var operand: ", operand);
         }
         for (ArgOperand operand : litList) {
-            Debug.trace("np lit operand: " + operand);
+            tracer.trace("np lit operand: ", operand);
         }
         for (ArgOption option : optionList) {
-            Debug.trace("np     option:  " + option);
+            tracer.trace("np     option:  ", option);
         }
-        Debug.trace(argList.toString());
-        String u = argList.buildUsage();
-        Debug.trace(u);
+        tracer.trace(argList::toString);
+        tracer.trace(argList::buildUsage);
         return status;
     }
     
@@ -141,7 +150,7 @@ public class ArgParseUsage {
         // Loop until no more tokens.
         while (token != null) {
         	
-            Debug.trace("Token: " + token);
+            tracer.trace("Token: ", token);
             
         	// Stop if program name signals another usage.
         	if (token.equals(programName)) {
@@ -158,7 +167,7 @@ public class ArgParseUsage {
                 optionalDepth++;
                 if (optionalDepth == 1) {
                     token = source.next();
-                    Debug.trace("token: " + token);
+                    tracer.trace("token: ", token);
                     if (token.equalsIgnoreCase("options")) {
                         token = source.next();
                         if (token.equals("]")) {
@@ -244,14 +253,14 @@ public class ArgParseUsage {
     }
     
     private boolean parseOptionsSection () {
-        Debug.trace("parse Options section...");
+        tracer.trace("parse Options section...");
         // Get next token. Colon is optional.
         String token = source.next();
         if (token.equals(":")) {
             token = source.next();
         }
         while (token != null) {
-            Debug.trace("Token: " + token);
+            tracer.trace("Token: ", token);
             
             // Dash.
             if (token.equals("-")) {
@@ -273,7 +282,7 @@ public class ArgParseUsage {
         // Get the full name.
         String name = fullName();
         
-        Debug.trace("var operand: " + name);
+        tracer.trace("var operand: ", name);
         
         // Check for end of variable - close angle bracket.
         String token = source.next();
@@ -329,7 +338,7 @@ public class ArgParseUsage {
         }
         
         // Letter group.
-        Debug.trace("single dash: " + token);
+        tracer.trace("single dash: ", token);
         if (token.length() > 1) {
             return letterGroup(token);
         }
@@ -368,11 +377,11 @@ public class ArgParseUsage {
         
         // Get full name.
         String name = fullName();
-        Debug.trace("double dash: " + name);
+        tracer.trace("double dash: ", name);
         
         // If option definition format, add alternate name.
         if (optionDefForm) {
-            Debug.trace("option def format");
+            tracer.trace("option def format");
             optionDefForm = false;
             option.setAltName(name);
             option.setSpec(3);
@@ -535,7 +544,7 @@ public class ArgParseUsage {
             return false;
         }
         
-        Debug.trace("parse option: " + name);
+        tracer.trace("parse option: ", name);
         
         // If not existing option, create a new one.
         newOption = false;
@@ -600,7 +609,7 @@ public class ArgParseUsage {
                 return false;
             }
         }
-        Debug.trace("second option name: " + name);
+        tracer.trace("second option name: ", name);
         
         // If second name does not exist, set alternate name.
         ArgOption opt = findOption(name);
@@ -687,7 +696,7 @@ public class ArgParseUsage {
             }
             help += token;
         }
-        Debug.trace("Help text: " + help);
+        tracer.trace("Help text: ", help);
         option.setHelp(help);
         ts.setTrimSpaces(true);
         ts.setFilterLineBreaks(true);
@@ -9,7 +9,12 @@ package com.fidelis.argface;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * ArgFace Pattern Generation and Matching.
@@ -23,6 +28,7 @@ public class ArgPattern {
     private ArgList           argList;
     private List<String>      nonOptionList;
     private boolean           patternWatch;
+    private boolean           feedConsumers;
     private String            patternMatch;
     private ArgHelp           help;
 
@@ -39,6 +45,39 @@ public class ArgPattern {
     private int               patternMax;
 
     private List<ArgOperand>  targetOperands = new ArrayList<ArgOperand>();
+
+    /** Maximum number of operand shapes remembered */
+    private static final int  SHAPE_CACHE_SIZE = 256;
+
+    private Map<String, Integer>  literalIndex = new HashMap<String, Integer>();
+    private List<String>          literals     = new ArrayList<String>();
+    private boolean               foldable     = true;
+    private Map<ArgNode, Integer> usageIndex   = new IdentityHashMap<ArgNode, Integer>();
+    private Map<String, Shape>    shapeCache   = new LinkedHashMap<String, Shape>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry (Map.Entry<String, Shape> eldest) {
+            return size() > SHAPE_CACHE_SIZE;
+        }
+    };
+    private String            shape;
+    private int               patternCount;
+    private ArgTrace          tracer         = new ArgTrace();
+    private ArgOutput         output         = new ArgOutput();
+
+    /**
+     * The outcome of matching one usage alternative against one operand
+     * shape: the number of non options and the literal, if any, that each
+     * one equals. Nothing else about the non options affects the match.
+     */
+    private static class Shape {
+        private boolean       found;
+        private String        pattern;
+        private String        patternMatch;
+        private List<ArgNode> patternList;
+        private int           patternMin;
+    }
     
     /**
      * Sets the reference to the {@code ArgHelp} object.
@@ -49,15 +88,62 @@ public class ArgPattern {
     	this.help = help;
     }
     
+    /**
+     * Sets the diagnostic output for pattern matching.
+     * 
+     * @param tracer the diagnostic output
+     */
+    public void setTrace (ArgTrace tracer) {
+        this.tracer = tracer;
+    }
+    
     /**
      * Sets the arguments list.
      * 
      * @param argList the argument list
      */
     public void setArgList (ArgList argList) {
+        if (argList != this.argList) {
+            usageIndex.clear();
+            shapeCache.clear();
+        }
         this.argList = argList;
     }
 
+    /**
+     * Sets the literal operand list. Non options are classified by the
+     * literal they equal, ignoring case as {@link #match(String)} does, to
+     * form the key of the match cache.
+     * 
+     * @param litList the literal operand list
+     */
+    public void setLitList (List<ArgOperand> litList) {
+        literalIndex.clear();
+        literals.clear();
+        usageIndex.clear();
+        shapeCache.clear();
+        foldable = true;
+        for (ArgOperand operand : litList) {
+            String name = fold(operand.getName());
+            if (name == null) {
+                foldable = false;
+                return;
+            }
+            if (! literalIndex.containsKey(name)) {
+                literalIndex.put(name, literals.size());
+                literals.add(operand.getName());
+            }
+        }
+    }
+
+    /**
+     * Discards the operand shape of the previous command line. Called once
+     * for each command line before any usage alternative is matched.
+     */
+    public void resetShape () {
+        shape = null;
+    }
+
     /**
      * Sets the non option list.
      * 
@@ -67,6 +153,17 @@ public class ArgPattern {
         this.nonOptionList = nonOptionList;
     }
 
+    /**
+     * Sets whether the values of a repeating operand with a consumer are left
+     * in the non option list for the consumer rather than collected in the
+     * operand list.
+     * 
+     * @param feedConsumers {@code true} to leave the values in place
+     */
+    public void setFeedConsumers (boolean feedConsumers) {
+        this.feedConsumers = feedConsumers;
+    }
+
     /**
      * Sets the pattern watch operating mode.
      * 
@@ -75,7 +172,16 @@ public class ArgPattern {
     public void setPatternWatch (boolean patternWatch) {
         this.patternWatch = patternWatch;
     }
-    
+
+    /**
+     * Sets the output that "patternWatch" lines are written to.
+     * 
+     * @param output the output
+     */
+    public void setOutput (ArgOutput output) {
+        this.output = output;
+    }
+
     /**
      * Returns the target operands list.
      * 
@@ -85,6 +191,15 @@ public class ArgPattern {
         return targetOperands;
     }
     
+    /**
+     * Returns the number of patterns tried by the last match.
+     * 
+     * @return the number of patterns tried
+     */
+    public int getPatternCount () {
+        return patternCount;
+    }
+    
     /**
      * Returns the matching pattern text.
      * 
@@ -101,6 +216,8 @@ public class ArgPattern {
      * @return {@code true} if a match is found
      */
     public boolean matchUsage (ArgNode usageNode) {
+        targetOperands.clear();
+        patternCount = 0;
         
         // Get the number of operands.
         // If zero, return success.
@@ -109,26 +226,61 @@ public class ArgPattern {
             return true;
         }
         
-        // Pattern loop.
+        // Known shape for this usage.
+        // Repeat the outcome without searching the patterns.
         patternMatch = null;
+        String key = null;
+        if (! patternWatch) {
+            key = shapeKey(usageNode);
+        }
+        if (key != null) {
+            Shape known = shapeCache.get(key);
+            if (known != null) {
+                trace("shape", key);
+                if (known.found) {
+                    patternMatch = known.patternMatch;
+                    patternList.clear();
+                    patternList.addAll(known.patternList);
+                    patternMin = known.patternMin;
+                    addTargetOperands(known.pattern);
+                    return true;
+                }
+                help.addProblem(usageNode, "No matching operand pattern");
+                return false;
+            }
+        }
+        
+        // Pattern loop.
         ArgNode start = usageNode.getEast();
         for (String pat = first(start); pat != null; pat = next(start)) {
             if (pat.isEmpty()) {
                 break;
             }
-            String text = String.format("%d-%d (%d) %-30.30s %s", patternMin,
-                                  patternMax, argCount, patternSpec(pat),
-                                  pat);
-            trace("pattern", text);
+            patternCount++;
+            if (tracer.isTrace()) {
+                String text = String.format("%d-%d (%d) %-30.30s %s", patternMin,
+                                      patternMax, argCount, patternSpec(pat),
+                                      pat);
+                trace("pattern", text);
+            }
             if (patternWatch) {
                 if (patternMin <= argCount && argCount <= patternMax) {
-                    System.out.println("Try pattern: " + patternSpec(pat));
+                    output.println("Try pattern: " + patternSpec(pat));
                 }
             }
             if (match(pat)) {
                 patternMatch = patternSpec(pat);
                 if (patternWatch) {
-                        System.out.println("Pattern match found");
+                        output.println("Pattern match found");
+                }
+                if (key != null) {
+                    Shape known = new Shape();
+                    known.found = true;
+                    known.pattern = pat;
+                    known.patternMatch = patternMatch;
+                    known.patternList = new ArrayList<ArgNode>(patternList);
+                    known.patternMin = patternMin;
+                    shapeCache.put(key, known);
                 }
                 addTargetOperands(pat);
                 return true;
@@ -136,9 +288,78 @@ public class ArgPattern {
                 break;
             }
         }
+        if (key != null) {
+            shapeCache.put(key, new Shape());
+        }
         help.addProblem(usageNode, "No matching operand pattern");
         return false;
     }
+
+    /**
+     * Returns the match cache key for the usage alternative and the current
+     * non options, or null if the shape of the non options can't be known
+     * for certain. The shape part is computed once per command line.
+     */
+    private String shapeKey (ArgNode usageNode) {
+        if (shape == null) {
+            shape = computeShape();
+        }
+        if (shape.isEmpty()) {
+            return null;
+        }
+        Integer usage = usageIndex.get(usageNode);
+        if (usage == null) {
+            usage = usageIndex.size();
+            usageIndex.put(usageNode, usage);
+        }
+        return usage + ":" + shape;
+    }
+    
+    /**
+     * Returns the number of non options and the index of the literal each
+     * one equals, or an empty string if a non option or literal can't be
+     * classified exactly.
+     */
+    private String computeShape () {
+        if (! foldable) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append(nonOptionList.size());
+        for (String arg : nonOptionList) {
+            String name = fold(arg);
+            if (name == null) {
+                return "";
+            }
+            Integer index = literalIndex.get(name);
+            if (index != null && ! arg.equalsIgnoreCase(literals.get(index))) {
+                return "";
+            }
+            sb.append(',');
+            sb.append(index == null ? "-" : index.toString());
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Returns the text with the case of each character folded the way
+     * {@code String.equalsIgnoreCase} compares it, independent of the
+     * default locale. Two strings fold the same exactly when they are equal
+     * ignoring case. Returns null for text with surrogate characters, which
+     * {@code equalsIgnoreCase} does not compare the same way on every
+     * platform.
+     */
+    private static String fold (String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int n = 0; n < text.length(); n++) {
+            char c = text.charAt(n);
+            if (Character.isSurrogate(c)) {
+                return null;
+            }
+            sb.append(Character.toLowerCase(Character.toUpperCase(c)));
+        }
+        return sb.toString();
+    }
     
     private String first (ArgNode start) {
         StringBuilder sb = new StringBuilder();
@@ -162,7 +383,7 @@ public class ArgPattern {
                 if (lastBase == null) {
                     return null;
                 }
-                trace("next no pat", lastFail.brief());
+                trace("next no pat", lastFail::brief);
                 failBase = lastBase;
                 failNode = lastFail;         
                 sb.setLength(0);
@@ -190,13 +411,15 @@ public class ArgPattern {
     
     private boolean match (String pattern) {
         trace("match", pattern);
-        for (ArgNode node : patternList) {
-            if (node == null) {
-                trace("patternList", "null");
-            } else if (node.isOperand()) {
-                trace("patternList", node.toString());
-            } else if (node.isGroup()) {
-                trace("patternList", node.brief());
+        if (tracer.isTrace()) {
+            for (ArgNode node : patternList) {
+                if (node == null) {
+                    trace("patternList", "null");
+                } else if (node.isOperand()) {
+                    trace("patternList", node);
+                } else if (node.isGroup()) {
+                    trace("patternList", node::brief);
+                }
             }
         }
         int argIndex = 0;
@@ -226,7 +449,9 @@ public class ArgPattern {
                     return false;
                 }
                 arg = nonOptionList.get(argIndex++);
-                trace("compare", literal + " to " + arg);
+                if (tracer.isTrace()) {
+                    trace("compare", literal + " to " + arg);
+                }
 
                 // Ignore case. Not a match.
                 if (!arg.equalsIgnoreCase(literal)) {
@@ -295,12 +520,12 @@ public class ArgPattern {
         if (failBase == null) {
             trace("rebuild no base", "none");
         } else {
-            trace("rebuild Base", failBase.brief());
+            trace("rebuild Base", failBase::brief);
         }
         if (failNode == null) {
             trace("rebuild no fail", "none");
         } else {
-            trace("rebuild Fail", failNode.brief());
+            trace("rebuild Fail", failNode::brief);
         }
         boolean showNext = false;
         argList.setCurrent(start);
@@ -308,33 +533,33 @@ public class ArgPattern {
         for (ArgNode node = start; node != null; node = argList.goEast()) {
             if (showNext) {
                 showNext = false;
-                trace("next node", node.brief());
+                trace("next node", node::brief);
             }
             if (node == failBase) {
-                trace("fail Base", failBase.brief());
+                trace("fail Base", failBase::brief);
                 if (failNode == null) {
                     trace("fail Node", "NULL");
                 } else {
-                    trace("fail Node", failNode.brief());
+                    trace("fail Node", failNode::brief);
                 }
                 ArgNode south = failNode.getSouth();
                 if (south != null) {
-                    trace("fail south", south.brief());
+                    trace("fail south", south::brief);
                     if (south.isOperand()) {
                         buildOperand(south, sb, failBase);
                     } else if (south.isGroup()) {
-                        trace("fail group", sb.toString());
+                        trace("fail group", sb);
                         buildGroup(south, sb, true);
                     }
                 }
                 
                 // South is null.
                 else {
-                	trace("south is NULL", failNode.brief());
+                	trace("south is NULL", failNode::brief);
                 	
                 	// Fail node optional?
                     if (failNode.isOptional()) {
-                        trace("end alternatives", sb.toString());
+                        trace("end alternatives", sb);
                         showNext = true;
                         buildBase(failBase, sb);
                         buildReduce(failNode, sb);
@@ -347,7 +572,7 @@ public class ArgPattern {
             // Not the fail base node.
             else {
                if (node.isOperand()) {
-                   trace("not fail base", node.brief());
+                   trace("not fail base", node::brief);
                    operand = node.getOperand();
                    if (operand.isLiteral()) {
                        if (operand.getName().equalsIgnoreCase("options")) {
@@ -357,19 +582,19 @@ public class ArgPattern {
                        lastFail = node;
                        ArgNode prevBase = null;
                        ArgNode prevNode = null;
-                       trace("prevIndex", "" + prevIndex);
+                       trace("prevIndex", prevIndex);
                        if (saveList.size() > prevIndex + 1) {
                            prevBase = saveList.get(prevIndex);
                            prevNode = saveList.get(prevIndex + 1);
                            if (prevBase == null) {
-                               trace("prev Base", null);
+                               trace("prev Base", "null");
                            } else {
-                               trace("prev Base", prevBase.brief());
+                               trace("prev Base", prevBase::brief);
                            }
                            if (prevNode == null) {
-                               trace("prev Node", null);
+                               trace("prev Node", "null");
                            } else {
-                               trace("prev Node", prevNode.brief());
+                               trace("prev Node", prevNode::brief);
                            }
                        }
                        if (prevBase == node) {
@@ -381,7 +606,7 @@ public class ArgPattern {
                        }
                    } else {
                 	   if (node.isOptional()) {
-                		   trace("optional", node.brief());
+                		   trace("optional", node::brief);
                 		   lastBase = node;
                 		   lastFail = node;
                 	   }
@@ -394,7 +619,7 @@ public class ArgPattern {
                    if (saveList.size() > prevIndex) {
                        prevGroup = saveList.get(prevIndex);
                        lastFail = prevGroup;
-                       trace("prev Group", prevGroup.brief());
+                       trace("prev Group", prevGroup::brief);
                    }
                    String pattern = null;
                    if (prevGroup == node) {
@@ -463,7 +688,7 @@ public class ArgPattern {
         boolean ender = false;
         if (operand.getName().equals("$END$")) {
             ender = true;
-            trace("literal end", node.toString());
+            trace("literal end", node);
         }
         patternList.add(node);
         if (ender) {
@@ -494,7 +719,7 @@ public class ArgPattern {
     private void adjustCount (ArgNode node) {
     	++patternMin;
         if (node.isRepeat()) {
-            patternMax = 999;
+            patternMax = Integer.MAX_VALUE;
         }
     }
     
@@ -569,16 +794,17 @@ public class ArgPattern {
         int argIndex = 0;
         String arg = null;
         ArgNode node = null;
-        Debug.trace("PATTERN: " + pattern);
+        tracer.trace("PATTERN: ", pattern);
+        int nodeIndex = 0;
         for (int n = 0; n < pattern.length(); n++) {
             node = null;
             char c = pattern.charAt(n);
             if (c == 'L') {
-                node = patternList.remove(0);
+                node = patternList.get(nodeIndex++);
             } else if (c == 'V') {
-                node = patternList.remove(0);
+                node = patternList.get(nodeIndex++);
             } else if (c == 'b' || c == 'x' || c == 'g') {
-                patternList.remove(0);
+                ++nodeIndex;
             }
             if (node != null) {
                 ArgOperand operand = node.getOperand();
@@ -589,28 +815,32 @@ public class ArgPattern {
                         while (argsLeft >= operandsLeft) {
                             --argsLeft;
                             arg = nonOptionList.get(argIndex++);
-                            Debug.trace(String.format("rep: %15.15s -> %s",
-                                    arg, operand));
-                            takeOperand(operand, arg);
+                            if (tracer.isTrace()) {
+                                tracer.trace(String.format("rep: %15.15s -> %s",
+                                        arg, operand));
+                            }
+                            takeOperand(operand, arg, argIndex - 1);
                         }
                     } else {
                         arg = nonOptionList.get(argIndex++);
-                        Debug.trace(String.format("arg: %15.15s -> %s", arg,
-                                operand));
-                        takeOperand(operand, arg);
+                        if (tracer.isTrace()) {
+                            tracer.trace(String.format("arg: %15.15s -> %s", arg,
+                                    operand));
+                        }
+                        takeOperand(operand, arg, argIndex - 1);
                     }
                 }
             }
         }
     }
 
-    private boolean takeOperand (ArgOperand operand, String arg) {
+    private boolean takeOperand (ArgOperand operand, String arg, int argIndex) {
         if (operand.isVariable()) {
             operand.setHas(true);
             operand.setValue(arg);
             operand.setCount(operand.getCount() + 1);
             if (operand.isRepeat()) {
-                operand.addList(arg);
+                takeRepeat(operand, arg, argIndex);
             }
             targetOperands.add(operand);
             return true;
@@ -626,8 +856,37 @@ public class ArgPattern {
         return false;
     }
 
+    /**
+     * Adds a value to a repeating operand. For a consumer the value is left
+     * in the non option list, extending the operand's range, as long as the
+     * values are adjacent; otherwise the values are collected in the list.
+     */
+    private void takeRepeat (ArgOperand operand, String arg, int argIndex) {
+        int start = operand.getValueStart();
+        if (feedConsumers && operand.getConsumer() != null && operand.getList().isEmpty()
+                && (start < 0 || operand.getValueEnd() == argIndex)) {
+            operand.setValueRange(start < 0 ? argIndex : start, argIndex + 1);
+            return;
+        }
+        if (start >= 0) {
+            for (int n = start; n < operand.getValueEnd(); n++) {
+                operand.addList(nonOptionList.get(n));
+            }
+            operand.setValueRange(-1, -1);
+        }
+        operand.addList(arg);
+    }
+
     
-    private void trace (String id, String text) {
-        Debug.trace(String.format("%15.15s : %s", id, text));
+    private void trace (String id, Object text) {
+        if (tracer.isTrace()) {
+            tracer.trace(String.format("%15.15s : %s", id, text));
+        }
+    }
+
+    private void trace (String id, Supplier<String> text) {
+        if (tracer.isTrace()) {
+            tracer.trace(String.format("%15.15s : %s", id, text.get()));
+        }
     }
 }
@@ -29,6 +29,7 @@ public class ArgPrototype extends ArgBase implements ArgFace {
         reflect = new ArgReflect();
         reflect.setPrivateAccess(true);
         common = new ArgCommon(reflect);
+        common.setTrace(getTrace());
     }
     
     /**
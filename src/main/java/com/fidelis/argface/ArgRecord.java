@@ -0,0 +1,364 @@
+/**
+ *+
+ *  ArgRecord.java
+ *	1.0.0	Oct 19, 2026
+ *-
+ */
+package com.fidelis.argface;
+
+import java.beans.ConstructorProperties;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The constructor version of ArgFace. The command line variables are the
+ * parameters of a public constructor, such as the canonical constructor of
+ * a record, and each successful parse builds a new object with one call to
+ * that constructor. The object may be immutable and may be shared between
+ * threads once it is built.
+ * <p>
+ * Parameters are named as the fields of {@link ArgStandard}: an option
+ * {@code debug} is the {@code boolean} parameter {@code debugOption}, its
+ * argument {@code <file>} is the parameter {@code debugFile}, and an operand
+ * {@code <input>} is the parameter {@code inputOperand}. The types are also
+ * those of {@code ArgStandard}, including the types of {@link ArgConvert}.
+ * Parameters with no matching option or operand are given {@code null},
+ * {@code false} or zero.
+ * <p>
+ * The public constructor with the most parameters is used. Its parameter
+ * names are taken from a {@code ConstructorProperties} annotation when there
+ * is one. Otherwise they are read from the class file, where they are always
+ * present for a record and are present for other classes compiled with the
+ * {@code -parameters} option.
+ *
+ * @version 1.0.0
+ *
+ */
+public class ArgRecord<T> extends ArgBase implements ArgFace {
+    private final Class<T>             type;
+    private Class<?> []                paramTypes;
+    private MethodHandle               builder;
+    private Map<String, Integer>       paramIndex = new HashMap<String, Integer>();
+    private Map<Object, Integer>       slots = new IdentityHashMap<Object, Integer>();
+    private Map<ArgOption, Integer>    argSlots = new IdentityHashMap<ArgOption, Integer>();
+    private T                          record;
+
+    /**
+     * Protected constructor.
+     *
+     * @param type the class of the command line variables object
+     */
+    protected ArgRecord (Class<T> type) {
+        this.type = type;
+    }
+
+    /**
+     * Creates a new {@code ArgRecord} instance with the supplied usage
+     * specification text and command line variables class.
+     *
+     * @param usageText the usage specification text as a String
+     * @param type the class of the command line variables object
+     * @return a new {@code ArgRecord} instance or null on failure
+     */
+    public static <T> ArgRecord<T> create (String usageText, Class<T> type) {
+        ArgRecord<T> instance = new ArgRecord<T>(type);
+        instance.setUsageText(usageText);
+        if (instance.parseUsage(type)) {
+            return instance;
+        }
+        return null;
+    }
+
+    /**
+     * Creates a new {@code ArgRecord} instance with the supplied usage
+     * specification text and command line variables class.
+     *
+     * @param usageText the usage specification text as an array of Strings
+     * @param type the class of the command line variables object
+     * @return a new {@code ArgRecord} instance or null on failure
+     */
+    public static <T> ArgRecord<T> create (String [] usageText, Class<T> type) {
+        ArgRecord<T> instance = new ArgRecord<T>(type);
+        instance.setUsageText(usageText);
+        if (instance.parseUsage(type)) {
+            return instance;
+        }
+        return null;
+    }
+
+    private boolean parseUsage (Class<T> type) {
+        setProgramName(type.getSimpleName());
+        if (! findConstructor()) {
+            return false;
+        }
+        return parseUsage();
+    }
+
+    /**
+     * Finds the constructor and prepares a handle that takes its arguments
+     * as one array.
+     */
+    private boolean findConstructor () {
+        Constructor<?> constructor = null;
+        for (Constructor<?> c : type.getConstructors()) {
+            if (constructor == null
+                    || c.getParameterCount() > constructor.getParameterCount()) {
+                constructor = c;
+            }
+        }
+        if (constructor == null) {
+            ArgUtil.printError("No public constructor for " + type.getName());
+            return false;
+        }
+        ConstructorProperties properties = constructor.getAnnotation(ConstructorProperties.class);
+        Parameter [] params = constructor.getParameters();
+        for (int n = 0; n < params.length; n++) {
+            if (properties != null) {
+                paramIndex.put(properties.value()[n], n);
+            } else if (params[n].isNamePresent()) {
+                paramIndex.put(params[n].getName(), n);
+            } else {
+                ArgUtil.printError("No parameter names for " + type.getName());
+                return false;
+            }
+        }
+        paramTypes = constructor.getParameterTypes();
+        try {
+            MethodHandle handle = MethodHandles.publicLookup().unreflectConstructor(constructor);
+            builder = handle.asType(handle.type().changeReturnType(Object.class))
+                    .asSpreader(Object[].class, paramTypes.length);
+        } catch (IllegalAccessException e) {
+            ArgUtil.printError("Can't access constructor for " + type.getName());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Parses the command line arguments and builds a new command line
+     * variables object.
+     *
+     * @param args the command line arguments
+     * @return the argument index of the first operand or a negative value on error
+     * @see com.fidelis.argface.ArgFace#parse(java.lang.String[])
+     */
+    public int parse (String [] args) {
+        record = null;
+        return parseArguments(args);
+    }
+
+    /**
+     * Parses the command line arguments and returns the object built.
+     *
+     * @param args the command line arguments
+     * @return the new command line variables object or null on error
+     */
+    public T parseRecord (String [] args) {
+        if (parse(args) < 0) {
+            return null;
+        }
+        return record;
+    }
+
+    /**
+     * Returns the object built by the last successful parse.
+     *
+     * @return the command line variables object or null
+     */
+    public T getRecord () {
+        return record;
+    }
+
+    private Integer findParam (String name, Class<?> ... types) {
+        Integer index = paramIndex.get(name);
+        if (index == null) {
+            return null;
+        }
+        Class<?> paramType = paramTypes[index];
+        for (Class<?> c : types) {
+            if (paramType == c) {
+                return index;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds a parameter for a value or for the values of a repeating
+     * argument. Sets the value type when the value must be converted.
+     */
+    private Integer findValueParam (String name, boolean repeat, Object target) {
+        Integer index = repeat ? findParam(name, String[].class, List.class)
+                : findParam(name, String.class);
+        if (index != null) {
+            return index;
+        }
+        index = paramIndex.get(name);
+        if (index == null) {
+            return null;
+        }
+        Class<?> paramType = paramTypes[index];
+        if (paramType.isArray() != repeat || ! ArgConvert.getInstance().canConvert(paramType)) {
+            return null;
+        }
+        if (target instanceof ArgOperand) {
+            ((ArgOperand) target).setValueType(paramType);
+        } else {
+            ((ArgOption) target).setValueType(paramType);
+        }
+        return index;
+    }
+
+    protected String modelGetOperandSuffix () {
+        return "Operand";
+    }
+
+    protected String modelGetOptionSuffix () {
+        return "Option";
+    }
+
+    protected boolean modelPostProcess (ArgOperand operand) {
+        String fieldName = ArgUtil.camelCase(operand.getName())
+                + ArgUtil.getInstance().getOperandSuffix();
+        operand.setFieldName(fieldName);
+        Integer index;
+        if (operand.isLiteral()) {
+            index = findParam(fieldName, boolean.class);
+        } else {
+            index = findValueParam(fieldName, operand.isRepeat(), operand);
+        }
+        if (index == null) {
+            ArgUtil.cantAccess(operand);
+            return false;
+        }
+        slots.put(operand, index);
+        return true;
+    }
+
+    protected boolean modelPostProcess (ArgOption option) {
+        String name = ArgUtil.camelCase(option.getName());
+        String altName = ArgUtil.camelCase(option.getAltName());
+        String optionSuffix = ArgUtil.getInstance().getOptionSuffix();
+        Integer index = findParam(name + optionSuffix, boolean.class);
+        if (index == null && altName != null) {
+            index = findParam(altName + optionSuffix, boolean.class);
+        }
+        if (index != null) {
+            slots.put(option, index);
+        } else if (! option.isCreation()) {
+            ArgUtil.cantAccess(option);
+            return false;
+        }
+        String argName = option.getArgName();
+        if (argName != null) {
+            argName = ArgUtil.camelCase(argName);
+            index = findValueParam(ArgUtil.camelCase(name, argName), option.isRepeat(), option);
+            if (index == null && altName != null) {
+                index = findValueParam(ArgUtil.camelCase(altName, argName),
+                        option.isRepeat(), option);
+            }
+            if (index == null) {
+                ArgUtil.cantAccessArg(option);
+                return false;
+            }
+            argSlots.put(option, index);
+        }
+        return true;
+    }
+
+    protected void modelSetProgramVariables (List<ArgOperand> operands,
+            List<ArgOption> options) {
+        Object [] values = new Object [paramTypes.length];
+        for (int n = 0; n < values.length; n++) {
+            values[n] = defaultValue(paramTypes[n]);
+        }
+        for (ArgOperand operand : operands) {
+            Integer index = slots.get(operand);
+            if (index == null) {
+                continue;
+            }
+            Class<?> paramType = paramTypes[index];
+            if (paramType == boolean.class) {
+                values[index] = operand.has();
+            } else if (operand.getConverted() != null) {
+                values[index] = operand.getConverted();
+            } else if (operand.isRepeat()) {
+                values[index] = listValue(paramType, operand.getList());
+            } else {
+                values[index] = operand.getValue();
+            }
+        }
+        for (ArgOption option : options) {
+            Integer index = slots.get(option);
+            if (index != null) {
+                values[index] = Boolean.TRUE;
+            }
+            index = argSlots.get(option);
+            if (index == null) {
+                continue;
+            }
+            if (option.getConverted() != null) {
+                values[index] = option.getConverted();
+            } else if (option.isRepeat()) {
+                values[index] = listValue(paramTypes[index], option.getList());
+            } else {
+                values[index] = option.getArgValue();
+            }
+        }
+        try {
+            record = type.cast(builder.invokeExact(values));
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Object listValue (Class<?> paramType, List<String> list) {
+        if (list == null) {
+            return null;
+        }
+        if (paramType == List.class) {
+            return new ArrayList<String>(list);
+        }
+        return list.toArray(new String [list.size()]);
+    }
+
+    private static Object defaultValue (Class<?> paramType) {
+        if (! paramType.isPrimitive()) {
+            return null;
+        }
+        if (paramType == boolean.class) {
+            return Boolean.FALSE;
+        }
+        if (paramType == char.class) {
+            return Character.valueOf((char) 0);
+        }
+        if (paramType == long.class) {
+            return Long.valueOf(0);
+        }
+        if (paramType == float.class) {
+            return Float.valueOf(0);
+        }
+        if (paramType == double.class) {
+            return Double.valueOf(0);
+        }
+        if (paramType == byte.class) {
+            return Byte.valueOf((byte) 0);
+        }
+        if (paramType == short.class) {
+            return Short.valueOf((short) 0);
+        }
+        return Integer.valueOf(0);
+    }
+
+}
@@ -10,6 +10,8 @@ import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Command Line Arguments Reflection Class.
@@ -346,6 +348,28 @@ public class ArgReflect {
         return findOneParam(methodName, paramClass);
     }
     
+    /**
+     * Finds the setter {@code Method}s for the named variable, whatever their
+     * parameter type.
+     * 
+     * @param fieldName the name of the variable
+     * @return the setter {@code Method}s, possibly none
+     */
+    public List<Method> findSetters (String fieldName) {
+        String methodName = ArgUtil.camelCase("set", fieldName);
+        List<Method> setters = new ArrayList<Method>();
+        try {
+            for (Method method : objectClass.getMethods()) {
+                if (method.getName().equals(methodName)
+                        && method.getParameterTypes().length == 1) {
+                    setters.add(method);
+                }
+            }
+        } catch (SecurityException e) {
+        }
+        return setters;
+    }
+    
     /**
      * Finds a {@code Method} with one parameter of a given type.
      * 
@@ -445,7 +469,7 @@ public class ArgReflect {
             status = true;
         } catch (IllegalAccessException e) {
         } catch (IllegalArgumentException e) {
-            System.out.println("Method \"" + setter.getName() +
+            ArgUtil.getInstance().getOutput().println("Method \"" + setter.getName() +
                     "\" argument of wrong type. Should be: " +
                     value.getClass().getName());
         } catch (InvocationTargetException e) {
@@ -454,6 +478,23 @@ public class ArgReflect {
         return status;
     }
     
+    /**
+     * Returns the value of a variable by its {@code Field}.
+     * 
+     * @param field the {@code Field} of the variable
+     * @return the value or null
+     */
+    public Object getValue (Field field) {
+        try {
+            return field.get(object);
+        } catch (IllegalArgumentException e) {
+            e.printStackTrace();
+        } catch (IllegalAccessException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+    
     /**
      * Sets the value of a variable by its {@code Field}.
      * 
@@ -34,56 +34,66 @@ public class ArgReport {
 	 * @param base the ArgBase class
 	 */
 	static void report (String selection, ArgBase base) {
+		ArgOutput output = base.getOutput();
+		output.begin();
+		try {
+			report(output, selection, base);
+		} finally {
+			output.end();
+		}
+	}
+
+	private static void report (ArgOutput output, String selection, ArgBase base) {
 		if (selection == null) {
 			return;
 		} else if (selection.equals("all")) {
-			reportAllOptions(base);
-			reportAllOperands(base);
+			reportAllOptions(output, base);
+			reportAllOperands(output, base);
 		} else if (selection.equals("has")) {
-			reportHasOptions(base);
-			reportHasOperands(base);
+			reportHasOptions(output, base);
+			reportHasOperands(output, base);
 		} else if (selection.equals("options")) {
-			reportAllOptions(base);
+			reportAllOptions(output, base);
 		} else if (selection.equals("operands")) {
-			reportAllOperands(base);
+			reportAllOperands(output, base);
 		} else if (selection.equals("has-options")) {
-			reportHasOptions(base);
+			reportHasOptions(output, base);
 		} else if (selection.equals("has-operands")) {
-			reportHasOperands(base);
+			reportHasOperands(output, base);
 		} else {
 			if (base.checkOption(selection)) {
 				ArgOption option = base.findNamedOption(selection);
 				if (option != null) {
-					reportOption(option);
+					reportOption(output, option);
 					return;
 				}
 			}
 			if (base.checkOperand(selection)) {
 				ArgOperand operand = base.findNamedOperand(selection);
 				if (operand != null) {
-					reportOperand(operand);
+					reportOperand(output, operand);
 				}
 			}
 		}
 	}
 	
-	private static void reportAllOptions (ArgBase base) {
+	private static void reportAllOptions (ArgOutput output, ArgBase base) {
 		List<ArgOption> optionList = base.getOptionList();
 		for (ArgOption option : optionList) {
-			reportOption(option);
+			reportOption(output, option);
 		}
 	}
 	
-	private static void reportHasOptions (ArgBase base) {
+	private static void reportHasOptions (ArgOutput output, ArgBase base) {
 		List<ArgOption> optionList = base.getOptionList();
 		for (ArgOption option : optionList) {
 			if (option.has()) {
-				reportOption(option);
+				reportOption(output, option);
 			}
 		}
 	}
 	
-	private static void reportOption (ArgOption option) {
+	private static void reportOption (ArgOutput output, ArgOption option) {
 		StringBuffer sb = new StringBuffer(64);
 		sb.append(option.getText());
 		sb.append(' ');
@@ -132,34 +142,34 @@ public class ArgReport {
 		} else {
 			sb.append("false");
 		}
-		System.out.println(sb);
+		output.println(sb);
 	}
 	
-	private static void reportAllOperands (ArgBase base) {
-		reportAllOperands(base.getLitList());
-		reportAllOperands(base.getVarList());
+	private static void reportAllOperands (ArgOutput output, ArgBase base) {
+		reportAllOperands(output, base.getLitList());
+		reportAllOperands(output, base.getVarList());
 	}
 	
-	private static void reportAllOperands (List<ArgOperand> operandList) {
+	private static void reportAllOperands (ArgOutput output, List<ArgOperand> operandList) {
 		for (ArgOperand operand : operandList) {
-			reportOperand(operand);
+			reportOperand(output, operand);
 		}
 	}
 	
-	private static void reportHasOperands (ArgBase base) {
-		reportHasOperands(base.getLitList());
-		reportHasOperands(base.getVarList());
+	private static void reportHasOperands (ArgOutput output, ArgBase base) {
+		reportHasOperands(output, base.getLitList());
+		reportHasOperands(output, base.getVarList());
 	}
 	
-	private static void reportHasOperands (List<ArgOperand> operandList) {
+	private static void reportHasOperands (ArgOutput output, List<ArgOperand> operandList) {
 		for (ArgOperand operand : operandList) {
 			if (operand.has()) {
-				reportOperand(operand);
+				reportOperand(output, operand);
 			}
 		}
 	}
 	
-	private static void reportOperand (ArgOperand operand) {
+	private static void reportOperand (ArgOutput output, ArgOperand operand) {
 		if (operand.getName().equals("options")) {
 			return;
 		}
@@ -195,7 +205,7 @@ public class ArgReport {
 		} else {
 			sb.append(" : false");
 		}
-		System.out.println(sb);
+		output.println(sb);
 	}
 
 }
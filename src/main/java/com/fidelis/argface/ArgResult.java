@@ -0,0 +1,384 @@
+/**
+ *+
+ *  ArgResult.java
+ *	1.0.0	Oct 19, 2026
+ *-
+ */
+package com.fidelis.argface;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The outcome of parsing one command line: whether it matched, the usage
+ * form and operand pattern that matched, the options and operands that were
+ * present with their values, and the problems found. A result is a copy; it
+ * does not change when the instance that produced it parses again.
+ * <p>
+ * Options are named as on the command line, {@code -v} or {@code --verbose},
+ * using the first name given in the usage. Operands are named as in the
+ * usage, {@code <file>} or a literal such as {@code copy}.
+ *
+ * @version 1.0.0
+ *
+ */
+public class ArgResult {
+
+    private final int                           status;
+    private final String                        usage;
+    private final String                        patternMatch;
+    private final Map<String, List<String>>     options;
+    private final Map<String, Integer>          counts;
+    private final Map<String, List<String>>     operands;
+    private final List<String>                  nonOptions;
+    private final List<String>                  problems;
+
+    ArgResult (int status, String usage, String patternMatch,
+            Map<String, List<String>> options, Map<String, Integer> counts,
+            Map<String, List<String>> operands, List<String> nonOptions,
+            List<String> problems) {
+        this.status = status;
+        this.usage = usage;
+        this.patternMatch = patternMatch;
+        this.options = Collections.unmodifiableMap(options);
+        this.counts = Collections.unmodifiableMap(counts);
+        this.operands = Collections.unmodifiableMap(operands);
+        this.nonOptions = Collections.unmodifiableList(nonOptions);
+        this.problems = Collections.unmodifiableList(problems);
+    }
+
+    /**
+     * Tests to see if the command line matched a usage.
+     *
+     * @return {@code true} if the command line matched
+     */
+    public boolean isMatched () {
+        return status >= 0;
+    }
+
+    /**
+     * Returns the value returned by the parse: the number of arguments
+     * remaining, or a negative value on error.
+     *
+     * @return the parse status
+     */
+    public int getStatus () {
+        return status;
+    }
+
+    /**
+     * Returns the usage form that matched.
+     *
+     * @return the usage specification or null
+     */
+    public String getUsage () {
+        return usage;
+    }
+
+    /**
+     * Returns the operand pattern that matched.
+     *
+     * @return the pattern or null
+     * @see ArgFace#getPatternMatch()
+     */
+    public String getPatternMatch () {
+        return patternMatch;
+    }
+
+    /**
+     * Returns the options present, each with its argument values. An option
+     * without an argument has an empty list.
+     *
+     * @return the option names and values
+     */
+    public Map<String, List<String>> getOptions () {
+        return options;
+    }
+
+    /**
+     * Returns the number of times an option was present.
+     *
+     * @param name the option name
+     * @return the count
+     */
+    public int getCount (String name) {
+        Integer count = counts.get(name);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * Returns the operands present, each with its values.
+     *
+     * @return the operand names and values
+     */
+    public Map<String, List<String>> getOperands () {
+        return operands;
+    }
+
+    /**
+     * Returns the non option arguments in command line order.
+     *
+     * @return the non options
+     */
+    public List<String> getNonOptions () {
+        return nonOptions;
+    }
+
+    /**
+     * Returns the problems found while matching, one per usage form tried,
+     * and any error messages.
+     *
+     * @return the problem texts
+     */
+    public List<String> getProblems () {
+        return problems;
+    }
+
+    /**
+     * Writes this result in the compact form read by
+     * {@link #readFrom(DataInputStream)}.
+     *
+     * @param out the output stream
+     * @throws IOException if the stream fails
+     */
+    public void writeTo (DataOutputStream out) throws IOException {
+        out.writeInt(status);
+        writeString(out, usage);
+        writeString(out, patternMatch);
+        writeMap(out, options);
+        out.writeInt(counts.size());
+        for (Map.Entry<String, Integer> count : counts.entrySet()) {
+            writeText(out, count.getKey());
+            out.writeInt(count.getValue());
+        }
+        writeMap(out, operands);
+        writeList(out, nonOptions);
+        writeList(out, problems);
+    }
+
+    /**
+     * Reads a result written by {@link #writeTo(DataOutputStream)}.
+     *
+     * @param in the input stream
+     * @return the result
+     * @throws IOException if the stream fails
+     */
+    public static ArgResult readFrom (DataInputStream in) throws IOException {
+        int status = in.readInt();
+        String usage = readString(in);
+        String patternMatch = readString(in);
+        Map<String, List<String>> options = readMap(in);
+        int size = in.readInt();
+        Map<String, Integer> counts = new LinkedHashMap<String, Integer>();
+        for (int n = 0; n < size; n++) {
+            counts.put(readText(in), in.readInt());
+        }
+        Map<String, List<String>> operands = readMap(in);
+        List<String> nonOptions = readList(in);
+        List<String> problems = readList(in);
+        return new ArgResult(status, usage, patternMatch, options, counts,
+                operands, nonOptions, problems);
+    }
+
+    /**
+     * Returns this result as a JSON object with the members {@code matched},
+     * {@code status}, {@code usage}, {@code patternMatch}, {@code options},
+     * {@code counts}, {@code operands}, {@code nonOptions} and
+     * {@code problems}.
+     *
+     * @return the JSON text
+     */
+    public String toJson () {
+        StringBuilder sb = new StringBuilder(256);
+        sb.append('{');
+        appendJsonMembers(sb);
+        sb.append('}');
+        return sb.toString();
+    }
+
+    void appendJsonMembers (StringBuilder sb) {
+        sb.append("\"matched\":").append(isMatched());
+        sb.append(",\"status\":").append(status);
+        sb.append(",\"usage\":");
+        appendJson(sb, usage);
+        sb.append(",\"patternMatch\":");
+        appendJson(sb, patternMatch);
+        sb.append(",\"options\":");
+        appendJson(sb, options);
+        sb.append(",\"counts\":{");
+        String separator = "";
+        for (Map.Entry<String, Integer> count : counts.entrySet()) {
+            sb.append(separator);
+            appendJson(sb, count.getKey());
+            sb.append(':').append(count.getValue());
+            separator = ",";
+        }
+        sb.append("},\"operands\":");
+        appendJson(sb, operands);
+        sb.append(",\"nonOptions\":");
+        appendJson(sb, nonOptions);
+        sb.append(",\"problems\":");
+        appendJson(sb, problems);
+    }
+
+    private static void appendJson (StringBuilder sb, Map<String, List<String>> map) {
+        sb.append('{');
+        String separator = "";
+        for (Map.Entry<String, List<String>> entry : map.entrySet()) {
+            sb.append(separator);
+            appendJson(sb, entry.getKey());
+            sb.append(':');
+            appendJson(sb, entry.getValue());
+            separator = ",";
+        }
+        sb.append('}');
+    }
+
+    private static void appendJson (StringBuilder sb, List<String> list) {
+        sb.append('[');
+        String separator = "";
+        for (String text : list) {
+            sb.append(separator);
+            appendJson(sb, text);
+            separator = ",";
+        }
+        sb.append(']');
+    }
+
+    /**
+     * Appends a JSON string literal, or {@code null}.
+     *
+     * @param sb the string builder
+     * @param text the text or null
+     */
+    static void appendJson (StringBuilder sb, String text) {
+        if (text == null) {
+            sb.append("null");
+            return;
+        }
+        sb.append('"');
+        for (int n = 0; n < text.length(); n++) {
+            char c = text.charAt(n);
+            switch (c) {
+            case '"':  sb.append("\\\""); break;
+            case '\\': sb.append("\\\\"); break;
+            case '\n': sb.append("\\n"); break;
+            case '\r': sb.append("\\r"); break;
+            case '\t': sb.append("\\t"); break;
+            default:
+                if (c < 0x20) {
+                    sb.append(String.format("\\u%04x", (int) c));
+                } else {
+                    sb.append(c);
+                }
+            }
+        }
+        sb.append('"');
+    }
+
+    /**
+     * Writes a string as a four byte length followed by that many bytes of
+     * UTF-8. Unlike {@code writeUTF}, the string may be of any length.
+     *
+     * @param out the output stream
+     * @param text the string
+     * @throws IOException if the stream fails
+     */
+    static void writeText (DataOutputStream out, String text) throws IOException {
+        byte [] bytes = text.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Reads a string written by {@link #writeText(DataOutputStream, String)}.
+     *
+     * @param in the input stream
+     * @return the string
+     * @throws IOException if the stream fails or the length is invalid
+     */
+    static String readText (DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > ArgServer.MAX_FRAME) {
+            throw new IOException("Invalid string length: " + length);
+        }
+        byte [] bytes = new byte [length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString (DataOutputStream out, String text)
+            throws IOException {
+        out.writeBoolean(text != null);
+        if (text != null) {
+            writeText(out, text);
+        }
+    }
+
+    private static String readString (DataInputStream in) throws IOException {
+        return in.readBoolean() ? readText(in) : null;
+    }
+
+    private static void writeList (DataOutputStream out, List<String> list)
+            throws IOException {
+        out.writeInt(list.size());
+        for (String text : list) {
+            writeText(out, text);
+        }
+    }
+
+    private static List<String> readList (DataInputStream in) throws IOException {
+        int size = in.readInt();
+        List<String> list = new ArrayList<String>(size);
+        for (int n = 0; n < size; n++) {
+            list.add(readText(in));
+        }
+        return list;
+    }
+
+    private static void writeMap (DataOutputStream out,
+            Map<String, List<String>> map) throws IOException {
+        out.writeInt(map.size());
+        for (Map.Entry<String, List<String>> entry : map.entrySet()) {
+            writeText(out, entry.getKey());
+            writeList(out, entry.getValue());
+        }
+    }
+
+    private static Map<String, List<String>> readMap (DataInputStream in)
+            throws IOException {
+        int size = in.readInt();
+        Map<String, List<String>> map = new LinkedHashMap<String, List<String>>();
+        for (int n = 0; n < size; n++) {
+            map.put(readText(in), readList(in));
+        }
+        return map;
+    }
+
+    @Override
+    public String toString () {
+        StringBuilder sb = new StringBuilder();
+        sb.append(isMatched() ? "matched " : "failed ");
+        if (usage != null) {
+            sb.append(usage);
+            sb.append(' ');
+        }
+        sb.append("options=");
+        sb.append(options);
+        sb.append(" operands=");
+        sb.append(operands);
+        if (! problems.isEmpty()) {
+            sb.append(" problems=");
+            sb.append(problems);
+        }
+        return sb.toString();
+    }
+
+}
@@ -0,0 +1,521 @@
+/**
+ *+
+ *  ArgServer.java
+ *	1.0.0	Oct 19, 2026
+ *-
+ */
+package com.fidelis.argface;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.lang.reflect.InvocationTargetException;
+import java.net.ProtocolFamily;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A parse service. Keeps parsed usage specifications resident and answers
+ * parse requests over a Unix domain socket, so that a command line can be
+ * checked without starting a JVM and parsing the usage text each time.
+ * <p>
+ * A connection may carry any number of requests, each answered in order,
+ * in either of two forms.
+ * <p>
+ * A text request is one line: the specification name and the arguments,
+ * split as by {@link ArgUtil#splitCommandLine(String)}, except that a quote
+ * left open fails the request. The response is
+ * the result as one line of JSON, as returned by {@link ArgResult#toJson()}.
+ * Any tool that can write to a Unix domain socket is a client:<pre>
+ *  $ echo "copy -v 'my file' backup" | nc -U parse.sock
+ *  {"matched":true,...}</pre>
+ * <p>
+ * A binary request is a frame: a four byte length followed by that many
+ * bytes, so its first byte is always zero. The frame holds the
+ * specification name and the arguments, each string written as a four
+ * byte length and that many bytes of UTF-8:<pre>
+ *  name, int count, count x argument</pre>
+ * The response is a frame holding an {@link ArgResult} as written by
+ * {@link ArgResult#writeTo(DataOutputStream)}. {@link ArgClient} is a
+ * client for this form.
+ * <p>
+ * No request, line or response may be larger than {@link #MAX_FRAME}; a
+ * larger request closes the connection, and a larger result is replaced by
+ * a failed result saying so.
+ * <p>
+ * Each connection is served on a thread of its own, up to a limit; a
+ * connection made while that many are open is closed at once.
+ * <p>
+ * Specifications are parsed quietly and bind no variables; their results
+ * are the only output.
+ * <p>
+ * Unix domain socket channels need Java 16. They are found reflectively, so
+ * the rest of ArgFace runs on older platforms, where {@link #start()} and
+ * {@link #serve()} fail with an {@code IOException}.
+ *
+ * @version 1.0.0
+ *
+ */
+public class ArgServer implements Closeable {
+
+    /** The largest frame or line accepted or sent */
+    public static final int MAX_FRAME = 1 << 20;
+
+    /** The default number of connections served at once */
+    public static final int DEFAULT_CLIENTS = 16;
+
+    private static final int    S_IFMT = 0170000;
+    private static final int    S_IFSOCK = 0140000;
+
+    private final Path                          socketPath;
+    private final int                           maxClients;
+    private final Map<String, ArgProcedure>     specs =
+            new ConcurrentHashMap<String, ArgProcedure>();
+    private final List<SocketChannel>           clients =
+            Collections.synchronizedList(new ArrayList<SocketChannel>());
+    private volatile ServerSocketChannel        server;
+    private volatile ExecutorService            handlers;
+
+    /**
+     * Creates a new {@code ArgServer} for the given socket path, serving up
+     * to {@link #DEFAULT_CLIENTS} connections at once.
+     *
+     * @param socketPath the path of the Unix domain socket
+     */
+    public ArgServer (Path socketPath) {
+        this(socketPath, DEFAULT_CLIENTS);
+    }
+
+    /**
+     * Creates a new {@code ArgServer} for the given socket path.
+     *
+     * @param socketPath the path of the Unix domain socket
+     * @param maxClients the most connections served at once
+     */
+    public ArgServer (Path socketPath, int maxClients) {
+        if (maxClients < 1) {
+            throw new IllegalArgumentException("maxClients: " + maxClients);
+        }
+        this.socketPath = socketPath;
+        this.maxClients = maxClients;
+    }
+
+    /**
+     * Adds a usage specification under a name. The usage text is parsed
+     * immediately.
+     *
+     * @param name the specification name used in requests
+     * @param usageText the usage text as a String
+     * @return {@code true} on success
+     */
+    public boolean addSpec (String name, String usageText) {
+        ArgProcedure spec = new ArgProcedure();
+        spec.setUsageText(usageText);
+        return addSpec(name, spec);
+    }
+
+    /**
+     * Adds a usage specification under a name. The usage text is parsed
+     * immediately.
+     *
+     * @param name the specification name used in requests
+     * @param usageText the usage text as an array of Strings
+     * @return {@code true} on success
+     */
+    public boolean addSpec (String name, String [] usageText) {
+        ArgProcedure spec = new ArgProcedure();
+        spec.setUsageText(usageText);
+        return addSpec(name, spec);
+    }
+
+    private boolean addSpec (String name, ArgProcedure spec) {
+        spec.setQuiet(true);
+        spec.setProgramName(name);
+        if (! spec.parseUsage()) {
+            return false;
+        }
+        specs.put(name, spec);
+        return true;
+    }
+
+    /**
+     * Parses a command line against a named specification, as a request
+     * would.
+     *
+     * @param name the specification name
+     * @param args the command line arguments
+     * @return the result
+     */
+    public ArgResult parse (String name, String [] args) {
+        ArgProcedure spec = specs.get(name);
+        if (spec == null) {
+            return failure("Unknown specification: " + name);
+        }
+        synchronized (spec) {
+            return spec.validate(args);
+        }
+    }
+
+    private static ArgResult failure (String problem) {
+        List<String> problems = new ArrayList<String>();
+        problems.add(problem);
+        return new ArgResult(-1, null, null,
+                new LinkedHashMap<String, List<String>>(),
+                new LinkedHashMap<String, Integer>(),
+                new LinkedHashMap<String, List<String>>(),
+                new ArrayList<String>(), problems);
+    }
+
+    /**
+     * Binds the socket and serves requests on a background thread until
+     * the server is closed. A socket left at the path by a server that is
+     * no longer running is replaced.
+     *
+     * @throws IOException if the socket cannot be bound, another server is
+     * listening on it, or the path names something other than a socket
+     */
+    public void start () throws IOException {
+        bind();
+        Thread acceptor = new Thread(() -> accept(), "ArgServer " + socketPath);
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    /**
+     * Binds the socket and serves requests on this thread until the server
+     * is closed.
+     *
+     * @throws IOException if the socket cannot be bound, another server is
+     * listening on it, or the path names something other than a socket
+     */
+    public void serve () throws IOException {
+        bind();
+        accept();
+    }
+
+    private void bind () throws IOException {
+        removeStaleSocket();
+        ServerSocketChannel channel = openUnix(ServerSocketChannel.class);
+        channel.bind(unixAddress(socketPath));
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(0, maxClients,
+                60, TimeUnit.SECONDS, new SynchronousQueue<Runnable>(), task -> {
+                    Thread thread = new Thread(task, "ArgServer client");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        handlers = executor;
+        server = channel;
+    }
+
+    /**
+     * Removes a socket file left by a server that is no longer running.
+     * Nothing is removed if the path names anything but a socket, or if a
+     * server still accepts connections on it.
+     *
+     * @throws IOException if the path is in use or is not a socket
+     */
+    private void removeStaleSocket () throws IOException {
+        try {
+            if (! isSocket(socketPath)) {
+                throw new FileAlreadyExistsException(socketPath.toString(), null,
+                        "Not a socket");
+            }
+        } catch (NoSuchFileException e) {
+            return;
+        }
+        SocketChannel probe = openUnix(SocketChannel.class);
+        try {
+            probe.connect(unixAddress(socketPath));
+        } catch (IOException e) {
+            Files.deleteIfExists(socketPath);
+            return;
+        } finally {
+            probe.close();
+        }
+        throw new IOException("Socket in use: " + socketPath);
+    }
+
+    private static boolean isSocket (Path path) throws IOException {
+        try {
+            int mode = (Integer) Files.getAttribute(path, "unix:mode",
+                    LinkOption.NOFOLLOW_LINKS);
+            return (mode & S_IFMT) == S_IFSOCK;
+        } catch (UnsupportedOperationException | IllegalArgumentException e) {
+            return Files.readAttributes(path, BasicFileAttributes.class,
+                    LinkOption.NOFOLLOW_LINKS).isOther();
+        }
+    }
+
+    /**
+     * Opens a Unix domain socket channel of the given type.
+     *
+     * @param type {@code ServerSocketChannel} or {@code SocketChannel}
+     * @return the channel
+     * @throws IOException if the platform has no Unix domain sockets or the
+     * channel cannot be opened
+     */
+    static <T> T openUnix (Class<T> type) throws IOException {
+        ProtocolFamily unix;
+        try {
+            unix = StandardProtocolFamily.valueOf("UNIX");
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Unix domain sockets are not supported", e);
+        }
+        return type.cast(invokeStatic(type, "open", ProtocolFamily.class, unix));
+    }
+
+    /**
+     * Returns the Unix domain socket address for a path.
+     *
+     * @param path the socket path
+     * @return the socket address
+     * @throws IOException if the platform has no Unix domain sockets
+     */
+    static SocketAddress unixAddress (Path path) throws IOException {
+        Class<?> type;
+        try {
+            type = Class.forName("java.net.UnixDomainSocketAddress");
+        } catch (ClassNotFoundException e) {
+            throw new IOException("Unix domain sockets are not supported", e);
+        }
+        return (SocketAddress) invokeStatic(type, "of", Path.class, path);
+    }
+
+    private static Object invokeStatic (Class<?> type, String name, Class<?> paramType,
+            Object arg) throws IOException {
+        try {
+            return type.getMethod(name, paramType).invoke(null, arg);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        } catch (ReflectiveOperationException e) {
+            throw new IOException("Unix domain sockets are not supported", e);
+        }
+    }
+
+    private void accept () {
+        while (server != null && server.isOpen()) {
+            final SocketChannel client;
+            try {
+                client = server.accept();
+            } catch (IOException e) {
+                break;
+            }
+            clients.add(client);
+            try {
+                handlers.execute(() -> handle(client));
+            } catch (RejectedExecutionException e) {
+                clients.remove(client);
+                try {
+                    client.close();
+                } catch (IOException x) {
+                    // Already closed.
+                }
+            }
+        }
+    }
+
+    private void handle (SocketChannel client) {
+        try {
+            BufferedInputStream buffered = new BufferedInputStream(
+                    Channels.newInputStream(client));
+            DataInputStream in = new DataInputStream(buffered);
+            DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(client)));
+            while (true) {
+                buffered.mark(1);
+                int first = buffered.read();
+                if (first < 0) {
+                    break;
+                }
+                buffered.reset();
+                if (first == 0) {
+                    answerFrame(in, out);
+                } else {
+                    answerLine(buffered, out);
+                }
+            }
+        } catch (IOException e) {
+            // Connection closed or malformed request; drop the client.
+        } finally {
+            clients.remove(client);
+            try {
+                client.close();
+            } catch (IOException e) {
+                // Already closed.
+            }
+        }
+    }
+
+    private void answerFrame (DataInputStream in, DataOutputStream out)
+            throws IOException {
+        byte [] request = readFrame(in);
+        if (request == null) {
+            throw new EOFException("Frame cut short");
+        }
+        DataInputStream fields = new DataInputStream(
+                new ByteArrayInputStream(request));
+        String name = ArgResult.readText(fields);
+        int count = fields.readInt();
+        if (count < 0 || count > MAX_FRAME) {
+            throw new IOException("Invalid argument count: " + count);
+        }
+        String [] args = new String [count];
+        for (int n = 0; n < count; n++) {
+            args[n] = ArgResult.readText(fields);
+        }
+        ByteArrayOutputStream response = new ByteArrayOutputStream(256);
+        parse(name, args).writeTo(new DataOutputStream(response));
+        if (response.size() > MAX_FRAME) {
+            response.reset();
+            failure("Result too large").writeTo(new DataOutputStream(response));
+        }
+        writeFrame(out, response.toByteArray());
+    }
+
+    private void answerLine (InputStream in, DataOutputStream out)
+            throws IOException {
+        List<String> words = new ArrayList<String>();
+        ArgUtil.Splitter splitter = new ArgUtil.Splitter(new StringReader(readLine(in)));
+        String word;
+        while ((word = splitter.next()) != null) {
+            words.add(word);
+        }
+        if (words.isEmpty()) {
+            return;
+        }
+        ArgResult result = splitter.isUnterminated()
+                ? failure("Unterminated quote")
+                : parse(words.get(0), words.subList(1, words.size())
+                        .toArray(new String [words.size() - 1]));
+        byte [] response = result.toJson().getBytes(StandardCharsets.UTF_8);
+        if (response.length > MAX_FRAME) {
+            response = failure("Result too large").toJson()
+                    .getBytes(StandardCharsets.UTF_8);
+        }
+        out.write(response);
+        out.write('\n');
+        out.flush();
+    }
+
+    /**
+     * Reads one line of UTF-8 text, without its line terminator.
+     *
+     * @param in the input stream
+     * @return the line
+     * @throws IOException if the stream fails or the line is too long
+     */
+    static String readLine (InputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream(256);
+        int c;
+        while ((c = in.read()) >= 0 && c != '\n') {
+            if (line.size() == MAX_FRAME) {
+                throw new IOException("Line too long");
+            }
+            line.write(c);
+        }
+        String text = new String(line.toByteArray(), StandardCharsets.UTF_8);
+        return text.endsWith("\r") ? text.substring(0, text.length() - 1) : text;
+    }
+
+    /**
+     * Reads one frame.
+     *
+     * @param in the input stream
+     * @return the frame contents or null at end of stream
+     * @throws IOException if the stream fails or the frame is too large
+     */
+    static byte [] readFrame (DataInputStream in) throws IOException {
+        int length;
+        try {
+            length = in.readInt();
+        } catch (EOFException e) {
+            return null;
+        }
+        if (length < 0 || length > MAX_FRAME) {
+            throw new IOException("Invalid frame length: " + length);
+        }
+        byte [] frame = new byte [length];
+        in.readFully(frame);
+        return frame;
+    }
+
+    /**
+     * Writes one frame and flushes the stream.
+     *
+     * @param out the output stream
+     * @param frame the frame contents
+     * @throws IOException if the stream fails or the frame is too large
+     */
+    static void writeFrame (DataOutputStream out, byte [] frame) throws IOException {
+        if (frame.length > MAX_FRAME) {
+            throw new IOException("Frame too large: " + frame.length);
+        }
+        out.writeInt(frame.length);
+        out.write(frame);
+        out.flush();
+    }
+
+    /**
+     * Stops serving, closes all connections and removes the socket file
+     * this server bound.
+     *
+     * @throws IOException if the socket file cannot be removed
+     */
+    @Override
+    public void close () throws IOException {
+        ServerSocketChannel channel = server;
+        server = null;
+        if (channel == null) {
+            return;
+        }
+        channel.close();
+        handlers.shutdown();
+        synchronized (clients) {
+            for (SocketChannel client : clients) {
+                client.close();
+            }
+            clients.clear();
+        }
+        Files.deleteIfExists(socketPath);
+    }
+
+}
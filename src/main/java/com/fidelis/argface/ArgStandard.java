@@ -7,6 +7,7 @@
 package com.fidelis.argface;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * The standard version of ArgFace.
@@ -26,6 +27,7 @@ public class ArgStandard extends ArgBase implements ArgFace {
         reflect = new ArgReflect();
         reflect.setPrivateAccess(false);
         common = new ArgCommon(reflect);
+        common.setTrace(getTrace());
     }
     
     /**
@@ -77,6 +79,16 @@ public class ArgStandard extends ArgBase implements ArgFace {
         return (parseUsage());
     }
     
+    /**
+     * Binds the parsed usage to another command line variables bean of the
+     * same class, so that the usage text need not be parsed again.
+     * 
+     * @param bean the command line variables bean object
+     */
+    protected void rebind (Object bean) {
+        reflect.setObject(bean);
+    }
+    
     /**
      * Parses the command line arguments for this argument interface model.
      * 
@@ -88,6 +100,56 @@ public class ArgStandard extends ArgBase implements ArgFace {
         return parseArguments(args);
     }
 
+    /**
+     * Parses the command line arguments into a command line variables bean.
+     * The usage is parsed once, and the setters and fields found for it
+     * belong to the bean class, so each parse may bind a new bean of the
+     * class given to {@code create} without parsing the usage again. This
+     * instance stays bound to the bean until the next such parse.
+     * <p>
+     * An instance holds the state of one parse at a time. Calls to this
+     * method on the same instance are serialized, so threads sharing an
+     * instance each fill their own bean; they must not also call
+     * {@link #parse(String[])} on it.
+     * 
+     * @param args the command line arguments
+     * @param target the command line variables bean object
+     * @return the argument index of the first operand or a negative value on error
+     * @throws IllegalArgumentException if the bean is not of the usage's bean class
+     * @throws IllegalStateException if the usage has not been parsed for a bean
+     */
+    public synchronized int parse (String [] args, Object target) {
+        Object bean = reflect.getObject();
+        if (bean == null) {
+            throw new IllegalStateException("Usage not parsed for a bean");
+        }
+        Class<?> beanClass = bean.getClass();
+        if (! beanClass.isInstance(target)) {
+            throw new IllegalArgumentException("Not a " + beanClass.getName()
+                    + ": " + target);
+        }
+        rebind(target);
+        return parse(args);
+    }
+
+    /**
+     * Parses the command line arguments into a new command line variables
+     * bean from a supplier, as for {@link #parse(String[], Object)}.
+     * 
+     * @param args the command line arguments
+     * @param supplier the supplier of new beans
+     * @return the new bean or null on error
+     * @throws IllegalArgumentException if the bean is not of the usage's bean class
+     * @throws IllegalStateException if the usage has not been parsed for a bean
+     */
+    public <T> T parse (String [] args, Supplier<T> supplier) {
+        T target = supplier.get();
+        if (parse(args, (Object) target) < 0) {
+            return null;
+        }
+        return target;
+    }
+
     protected String modelGetUsageText () {
         return common.getUsageText();
     }
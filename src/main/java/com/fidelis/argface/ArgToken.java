@@ -0,0 +1,204 @@
+/**
+ *+
+ *  ArgToken.java
+ *	1.0.0	Oct 19, 2026
+ *-
+ */
+package com.fidelis.argface;
+
+/**
+ * A command line argument after it has been scanned. The scan separates an
+ * option name from its value and takes any following arguments that the
+ * option consumes, so that each usage alternative can apply the result
+ * without looking at the original arguments again.
+ *
+ * @version 1.0.0
+ *
+ */
+class ArgToken {
+
+    private static final int NONOPTION = 0;
+    private static final int OPTION    = 1;
+    private static final int LETTERS   = 2;
+    private static final int INVALID   = 3;
+
+    private int              type;
+    private String           arg;
+    private String           name;
+    private String           value;
+    private boolean          assign;
+    private ArgOption        option;
+    private ArgOption []     letterOptions;
+
+    private ArgToken (int type, String arg) {
+        this.type = type;
+        this.arg = arg;
+    }
+
+    /**
+     * Creates a token for an operand or other non option.
+     *
+     * @param arg the command line argument
+     * @return the new token
+     */
+    static ArgToken nonOption (String arg) {
+        return new ArgToken(NONOPTION, arg);
+    }
+
+    /**
+     * Creates a token for a known option. The value is assigned to the option
+     * argument when {@code assign} is {@code true}.
+     *
+     * @param arg the command line argument
+     * @param name the option name
+     * @param option the option
+     * @param value the option argument value or null
+     * @param assign {@code true} if the value is to be assigned
+     * @return the new token
+     */
+    static ArgToken option (String arg, String name, ArgOption option,
+            String value, boolean assign) {
+        ArgToken token = new ArgToken(OPTION, arg);
+        token.name = name;
+        token.option = option;
+        token.value = value;
+        token.assign = assign;
+        return token;
+    }
+
+    /**
+     * Creates a token for a group of single letter options.
+     *
+     * @param arg the command line argument
+     * @param name the letters of the group
+     * @param options the option for each letter
+     * @return the new token
+     */
+    static ArgToken letters (String arg, String name, ArgOption [] options) {
+        ArgToken token = new ArgToken(LETTERS, arg);
+        token.name = name;
+        token.letterOptions = options;
+        return token;
+    }
+
+    /**
+     * Creates a token for an option that does not exist in any usage.
+     *
+     * @param arg the command line argument
+     * @param name the option name
+     * @return the new token
+     */
+    static ArgToken invalid (String arg, String name) {
+        ArgToken token = new ArgToken(INVALID, arg);
+        token.name = name;
+        return token;
+    }
+
+    /**
+     * Returns {@code true} if this token is a non option.
+     *
+     * @return {@code true} if this token is a non option
+     */
+    boolean isNonOption () {
+        return type == NONOPTION;
+    }
+
+    /**
+     * Returns {@code true} if this token is a known option.
+     *
+     * @return {@code true} if this token is a known option
+     */
+    boolean isOption () {
+        return type == OPTION;
+    }
+
+    /**
+     * Returns {@code true} if this token is a group of letter options.
+     *
+     * @return {@code true} if this token is a group of letter options
+     */
+    boolean isLetters () {
+        return type == LETTERS;
+    }
+
+    /**
+     * Returns {@code true} if this token is an unknown option.
+     *
+     * @return {@code true} if this token is an unknown option
+     */
+    boolean isInvalid () {
+        return type == INVALID;
+    }
+
+    /**
+     * Returns the original command line argument.
+     *
+     * @return the command line argument
+     */
+    String getArg () {
+        return arg;
+    }
+
+    /**
+     * Returns the option name, or the letters of a letter group.
+     *
+     * @return the option name
+     */
+    String getName () {
+        return name;
+    }
+
+    /**
+     * Returns the option argument value.
+     *
+     * @return the option argument value or null
+     */
+    String getValue () {
+        return value;
+    }
+
+    /**
+     * Returns {@code true} if the value is to be assigned to the option.
+     *
+     * @return {@code true} if the value is to be assigned
+     */
+    boolean isAssign () {
+        return assign;
+    }
+
+    /**
+     * Returns the option found for this token's name.
+     *
+     * @return the option
+     */
+    ArgOption getOption () {
+        return option;
+    }
+
+    /**
+     * Returns the options of a letter group.
+     *
+     * @return the letter options
+     */
+    ArgOption [] getLetterOptions () {
+        return letterOptions;
+    }
+
+    @Override
+    public String toString () {
+        return String.format("%-9s %s", typeName(), arg);
+    }
+
+    private String typeName () {
+        switch (type) {
+        case OPTION:
+            return "option";
+        case LETTERS:
+            return "letters";
+        case INVALID:
+            return "invalid";
+        default:
+            return "nonoption";
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/**
+ *+
+ *  ArgTrace.java
+ *	1.0.0	Oct 19, 2026
+ *-
+ */
+package com.fidelis.argface;
+
+import java.util.function.Supplier;
+
+/**
+ * Diagnostic output for one ArgFace instance. Each message is supplied
+ * lazily, so nothing is built unless the level is enabled. Until a level is
+ * set, the {@code Debug} verbose and trace settings apply.
+ *
+ * @version 1.0.0
+ *
+ */
+public class ArgTrace {
+
+    /** No diagnostic output */
+    public static final int OFF     = 0;
+
+    /** Verbose output */
+    public static final int VERBOSE = 1;
+
+    /** Verbose and trace output */
+    public static final int TRACE   = 2;
+
+    private static final int DEBUG  = -1;
+
+    private int level = DEBUG;
+
+    /**
+     * Creates a new {@code ArgTrace} that follows the {@code Debug} settings.
+     */
+    public ArgTrace () {
+    }
+
+    /**
+     * Creates a new {@code ArgTrace} with the specified level.
+     *
+     * @param level one of {@code OFF}, {@code VERBOSE} or {@code TRACE}
+     */
+    public ArgTrace (int level) {
+        this.level = level;
+    }
+
+    /**
+     * Returns the level. A negative value indicates that the {@code Debug}
+     * settings apply.
+     *
+     * @return the level
+     */
+    public int getLevel () {
+        return level;
+    }
+
+    /**
+     * Sets the level.
+     *
+     * @param level one of {@code OFF}, {@code VERBOSE} or {@code TRACE}
+     */
+    public void setLevel (int level) {
+        this.level = level;
+    }
+
+    /**
+     * Tests to see if verbose output is enabled.
+     *
+     * @return {@code true} if verbose output is enabled
+     */
+    public boolean isVerbose () {
+        if (level == DEBUG) {
+            return Debug.isVerbose();
+        }
+        return level >= VERBOSE;
+    }
+
+    /**
+     * Tests to see if trace output is enabled.
+     *
+     * @return {@code true} if trace output is enabled
+     */
+    public boolean isTrace () {
+        if (level == DEBUG) {
+            return Debug.isTrace();
+        }
+        return level >= TRACE;
+    }
+
+    /**
+     * Produces diagnostic output when verbose output is enabled.
+     *
+     * @param text the output String
+     */
+    public void verbose (String text) {
+        if (isVerbose()) {
+            System.out.println(text);
+        }
+    }
+
+    /**
+     * Produces diagnostic output when verbose output is enabled. The
+     * message is only requested from the supplier when it is printed.
+     *
+     * @param message supplies the output String
+     */
+    public void verbose (Supplier<String> message) {
+        if (isVerbose()) {
+            System.out.println(message.get());
+        }
+    }
+
+    /**
+     * Produces diagnostic output for a label and a value when verbose output
+     * is enabled. The value is converted with {@code String.valueOf} only
+     * when it is printed.
+     *
+     * @param label the label text
+     * @param value the value to print after the label
+     */
+    public void verbose (String label, Object value) {
+        if (isVerbose()) {
+            System.out.println(label + String.valueOf(value));
+        }
+    }
+
+    /**
+     * Produces diagnostic output when trace output is enabled.
+     *
+     * @param text the output String
+     */
+    public void trace (String text) {
+        if (isTrace()) {
+            System.out.println(text);
+        }
+    }
+
+    /**
+     * Produces diagnostic output when trace output is enabled. The message
+     * is only requested from the supplier when it is printed.
+     *
+     * @param message supplies the output String
+     */
+    public void trace (Supplier<String> message) {
+        if (isTrace()) {
+            System.out.println(message.get());
+        }
+    }
+
+    /**
+     * Produces diagnostic output for a label and a value when trace output
+     * is enabled. The value is converted with {@code String.valueOf} only
+     * when it is printed.
+     *
+     * @param label the label text
+     * @param value the value to print after the label
+     */
+    public void trace (String label, Object value) {
+        if (isTrace()) {
+            System.out.println(label + String.valueOf(value));
+        }
+    }
+
+}
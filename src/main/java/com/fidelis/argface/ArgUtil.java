@@ -6,17 +6,30 @@
  */
 package com.fidelis.argface;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
 /**
- * ArgFace utilities.
+ * ArgFace utilities. The error reporting state is kept per thread, so usage
+ * texts may be parsed and command lines checked on several threads at once.
  * 
  * @version 1.0.0
  * @author Leo Hinterlang
  */
 public class ArgUtil {
     
-    private static ArgUtil instance = new ArgUtil();
-    private static ArgBase base;
+    private static final ThreadLocal<ArgUtil> instance = new ThreadLocal<ArgUtil>() {
+        @Override
+        protected ArgUtil initialValue () {
+            return new ArgUtil();
+        }
+    };
     
+    private ArgBase base;
     private String programName;
     private String operandSuffix;
     private String optionSuffix;
@@ -28,12 +41,20 @@ public class ArgUtil {
     }
     
     /**
-     * Obtains the one and only {@code ArgUtil} instance.
+     * Obtains the {@code ArgUtil} instance for the current thread.
      * 
-     * @return the one and only {@code ArgUtil} instance
+     * @return the {@code ArgUtil} instance for the current thread
      */
     public static ArgUtil getInstance () {
-        return instance;
+        return instance.get();
+    }
+    
+    /**
+     * Drops the {@code ArgUtil} instance for the current thread, so that a
+     * pooled thread does not keep the last {@code ArgBase} it parsed with.
+     */
+    static void remove () {
+        instance.remove();
     }
     
     /**
@@ -42,9 +63,22 @@ public class ArgUtil {
      * @param base the ArgBase reference
      */
     public void setBase(ArgBase base) {
-    	ArgUtil.base = base;
+    	this.base = base;
     }
     
+    /**
+     * Returns the output of the {@code ArgBase} instance, or output straight
+     * to {@code System.out} and {@code System.err} if there is none.
+     * 
+     * @return the output
+     */
+    public ArgOutput getOutput () {
+        if (base != null) {
+            return base.getOutput();
+        }
+        return new ArgOutput();
+    }
+
     /**
      * Returns the program name.
      * 
@@ -155,6 +189,106 @@ public class ArgUtil {
         return camel;
     }
     
+    /**
+     * Splits a command line into arguments as a shell would for simple
+     * cases. Arguments are separated by white space. Single quotes keep
+     * everything up to the closing quote; double quotes do the same except
+     * that a backslash escapes the next character. Outside quotes, a
+     * backslash escapes the next character. A quote left open runs to the
+     * end of the line.
+     * 
+     * @param line the command line
+     * @return the arguments
+     */
+    public static String [] splitCommandLine (String line) {
+        List<String> args = new ArrayList<String>();
+        Splitter splitter = new Splitter(new StringReader(line));
+        try {
+            String arg;
+            while ((arg = splitter.next()) != null) {
+                args.add(arg);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return args.toArray(new String [args.size()]);
+    }
+    
+    /**
+     * Splits text into arguments one at a time, by the rules of
+     * {@link ArgUtil#splitCommandLine(String)}. Line ends are white space,
+     * so the text may span any number of lines.
+     */
+    static class Splitter {
+        private final Reader        in;
+        private final StringBuilder arg = new StringBuilder(256);
+        private boolean             unterminated;
+        
+        /**
+         * Creates a splitter reading from the given reader.
+         * 
+         * @param in the reader
+         */
+        Splitter (Reader in) {
+            this.in = in;
+        }
+        
+        /**
+         * Returns the next argument.
+         * 
+         * @return the argument or null at the end of the text
+         * @throws IOException if the reader fails
+         */
+        String next () throws IOException {
+            arg.setLength(0);
+            boolean inArg = false;
+            int quote = 0;
+            int c;
+            while ((c = in.read()) >= 0) {
+                if (quote == '\'') {
+                    if (c == '\'') {
+                        quote = 0;
+                    } else {
+                        arg.append((char) c);
+                    }
+                } else if (c == '\\') {
+                    int escaped = in.read();
+                    arg.append((char) (escaped < 0 ? c : escaped));
+                    inArg = true;
+                } else if (quote == '"') {
+                    if (c == '"') {
+                        quote = 0;
+                    } else {
+                        arg.append((char) c);
+                    }
+                } else if (c == '\'' || c == '"') {
+                    quote = c;
+                    inArg = true;
+                } else if (Character.isWhitespace(c)) {
+                    if (inArg) {
+                        break;
+                    }
+                } else {
+                    arg.append((char) c);
+                    inArg = true;
+                }
+            }
+            if (quote != 0) {
+                unterminated = true;
+            }
+            return inArg ? arg.toString() : null;
+        }
+        
+        /**
+         * Tests to see if the text ended inside a quote.
+         * 
+         * @return {@code true} if a quote was left open
+         */
+        boolean isUnterminated () {
+            return unterminated;
+        }
+    }
+    
     /**
      * Prints a "Can't access" message for one or two option variable names
      * from an {@code ArgOption} object.
@@ -164,10 +298,11 @@ public class ArgUtil {
     public static void cantAccess (ArgOption option) {
         String name = camelCase(option.getName());
         String altName = camelCase(option.getAltName());
+        String optionSuffix = getInstance().optionSuffix;
         if (altName != null) {
-            cantAccess(name + instance.optionSuffix, altName + instance.optionSuffix);
+            cantAccess(name + optionSuffix, altName + optionSuffix);
         } else {
-            cantAccess(name + instance.optionSuffix);
+            cantAccess(name + optionSuffix);
         }
     }
 
@@ -232,18 +367,24 @@ public class ArgUtil {
         }
         sb.setLength(sb.length() - 1);
         sb.append("\"");
-        System.err.println(sb);
+        getInstance().getOutput().errorln(sb);
     }
     
     /**
-     * Prints an error message with usage text.
+     * Prints an error message with usage text. When no {@code ArgBase} has
+     * been set on this thread the message alone goes to {@code System.err}.
      * 
      * @param text the error message
      */
     public static void printError (String text) {
-    	ArgHelp help = base.getHelp();
+    	ArgUtil util = getInstance();
+    	if (util.base == null) {
+    	    util.getOutput().errorln(text);
+    	    return;
+    	}
+    	ArgHelp help = util.base.getHelp();
         help.printUsage();
-        System.err.printf("%s: %s%n", instance.programName, text);
+        util.getOutput().errorln(util.programName + ": " + text);
     }
     
 }
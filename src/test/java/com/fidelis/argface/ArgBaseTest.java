@@ -10,7 +10,11 @@ import static com.fidelis.argface.TestOut.*;
 import static org.junit.Assert.*;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
 
 import org.junit.After;
 import org.junit.Before;
@@ -1017,7 +1021,578 @@ public class ArgBaseTest {
 	 */
 	@Test
 	public void testParseArguments () {
-		incomplete();
+		String[] usageText = {
+			"Usage:",
+				"test [-a] [-c <feature>] <one> [<two>]",
+				"test copy <from> <to>"
+		};
+		model.setUsageText(usageText);
+		boolean status = model.parseUsage();
+		testCase("parseUsage status", status);
+		assertTrue(status);
+		
+		// First alternative.
+		String[] args = { "-a", "-c", "fast", "alfa", "bravo" };
+		int nArg = model.parseArguments(args);
+		testCase("first alternative", nArg);
+		assertEquals(5, nArg);
+		testCase("has -a", model.has("a"));
+		assertTrue(model.has("a"));
+		testCase("value -c", model.value("c"));
+		assertEquals("fast", model.value("c"));
+		testCase("value <one>", model.value("one"));
+		assertEquals("alfa", model.value("one"));
+		testCase("value <two>", model.value("two"));
+		assertEquals("bravo", model.value("two"));
+		
+		// Second alternative, after trying and discarding the first.
+		args = new String[] { "copy", "this", "that" };
+		nArg = model.parseArguments(args);
+		testCase("second alternative", nArg);
+		assertEquals(3, nArg);
+		testCase("has -a", model.has("a"));
+		assertFalse(model.has("a"));
+		testCase("value -c", model.value("c"));
+		assertNull(model.value("c"));
+		testCase("has <one>", model.has("one"));
+		assertFalse(model.has("one"));
+		testCase("value <from>", model.value("from"));
+		assertEquals("this", model.value("from"));
+		testCase("value <to>", model.value("to"));
+		assertEquals("that", model.value("to"));
+		
+		// Back to the first alternative, nothing carried over.
+		args = new String[] { "charlie" };
+		nArg = model.parseArguments(args);
+		testCase("first alternative again", nArg);
+		assertEquals(1, nArg);
+		testCase("has copy", model.has("copy"));
+		assertFalse(model.has("copy"));
+		testCase("has <from>", model.has("from"));
+		assertFalse(model.has("from"));
+		testCase("has <two>", model.has("two"));
+		assertFalse(model.has("two"));
+		testCase("value <one>", model.value("one"));
+		assertEquals("charlie", model.value("one"));
+		passed();
+	}
+
+	/**
+	 * Test method for {@link com.fidelis.argface.ArgBase#setAdaptiveOrder(boolean)}.
+	 */
+	@Test
+	public void testAdaptiveOrder () {
+		String[] usageText = {
+			"Usage:",
+				"test find <pattern>",
+				"test copy <from> <to>",
+				"test <file>..."
+		};
+		model.setUsageText(usageText);
+		boolean status = model.parseUsage();
+		testCase("parseUsage status", status);
+		assertTrue(status);
+		model.setAdaptiveOrder(true);
+		Map<String, Long> seed = new LinkedHashMap<String, Long>();
+		seed.put("test copy <from> <to>", 1000L);
+		seed.put("test <file>...", 5000L);
+		model.setUsageCounts(seed);
+		
+		// Same results as declared order.
+		String[] args = { "find", "it" };
+		int nArg = model.parseArguments(args);
+		testCase("find alternative", nArg);
+		assertEquals(2, nArg);
+		testCase("value <pattern>", model.value("pattern"));
+		assertEquals("it", model.value("pattern"));
+		args = new String[] { "copy", "this", "that" };
+		nArg = model.parseArguments(args);
+		testCase("copy alternative", nArg);
+		assertEquals(3, nArg);
+		testCase("value <to>", model.value("to"));
+		assertEquals("that", model.value("to"));
+		testCase("has <file>", model.has("file"));
+		assertFalse(model.has("file"));
+		args = new String[] { "find", "me", "now" };
+		nArg = model.parseArguments(args);
+		testCase("file alternative", nArg);
+		assertEquals(3, nArg);
+		testCase("has <pattern>", model.has("pattern"));
+		assertFalse(model.has("pattern"));
+		
+		// Counts include the seed.
+		Map<String, Long> counts = model.getUsageCounts();
+		testCase("find count", counts.get("test find <pattern>"));
+		assertEquals(Long.valueOf(1), counts.get("test find <pattern>"));
+		testCase("copy count", counts.get("test copy <from> <to>"));
+		assertEquals(Long.valueOf(1001), counts.get("test copy <from> <to>"));
+		testCase("file count", counts.get("test <file>..."));
+		assertEquals(Long.valueOf(5001), counts.get("test <file>..."));
+		passed();
+	}
+
+	/**
+	 * Test method for {@link com.fidelis.argface.ArgBase#parseArguments(java.lang.String[])}
+	 * with command lines of the same operand shape.
+	 */
+	@Test
+	public void testParseArgumentsSameShape () {
+		String[] usageText = {
+			"Usage:",
+				"test [<first>] copy <from>... <to>",
+				"test <file>..."
+		};
+		model.setUsageText(usageText);
+		boolean status = model.parseUsage();
+		testCase("parseUsage status", status);
+		assertTrue(status);
+		String[][] argSets = {
+			{ "one", "copy", "a", "b", "c" },
+			{ "two", "copy", "d", "e", "f" },
+			{ "three", "COPY", "g", "h", "i" }
+		};
+		for (String[] args : argSets) {
+			int nArg = model.parseArguments(args);
+			testCase("copy alternative", nArg);
+			assertEquals(5, nArg);
+			testCase("value <first>", model.value("first"));
+			assertEquals(args[0], model.value("first"));
+			List<String> from = model.valueList("from");
+			testCase("<from> count", from.size());
+			assertEquals(2, from.size());
+			assertEquals(args[2], from.get(0));
+			assertEquals(args[3], from.get(1));
+			testCase("value <to>", model.value("to"));
+			assertEquals(args[4], model.value("to"));
+		}
+		String[] args = { "copy", "cat", "dog" };
+		int nArg = model.parseArguments(args);
+		testCase("copy alternative", nArg);
+		assertEquals(3, nArg);
+		testCase("has <first>", model.has("first"));
+		assertFalse(model.has("first"));
+		passed();
+	}
+
+	/**
+	 * Test method for {@link com.fidelis.argface.ArgBase#parseArguments(java.lang.String[])}
+	 * with literals that are equal ignoring case in any locale.
+	 */
+	@Test
+	public void testParseArgumentsShapeCase () {
+		model.setUsageText("Usage: test list");
+		boolean status = model.parseUsage();
+		testCase("parseUsage status", status);
+		assertTrue(status);
+		Locale locale = Locale.getDefault();
+		try {
+			Locale.setDefault(new Locale("tr", "TR"));
+			testCase("LIST", model.parseArguments(new String[] { "LIST" }));
+			assertEquals(1, model.parseArguments(new String[] { "LIST" }));
+			testCase("foo", model.parseArguments(new String[] { "foo" }));
+			assertEquals(-1, model.parseArguments(new String[] { "foo" }));
+		} finally {
+			Locale.setDefault(locale);
+		}
+		testCase("l\u0130st", model.parseArguments(new String[] { "l\u0130st" }));
+		assertEquals(1, model.parseArguments(new String[] { "l\u0130st" }));
+		testCase("bar", model.parseArguments(new String[] { "bar" }));
+		assertEquals(-1, model.parseArguments(new String[] { "bar" }));
+		passed();
+	}
+
+	/**
+	 * Test method for {@link com.fidelis.argface.ArgBase#setMetrics(ArgMetrics)}.
+	 */
+	@Test
+	public void testSetMetrics () {
+		String[] usageText = {
+			"Usage:",
+				"test copy <from> <to>",
+				"test [-a] <file>"
+		};
+		ArgMetrics metrics = new ArgMetrics();
+		model.setMetrics(metrics);
+		model.setUsageText(usageText);
+		boolean status = model.parseUsage();
+		testCase("parseUsage status", status);
+		assertTrue(status);
+		String[] args = { "-a", "this" };
+		int nArg = model.parseArguments(args);
+		testCase("parseArguments", nArg);
+		assertEquals(2, nArg);
+		args = new String[] { "copy", "this", "that" };
+		nArg = model.parseArguments(args);
+		testCase("parseArguments", nArg);
+		assertEquals(3, nArg);
+		
+		ArgMetrics.Snapshot snapshot = metrics.snapshot();
+		testCase("metrics", snapshot);
+		assertEquals(2, snapshot.getCount(ArgMetrics.PARSES));
+		assertEquals(0, snapshot.getCount(ArgMetrics.FAILURES));
+		assertEquals(3, snapshot.getCount(ArgMetrics.ALTERNATIVES));
+		assertEquals(1, snapshot.getPhaseCount(ArgMetrics.PARSE_USAGE));
+		assertEquals(1, snapshot.getPhaseCount(ArgMetrics.PRE_PARSE));
+		assertEquals(2, snapshot.getPhaseCount(ArgMetrics.SET_VARIABLES));
+		assertEquals(5, snapshot.getCount(ArgMetrics.BINDINGS));
+		long[] histogram = snapshot.getHistogram(ArgMetrics.PARSE_USAGE);
+		long total = 0;
+		for (long count : histogram) {
+			total += count;
+		}
+		assertEquals(1, total);
+		
+		metrics.reset();
+		snapshot = metrics.snapshot();
+		assertEquals(0, snapshot.getCount(ArgMetrics.PARSES));
+		assertEquals(0, snapshot.getPercentile(ArgMetrics.MATCH_USAGE, 99));
+		passed();
+	}
+
+	/**
+	 * Test method for {@link com.fidelis.argface.ArgBase#validate(java.lang.String[])}.
+	 */
+	@Test
+	public void testValidate () {
+		String[] usageText = {
+			"Usage:",
+				"test copy <from> <to>",
+				"test [-a] <file>..."
+		};
+		model.setUsageText(usageText);
+		assertTrue(model.parseUsage());
+		ArgResult result = model.validate(new String[] { "-a", "this", "that" });
+		testCase("validate", result.toString());
+		assertTrue(result.isMatched());
+		assertEquals("test [-a] <file>...", result.getUsage());
+		assertEquals(1, result.getCount("-a"));
+		assertEquals(2, result.getOperands().get("<file>").size());
+		assertTrue(! model.isBound());
+
+		result = model.validate(new String[] { "-x" });
+		testCase("validate", result.toString());
+		assertTrue(! result.isMatched());
+		assertTrue(result.getProblems().contains("Invalid option: -x"));
+		assertTrue(! model.isBound());
+		assertTrue(! model.isQuiet());
+
+		assertEquals(3, model.parseArguments(new String[] { "copy", "this", "that" }));
+		assertTrue(model.isBound());
+		passed();
+	}
+
+	/**
+	 * Test method for {@link com.fidelis.argface.ArgBase#setConsumer(java.lang.String, java.util.function.Consumer)}.
+	 */
+	@Test
+	public void testSetConsumer () {
+		model.setUsageText("test [-I <dir>]... <file>...");
+		assertTrue(model.parseUsage());
+		final List<String> files = new ArrayList<String>();
+		final List<String> dirs = new ArrayList<String>();
+		assertTrue(model.setConsumer("<file>", files::add));
+		assertTrue(model.setConsumer("-I", dirs::add));
+		assertTrue(! model.setConsumer("<none>", files::add));
+
+		assertEquals(4, model.parseArguments(new String[] { "-I", "inc", "a", "b" }));
+		testCase("files", files.toString());
+		assertEquals(java.util.Arrays.asList("a", "b"), files);
+		assertEquals(java.util.Arrays.asList("inc"), dirs);
+		assertTrue(model.valueList("<file>").isEmpty());
+
+		ArgResult result = model.validate(new String[] { "c" });
+		assertEquals(java.util.Arrays.asList("c"), result.getOperands().get("<file>"));
+		assertEquals(2, files.size());
+		passed();
+	}
+
+	/**
+	 * Test method for {@link com.fidelis.argface.ArgBase#setConsumer(java.lang.String, java.util.function.Consumer)}
+	 * that the operand values are not collected.
+	 */
+	@Test
+	public void testSetConsumerNotCollected () {
+		model.setUsageText(new String[] { "test list", "test [-v] <file>... <dst>" });
+		assertTrue(model.parseUsage());
+		final List<String> files = new ArrayList<String>();
+		final List<Integer> kept = new ArrayList<Integer>();
+		assertTrue(model.setConsumer("<file>", value -> {
+			files.add(value);
+			kept.add(model.valueList("<file>").size());
+		}));
+		assertEquals(5, model.parseArguments(new String[] { "-v", "a", "b", "c", "d" }));
+		testCase("files", files.toString());
+		assertEquals(java.util.Arrays.asList("a", "b", "c"), files);
+		assertEquals(java.util.Arrays.asList(0, 0, 0), kept);
+		assertEquals("d", model.value("<dst>"));
+		passed();
+	}
+
+	/**
+	 * Test method for {@link com.fidelis.argface.ArgBase#setListener(com.fidelis.argface.ArgListener)}.
+	 */
+	@Test
+	public void testSetListener () {
+		model.setUsageText(new String[] { "test list", "test [-v] [-o <out>] <src>... <dst>" });
+		assertTrue(model.parseUsage());
+		final List<String> events = new ArrayList<String>();
+		model.setListener(new ArgListener() {
+			@Override
+			public void onMatch (String usage, String pattern) {
+				events.add("match " + usage);
+			}
+			@Override
+			public void onOption (ArgOption option, String value) {
+				events.add(option.getName() + "=" + value);
+			}
+			@Override
+			public void onOperand (ArgOperand operand, String value) {
+				events.add(operand.getSpecText() + "=" + value);
+			}
+			@Override
+			public void onAlternativeRejected (String usage, String reason) {
+				events.add("reject " + usage);
+			}
+		});
+		assertEquals(6, model.parseArguments(new String[] { "-v", "-o", "x", "a", "b", "c" }));
+		testCase("events", events.toString());
+		assertEquals(java.util.Arrays.asList("reject test list",
+				"match test [-v] [-o <out>] <src>... <dst>", "v=null", "o=x",
+				"<src>=a", "<src>=b", "<dst>=c"), events);
+		assertTrue(! model.isBound());
+
+		events.clear();
+		model.validate(new String[] { "list" });
+		assertTrue(events.isEmpty());
+		model.setListener(null);
+		assertEquals(1, model.parseArguments(new String[] { "list" }));
+		assertTrue(model.isBound());
+		passed();
+	}
+
+	/**
+	 * Test method for {@link com.fidelis.argface.ArgBase#setListener(com.fidelis.argface.ArgListener)}
+	 * with a consumer bound to a repeating operand.
+	 */
+	@Test
+	public void testSetListenerConsumer () {
+		model.setUsageText("test [-v] <file>...");
+		assertTrue(model.parseUsage());
+		final List<String> events = new ArrayList<String>();
+		final List<String> files = new ArrayList<String>();
+		assertTrue(model.setConsumer("<file>", files::add));
+		model.setListener(new ArgListener() {
+			@Override
+			public void onOption (ArgOption option, String value) {
+				events.add(option.getName() + "=" + value);
+			}
+			@Override
+			public void onOperand (ArgOperand operand, String value) {
+				events.add(operand.getSpecText() + "=" + value);
+			}
+		});
+		assertTrue(model.parseArguments(new String[] { "-v", "a", "b" }) >= 0);
+		testCase("events", events.toString());
+		assertEquals(java.util.Arrays.asList("v=null"), events);
+		assertEquals(java.util.Arrays.asList("a", "b"), files);
+		passed();
+	}
+
+	/**
+	 * Test method for {@link com.fidelis.argface.ArgBase#setHelpWidth(int)}.
+	 */
+	@Test
+	public void testSetHelpWidth () {
+		model.setUsageText("test [-v | --verbose] [--out <file>] <in>");
+		assertTrue(model.parseUsage());
+		for (ArgOption option : model.getOptionList()) {
+			if (option.nameMatch("out")) {
+				option.setHelp("Writes the output to the named file instead of to the standard output");
+			}
+		}
+		ArgHelp help = model.getHelp();
+		assertEquals(80, model.getHelpWidth());
+		String wide = help.renderHelp();
+		assertSame(wide, help.renderHelp());
+		model.setHelpWidth(40);
+		String narrow = help.renderHelp();
+		testCase("narrow", narrow);
+		assertTrue(narrow.split("\n").length > wide.split("\n").length);
+		assertTrue(narrow.startsWith("Usage:"));
+		model.setHelpWidth(80);
+		assertSame(wide, help.renderHelp());
+		passed();
+	}
+
+	/**
+	 * Test method for {@link com.fidelis.argface.ArgBase#setOutput(com.fidelis.argface.ArgOutput)}.
+	 */
+	@Test
+	public void testSetOutput () {
+		model.setUsageText("test [-v] <file>");
+		assertTrue(model.parseUsage());
+		StringBuilder out = new StringBuilder();
+		StringBuilder err = new StringBuilder();
+		model.setOutput(new ArgOutput(out, err));
+		assertEquals(-1, model.parseArguments(new String[] { "-x", "a" }));
+		testCase("err", err.toString());
+		assertTrue(out.toString().startsWith("Usage:"));
+		assertTrue(err.toString().contains("Invalid option: -x"));
+
+		out.setLength(0);
+		model.printHelp();
+		assertTrue(out.toString().contains("Options:"));
+
+		out.setLength(0);
+		err.setLength(0);
+		model.setOutput(ArgOutput.discard());
+		assertEquals(-1, model.parseArguments(new String[] { "-x", "a" }));
+		assertEquals(0, out.length() + err.length());
+		passed();
+	}
+
+	/**
+	 * Test method for {@link com.fidelis.argface.ArgBase#complete(java.lang.String[], int)}.
+	 */
+	@Test
+	public void testComplete () {
+		model.setUsageText(new String[] {
+				"git [-v] [-q | --debug] commit [-m <msg>] [--amend] <file>...",
+				"git [-v] push [-f] <remote> [<branch>]",
+				"git [-v] status" });
+		assertTrue(model.parseUsage());
+		List<String> words = model.complete(new String[] { "c" }, 0);
+		testCase("c", words);
+		assertEquals(java.util.Arrays.asList("commit"), words);
+		words = model.complete(new String[] {}, 0);
+		assertTrue(words.containsAll(java.util.Arrays.asList("commit", "push", "status", "-v")));
+		words = model.complete(new String[] { "commit", "-m", "" }, 2);
+		assertTrue(words.isEmpty());
+		words = model.complete(new String[] { "-q", "-" }, 1);
+		testCase("-q -", words);
+		assertTrue(words.contains("--amend"));
+		assertTrue(! words.contains("--debug"));
+		assertTrue(! words.contains("-q"));
+		assertTrue(! words.contains("-f"));
+		words = model.complete(new String[] { "push", "-f", "-" }, 2);
+		assertEquals(java.util.Arrays.asList("-v"), words);
+		assertEquals(java.util.Arrays.asList("status"), model.complete(new String[] { "St" }, 0));
+		words = model.complete(new String[] { "PUSH", "-" }, 1);
+		assertTrue(words.contains("-f"));
+		assertTrue(! words.contains("--amend"));
+		assertTrue(! model.complete(new String[] { "-" }, 0).contains("-V"));
+		for (int cursor : new int[] { -1, 2 }) {
+			String message = null;
+			try {
+				model.complete(new String[] { "c" }, cursor);
+			} catch (IllegalArgumentException e) {
+				message = e.getMessage();
+			}
+			testCase("cursor " + cursor, message);
+			assertNotNull(message);
+		}
+		passed();
+	}
+
+	public static class ConsumerBean {
+		public List<String> files = new ArrayList<String>();
+		public Consumer<String> fileOperand = files::add;
+		public List<String> dirs = new ArrayList<String>();
+		public boolean IOption;
+		public void setIDir (String dir) {
+			dirs.add(dir);
+		}
+	}
+
+	/**
+	 * Test method for {@link com.fidelis.argface.ArgCommon#postProcess(com.fidelis.argface.ArgOperand)}
+	 * with consumer variables.
+	 */
+	@Test
+	public void testConsumerBean () {
+		ConsumerBean bean = new ConsumerBean();
+		ArgStandard standard = ArgStandard.create("test [-I <dir>]... <file>...", bean);
+		assertNotNull(standard);
+		assertEquals(5, standard.parse(new String[] { "-I", "x", "-I", "y", "one" }));
+		testCase("files", bean.files.toString());
+		assertEquals(java.util.Arrays.asList("one"), bean.files);
+		assertEquals(java.util.Arrays.asList("x", "y"), bean.dirs);
+		passed();
+	}
+
+	/**
+	 * Test method for {@link com.fidelis.argface.ArgStandard#parse(java.lang.String[], java.lang.Object)}
+	 * and {@link com.fidelis.argface.ArgStandard#parse(java.lang.String[], java.util.function.Supplier)}.
+	 */
+	@Test
+	public void testParseTarget () {
+		ConsumerBean first = new ConsumerBean();
+		ArgStandard standard = ArgStandard.create("test [-I <dir>]... <file>...", first);
+		assertNotNull(standard);
+		ConsumerBean second = new ConsumerBean();
+		assertEquals(3, standard.parse(new String[] { "-I", "x", "two" }, second));
+		assertTrue(first.files.isEmpty());
+		assertEquals(java.util.Arrays.asList("two"), second.files);
+		assertEquals(java.util.Arrays.asList("x"), second.dirs);
+
+		ConsumerBean third = standard.parse(new String[] { "a", "b" }, ConsumerBean::new);
+		assertNotNull(third);
+		testCase("files", third.files.toString());
+		assertEquals(java.util.Arrays.asList("a", "b"), third.files);
+		assertEquals(java.util.Arrays.asList("two"), second.files);
+
+		standard.setQuiet(true);
+		assertEquals(null, standard.parse(new String[] { "-x" }, ConsumerBean::new));
+		boolean thrown = false;
+		try {
+			standard.parse(new String[] { "a" }, new Object());
+		} catch (IllegalArgumentException e) {
+			thrown = true;
+		}
+		assertTrue(thrown);
+
+		thrown = false;
+		try {
+			ArgStandard.create().parse(new String[] { "a" }, ConsumerBean::new);
+		} catch (IllegalStateException e) {
+			thrown = true;
+		}
+		assertTrue(thrown);
+		passed();
+	}
+
+	/**
+	 * Test method for {@link com.fidelis.argface.ArgStandard#parse(java.lang.String[], java.util.function.Supplier)}
+	 * from several threads.
+	 */
+	@Test
+	public void testParseTargetThreads () throws Exception {
+		final ArgStandard standard = ArgStandard.create("test [-I <dir>]... <file>...", new ConsumerBean());
+		assertNotNull(standard);
+		final int threads = 4;
+		final int parses = 500;
+		final List<String> failures = java.util.Collections.synchronizedList(new ArrayList<String>());
+		Thread [] workers = new Thread [threads];
+		for (int t = 0; t < threads; t++) {
+			final String name = "t" + t;
+			workers[t] = new Thread(() -> {
+				for (int n = 0; n < parses; n++) {
+					String file = name + "-" + n;
+					ConsumerBean bean = standard.parse(new String[] { "-I", name, file }, ConsumerBean::new);
+					if (bean == null || ! bean.files.equals(java.util.Arrays.asList(file))
+							|| ! bean.dirs.equals(java.util.Arrays.asList(name))) {
+						failures.add(file);
+					}
+				}
+			});
+			workers[t].start();
+		}
+		for (Thread worker : workers) {
+			worker.join();
+		}
+		testCase("failures", failures.size());
+		assertTrue(failures.isEmpty());
+		passed();
 	}
 
 }
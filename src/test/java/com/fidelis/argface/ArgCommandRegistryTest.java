@@ -0,0 +1,166 @@
+/**
+ *+
+ *	ArgCommandRegistryTest.java
+ *	1.0.0  Oct 19, 2026
+ *-
+ */
+package com.fidelis.argface;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static com.fidelis.argface.TestOut.*;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestName;
+
+/**
+ * ArgCommandRegistryTest
+ *
+ * @version 1.0.0
+ *
+ */
+public class ArgCommandRegistryTest {
+
+	@Rule public TestName testName = new TestName();
+
+	private static String [] lastArgs;
+
+	public static class ShowStatusCommand {
+		public boolean execute (String... args) {
+			lastArgs = args;
+			return true;
+		}
+	}
+
+	public static class ListCommand {
+		public Boolean execute (String [] args) {
+			lastArgs = args;
+			return Boolean.FALSE;
+		}
+	}
+
+	public static class NoExecuteCommand {
+		public void run () {
+		}
+	}
+
+	public static class NamedCommand {
+		public NamedCommand (String name) {
+		}
+
+		public boolean execute (String [] args) {
+			return true;
+		}
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp () throws Exception {
+		announce(testName);
+		lastArgs = null;
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown () throws Exception {
+		passFail(testName);
+	}
+
+	/**
+	 * Test method for {@link com.fidelis.argface.ArgCommandRegistry#commandName(java.lang.Class)}.
+	 */
+	@Test
+	public void testCommandName () {
+		assertEquals("show status", ArgCommandRegistry.commandName(ShowStatusCommand.class));
+		assertEquals("list", ArgCommandRegistry.commandName(ListCommand.class));
+		passed();
+	}
+
+	/**
+	 * Test method for {@link com.fidelis.argface.ArgCommandRegistry.Builder#add(java.lang.Class)}.
+	 *
+	 * @throws Throwable
+	 */
+	@Test
+	public void testBuilder () throws Throwable {
+		ArgCommandRegistry registry = ArgCommandRegistry.builder()
+				.add(ShowStatusCommand.class)
+				.add("ls", ListCommand.class, ListCommand::new)
+				.add(NoExecuteCommand.class)
+				.build();
+		assertEquals(3, registry.getCommandNames().size());
+
+		ArgCommandRegistry.Entry entry = registry.getCommand("show status");
+		assertNotNull(entry);
+		assertSame(ShowStatusCommand.class, entry.getCommandClass());
+		assertTrue(entry.hasExecute());
+		String [] args = { "-v", "file" };
+		assertTrue(entry.execute(args));
+		assertSame(args, lastArgs);
+
+		entry = registry.getCommand("ls");
+		assertTrue(entry.hasExecute());
+		assertFalse(entry.execute(args));
+
+		entry = registry.getCommand("no execute");
+		assertFalse(entry.hasExecute());
+		assertTrue(entry.hasFactory());
+		passed();
+	}
+
+	/**
+	 * Test method for {@link com.fidelis.argface.ArgCommandRegistry#find(java.lang.String, java.lang.String)}.
+	 */
+	@Test
+	public void testFind () {
+		ArgCommandRegistry registry = ArgCommandRegistry.create();
+		String className = ArgCommandRegistryTest.class.getName() + "$ShowStatusCommand";
+		ArgCommandRegistry.Entry entry = registry.find("show status", className);
+		assertNotNull(entry);
+		assertSame(entry, registry.find("show status", className));
+		assertNull(registry.find("missing", className + "Missing"));
+		assertNull(registry.find("missing", className + "Missing"));
+		for (int n = 0; n < 2 * ArgCommandRegistry.MISSING_SIZE; n++) {
+			assertNull(registry.find("missing", className + "Missing" + n));
+		}
+		assertNull(registry.find("missing", className + "Missing"));
+		assertSame(entry, registry.find("show status", className));
+		passed();
+	}
+
+	/**
+	 * Test method for {@link com.fidelis.argface.ArgCommandRegistry.Entry#hasFactory()}.
+	 */
+	@Test
+	public void testNoConstructor () {
+		ArgCommandRegistry registry = ArgCommandRegistry.builder()
+				.add(NamedCommand.class)
+				.add("other", NamedCommand.class, () -> new NamedCommand("other"))
+				.build();
+		ArgCommandRegistry.Entry entry = registry.getCommand("named");
+		assertTrue(entry.hasExecute());
+		assertFalse(entry.hasFactory());
+		try {
+			entry.execute(new String [0]);
+			fail("execute without a constructor");
+		} catch (Exception e) {
+			testCase("execute", e);
+			assertTrue(e instanceof IllegalStateException);
+		}
+		assertTrue(registry.getCommand("other").hasFactory());
+		passed();
+	}
+
+}
@@ -0,0 +1,446 @@
+/**
+ *+
+ *	ArgCommandTest.java
+ *	1.0.0  Oct 19, 2026
+ *-
+ */
+package com.fidelis.argface;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static com.fidelis.argface.TestOut.*;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestName;
+
+/**
+ * ArgCommandTest
+ *
+ * @version 1.0.0
+ *
+ */
+public class ArgCommandTest {
+
+	@Rule public TestName testName = new TestName();
+
+	private static ArgCommand program;
+	private static ArgCommand nested;
+	private static String [] nestedArgs;
+
+	public static class Program {
+		private String command;
+		private String [] commandArgs;
+		public String getCommand () { return command; }
+		public void setCommand (String command) { this.command = command; }
+		public String [] getCommandArgs () { return commandArgs; }
+		public void setCommandArgs (String [] commandArgs) { this.commandArgs = commandArgs; }
+	}
+
+	public static class ShowStatusCommand {
+		private boolean verboseOption;
+		public boolean isVerboseOption () { return verboseOption; }
+		public void setVerboseOption (boolean verboseOption) { this.verboseOption = verboseOption; }
+		public boolean execute (String... args) {
+			ArgCommand argCommand = ArgCommand.create("status [-v, --verbose]", this);
+			nested = argCommand;
+			nestedArgs = args;
+			return argCommand.parse(args) >= 0;
+		}
+	}
+
+	public static class ListCommand {
+		private boolean allOption;
+		public boolean isAllOption () { return allOption; }
+		public void setAllOption (boolean allOption) { this.allOption = allOption; }
+		public boolean execute (String... args) {
+			ArgCommand argCommand = ArgCommand.create(new String [] { "list [-a, --all]" }, this);
+			nested = argCommand;
+			return argCommand.parse(args) >= 0;
+		}
+	}
+
+	public static class FailCommand {
+		public boolean execute (String... args) throws java.io.IOException {
+			throw new java.io.IOException("disk full");
+		}
+	}
+
+	public static class BrokenCommand {
+		public boolean execute (String... args) {
+			throw new IllegalStateException("broken");
+		}
+	}
+
+	public static class ErrorCommand {
+		public boolean execute (String... args) {
+			throw new Error("failed");
+		}
+	}
+
+	public static class NamedProgram extends Program {
+		public NamedProgram (String name) {
+		}
+	}
+
+	public static class NoDefaultCommand {
+		public NoDefaultCommand (String name) {
+		}
+		public boolean execute (String... args) {
+			return true;
+		}
+	}
+
+	private ArgCommandRegistry saved;
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp () throws Exception {
+		announce(testName);
+		saved = ArgCommand.getRegistry();
+		program = null;
+		nested = null;
+		nestedArgs = null;
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown () throws Exception {
+		ArgCommand.setRegistry(saved);
+		passFail(testName);
+	}
+
+	/**
+	 * Test method for {@link com.fidelis.argface.ArgCommand#create(java.lang.String, java.lang.Object)}.
+	 */
+	@Test
+	public void testCreateRepeated () {
+		for (int n = 0; n < 3 * ArgCommand.MAXINDEX; n++) {
+			Program cli = new Program();
+			ArgCommand argCommand = ArgCommand.create(
+					"prog [<command> [<command-args>]...]", cli);
+			assertNotNull(argCommand);
+			assertEquals(ArgCommand.PROGRAM, argCommand.getLevel());
+			assertSame(cli, argCommand.getCLI(ArgCommand.PROGRAM));
+			assertSame(argCommand, argCommand.getArgCommand(ArgCommand.PROGRAM));
+			assertNull(argCommand.getCLI(ArgCommand.COMMAND1));
+		}
+		passed();
+	}
+
+	/**
+	 * Test method for {@link com.fidelis.argface.ArgCommand#executeCommandLine(java.lang.String[])}.
+	 */
+	@Test
+	public void testExecuteCommandLine () {
+		ArgCommand.setRegistry(ArgCommandRegistry.builder()
+				.add(ShowStatusCommand.class)
+				.build());
+		Program cli = new Program();
+		program = ArgCommand.create("prog [<command> [<command-args>]...]", cli);
+		for (int n = 0; n < 3 * ArgCommand.MAXINDEX; n++) {
+			nested = null;
+			assertTrue(program.executeCommandLine("show", "status", "-v"));
+			assertNotNull(nested);
+			assertEquals(ArgCommand.COMMAND1, nested.getLevel());
+			assertSame(cli, nested.getCLI(ArgCommand.PROGRAM));
+			assertSame(program, nested.getArgCommand(ArgCommand.PROGRAM));
+			assertArrayEquals(new String [] { "-v" }, nestedArgs);
+			assertTrue(((ShowStatusCommand) nested.getCLI(ArgCommand.COMMAND1)).isVerboseOption());
+		}
+		assertNull(program.getArgCommand(ArgCommand.COMMAND1));
+		passed();
+	}
+
+	/**
+	 * Test method for {@link com.fidelis.argface.ArgCommand#executeCommandLine(java.lang.String[])}
+	 * with commands that throw.
+	 */
+	@Test
+	public void testExecuteCommandThrows () {
+		ArgCommand.setRegistry(ArgCommandRegistry.builder()
+				.add(FailCommand.class)
+				.add(BrokenCommand.class)
+				.build());
+		program = ArgCommand.create("prog [<command> [<command-args>]...]", new Program());
+		StringBuilder err = new StringBuilder();
+		program.setOutput(new ArgOutput(new StringBuilder(), err));
+		assertTrue(! program.executeCommandLine("fail"));
+		testCase("err", err.toString());
+		assertTrue(err.toString().contains("Command \"fail\" failed: java.io.IOException: disk full"));
+		String message = null;
+		try {
+			program.executeCommandLine("broken");
+		} catch (IllegalStateException e) {
+			message = e.getMessage();
+		}
+		assertEquals("broken", message);
+		passed();
+	}
+
+	/**
+	 * Test method for {@link com.fidelis.argface.ArgCommand#executeCommandLine(java.lang.String[])}
+	 * with a command that has no public no argument constructor.
+	 */
+	@Test
+	public void testExecuteNoConstructor () {
+		ArgCommand.setRegistry(ArgCommandRegistry.builder()
+				.add(NoDefaultCommand.class)
+				.build());
+		program = ArgCommand.create("prog [<command> [<command-args>]...]", new Program());
+		StringBuilder out = new StringBuilder();
+		program.setOutput(new ArgOutput(out, new StringBuilder()));
+		assertTrue(! program.executeCommandLine("no", "default"));
+		testCase("out", out.toString());
+		assertTrue(out.toString().contains(
+				"No public no argument constructor for \"no\" command"));
+		passed();
+	}
+
+	/**
+	 * Test method for {@link com.fidelis.argface.ArgCommand#setReuseCommands(boolean)}.
+	 */
+	@Test
+	public void testSetReuseCommands () {
+		ArgCommand.setRegistry(ArgCommandRegistry.builder()
+				.add(ShowStatusCommand.class)
+				.build());
+		program = ArgCommand.create("prog [<command> [<command-args>]...]", new Program());
+		assertTrue(! program.isReuseCommands());
+		program.setReuseCommands(true);
+		assertTrue(program.isReuseCommands());
+
+		assertTrue(program.executeCommandLine("show", "status", "-v"));
+		ArgCommand first = nested;
+		ShowStatusCommand firstCLI = (ShowStatusCommand) first.getCLI(ArgCommand.COMMAND1);
+		assertTrue(firstCLI.isVerboseOption());
+
+		assertTrue(program.executeCommandLine("show", "status"));
+		assertSame(first, nested);
+		ShowStatusCommand secondCLI = (ShowStatusCommand) nested.getCLI(ArgCommand.COMMAND1);
+		assertTrue(secondCLI != firstCLI);
+		assertTrue(! secondCLI.isVerboseOption());
+		assertTrue(firstCLI.isVerboseOption());
+
+		assertTrue(program.executeCommandLine("show", "status", "--verbose"));
+		assertSame(first, nested);
+		assertTrue(((ShowStatusCommand) nested.getCLI(ArgCommand.COMMAND1)).isVerboseOption());
+		assertTrue(! secondCLI.isVerboseOption());
+		passed();
+	}
+
+	/**
+	 * Test method for {@link com.fidelis.argface.ArgCommand#setReuseCommands(boolean)}
+	 * with more than one registry.
+	 */
+	@Test
+	public void testReuseByRegistry () {
+		ArgCommandRegistry first = ArgCommandRegistry.builder().add(ShowStatusCommand.class).build();
+		ArgCommandRegistry second = ArgCommandRegistry.builder().add(ShowStatusCommand.class).build();
+		program = ArgCommand.create("prog [<command> [<command-args>]...]", new Program());
+		program.setReuseCommands(true);
+		ArgCommand.setRegistry(first);
+		assertTrue(program.executeCommandLine("show", "status"));
+		ArgCommand level = nested;
+		assertTrue(program.executeCommandLine("show", "status"));
+		assertSame(level, nested);
+		ArgCommand.setRegistry(second);
+		assertTrue(program.executeCommandLine("show", "status", "-v"));
+		assertTrue(level != nested);
+		ArgCommand.setRegistry(first);
+		assertTrue(program.executeCommandLine("show", "status"));
+		assertSame(level, nested);
+		passed();
+	}
+
+	/**
+	 * Test method for {@link com.fidelis.argface.ArgCommandSet#warmUp()}.
+	 */
+	@Test
+	public void testWarmUp () {
+		ArgCommand.setRegistry(ArgCommandRegistry.builder()
+				.add(ShowStatusCommand.class)
+				.add(ListCommand.class)
+				.build());
+		ArgCommandSet commands = new ArgCommandSet()
+				.add(ShowStatusCommand.class, "status [-v, --verbose]")
+				.add(ListCommand.class, new String [] { "list [-a, --all]" });
+		boolean thrown = false;
+		try {
+			commands.warmUp();
+		} catch (IllegalStateException e) {
+			thrown = true;
+		}
+		assertTrue(thrown);
+		program = ArgCommand.create("prog [<command> [<command-args>]...]", new Program());
+		program.setCommandSet(commands);
+		assertSame(commands, program.getCommandSet());
+		assertTrue(program.isReuseCommands());
+		assertTrue(! commands.isCompiled(ListCommand.class));
+
+		assertEquals(2, commands.warmUp());
+		assertTrue(commands.isCompiled(ShowStatusCommand.class));
+		assertTrue(commands.isCompiled(ListCommand.class));
+		assertEquals(0, commands.warmUp());
+
+		assertTrue(program.executeCommandLine("list", "--all"));
+		ArgCommand list = nested;
+		assertTrue(((ListCommand) list.getCLI(ArgCommand.COMMAND1)).isAllOption());
+		assertTrue(program.executeCommandLine("list"));
+		assertSame(list, nested);
+		assertTrue(! ((ListCommand) nested.getCLI(ArgCommand.COMMAND1)).isAllOption());
+		assertTrue(program.executeCommandLine("show", "status", "-v"));
+		assertTrue(((ShowStatusCommand) nested.getCLI(ArgCommand.COMMAND1)).isVerboseOption());
+
+		ArgCommand.setRegistry(ArgCommandRegistry.builder()
+				.add(ShowStatusCommand.class)
+				.add(ListCommand.class)
+				.build());
+		assertTrue(! commands.isCompiled(ListCommand.class));
+		assertEquals(2, commands.warmUp());
+		assertEquals(2, ArgCommand.getRegistry().getIdleCount());
+		passed();
+	}
+
+	/**
+	 * Test method for {@link com.fidelis.argface.ArgCommandSet#warmUp()}
+	 * with usage text that differs from the command's only in layout.
+	 */
+	@Test
+	public void testWarmUpUsageLayout () {
+		ArgCommand.setRegistry(ArgCommandRegistry.builder()
+				.add(ShowStatusCommand.class)
+				.build());
+		ArgCommandSet commands = new ArgCommandSet()
+				.add(ShowStatusCommand.class, "  status [-v, --verbose]  \r\n");
+		program = ArgCommand.create("prog [<command> [<command-args>]...]", new Program());
+		program.setCommandSet(commands);
+		assertEquals(1, commands.warmUp());
+		assertEquals(1, ArgCommand.getRegistry().getIdleCount());
+		assertTrue(program.executeCommandLine("show", "status", "-v"));
+		assertTrue(program.executeCommandLine("show", "status"));
+		assertEquals(1, ArgCommand.getRegistry().getIdleCount());
+		passed();
+	}
+
+	/**
+	 * Test method for {@link com.fidelis.argface.ArgCommand#executeBatch(java.util.List, int, boolean)}
+	 * with command lines that fail.
+	 */
+	@Test
+	public void testExecuteBatchErrors () {
+		ArgCommand.setRegistry(ArgCommandRegistry.builder()
+				.add(ShowStatusCommand.class)
+				.add(ErrorCommand.class)
+				.build());
+		program = ArgCommand.create("prog [<command> [<command-args>]...]", new Program());
+		List<String []> commandLines = Arrays.asList(
+				new String [] { "show", "status" },
+				new String [] { "error" },
+				new String [] { "show", "status", "-v" });
+		List<ArgCommandResult> results = program.executeBatch(commandLines, 2);
+		assertEquals(3, results.size());
+		assertEquals(ArgCommandResult.SUCCESS, results.get(0).getStatus());
+		assertNotNull(results.get(1));
+		assertEquals(ArgCommandResult.ERROR, results.get(1).getStatus());
+		assertEquals("failed", results.get(1).getError().getMessage());
+		assertEquals(ArgCommandResult.SUCCESS, results.get(2).getStatus());
+
+		program = ArgCommand.create("prog [<command> [<command-args>]...]", new NamedProgram("x"));
+		results = program.executeBatch(commandLines.subList(0, 1), 1);
+		testCase("error", results.get(0).getError());
+		assertEquals(ArgCommandResult.ERROR, results.get(0).getStatus());
+		assertTrue(results.get(0).getError() instanceof NoSuchMethodException);
+		passed();
+	}
+
+	/**
+	 * Test method for {@link com.fidelis.argface.ArgCommandSet#warmUp()}
+	 * with a command that cannot be created.
+	 */
+	@Test
+	public void testWarmUpFails () {
+		ArgCommandSet commands = new ArgCommandSet()
+				.add(ShowStatusCommand.class, "status [-v, --verbose]")
+				.add(NoDefaultCommand.class, "nodefault");
+		program = ArgCommand.create("prog [<command> [<command-args>]...]", new Program());
+		program.setCommandSet(commands);
+		IllegalStateException thrown = null;
+		try {
+			commands.warmUp();
+		} catch (IllegalStateException e) {
+			thrown = e;
+		}
+		assertNotNull(thrown);
+		testCase("thrown", thrown.getMessage());
+		Throwable cause = thrown;
+		while (cause != null && ! (cause instanceof NoSuchMethodException)) {
+			cause = cause.getCause();
+		}
+		assertNotNull(cause);
+		assertTrue(! commands.isCompiled(NoDefaultCommand.class));
+		passed();
+	}
+
+	/**
+	 * Test method for {@link com.fidelis.argface.ArgCommand#executeBatch(java.util.List, int, boolean)}.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testExecuteBatch () throws Exception {
+		ArgCommand.setRegistry(ArgCommandRegistry.builder()
+				.add(ShowStatusCommand.class)
+				.add(ListCommand.class)
+				.build());
+		program = ArgCommand.create("prog [<command> [<command-args>]...]", new Program());
+		program.setReuseCommands(true);
+		StringBuilder script = new StringBuilder("# batch\n\n");
+		for (int n = 0; n < 40; n++) {
+			script.append(n % 2 == 0 ? "list --all\n" : "show status '-v'\n");
+		}
+		script.append("  show status -x\n");
+		List<String []> commandLines = ArgCommand.readBatch(
+				new BufferedReader(new StringReader(script.toString())));
+		assertEquals(41, commandLines.size());
+
+		List<ArgCommandResult> results = program.executeBatch(commandLines, 4);
+		assertEquals(41, results.size());
+		for (int n = 0; n < 40; n++) {
+			ArgCommandResult result = results.get(n);
+			assertEquals(n, result.getIndex());
+			assertSame(commandLines.get(n), result.getCommandLine());
+			assertEquals(ArgCommandResult.SUCCESS, result.getStatus());
+		}
+		assertEquals(ArgCommandResult.FAILURE, results.get(40).getStatus());
+
+		results = program.executeBatch(commandLines.subList(0, 10), 3, false);
+		assertEquals(10, results.size());
+		boolean [] seen = new boolean [10];
+		for (ArgCommandResult result : results) {
+			assertTrue(result.isSuccess());
+			seen[result.getIndex()] = true;
+		}
+		for (boolean b : seen) {
+			assertTrue(b);
+		}
+		assertNull(((Program) program.getCLI(ArgCommand.PROGRAM)).getCommand());
+		passed();
+	}
+
+}
@@ -0,0 +1,175 @@
+/**
+ *+
+ *	ArgConvertTest.java
+ *	1.0.0  Oct 19, 2026
+ *-
+ */
+package com.fidelis.argface;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static com.fidelis.argface.TestOut.*;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.contrib.java.lang.system.StandardErrorStreamLog;
+import org.junit.contrib.java.lang.system.StandardOutputStreamLog;
+
+import static org.junit.contrib.java.lang.system.LogMode.LOG_ONLY;
+
+import org.junit.rules.TestName;
+
+/**
+ * ArgConvertTest
+ *
+ * @version 1.0.0
+ *
+ */
+public class ArgConvertTest {
+
+	@Rule public TestName testName = new TestName();
+	@Rule public final StandardErrorStreamLog errLog = new StandardErrorStreamLog(LOG_ONLY);
+	@Rule public final StandardOutputStreamLog outLog = new StandardOutputStreamLog(LOG_ONLY);
+
+	public enum Mode { FAST, DRY_RUN }
+
+	public static class TypedBean {
+		public boolean countOption;
+		public int countN;
+		public boolean timeoutOption;
+		public Duration timeoutT;
+		public boolean modeOption;
+		private Mode modeM;
+		public Mode getModeM () { return modeM; }
+		public void setModeM (Mode modeM) { this.modeM = modeM; }
+		public int portOperand;
+		public long [] sizeOperand;
+		public boolean listOperand;
+		public Path [] pathOperand;
+	}
+
+	public static class ConsumerBean {
+		public boolean countOption;
+		public int countN;
+		public Consumer<String> fileOperand;
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp () throws Exception {
+		announce(testName);
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown () throws Exception {
+		passFail(testName);
+	}
+
+	/**
+	 * Test method for {@link com.fidelis.argface.ArgConvert#convert(java.lang.Class, java.lang.String)}.
+	 */
+	@Test
+	public void testConvert () {
+		ArgConvert convert = ArgConvert.getInstance();
+		assertEquals(42, convert.convert(int.class, "42"));
+		assertEquals(Long.valueOf(-7), convert.convert(Long.class, "-7"));
+		assertEquals(Duration.ofMillis(250), convert.convert(Duration.class, "250ms"));
+		assertEquals(Duration.ofSeconds(90), convert.convert(Duration.class, "PT1M30S"));
+		assertEquals(Duration.ofSeconds(5), convert.convert(Duration.class, "5"));
+		assertSame(Mode.DRY_RUN, convert.convert(Mode.class, "dry-run"));
+		assertEquals(Paths.get("a/b"), convert.convert(Path.class, "a/b"));
+		assertTrue(Arrays.equals(new int [] { 1, 2, 3 },
+				(int []) convert.convert(int[].class, Arrays.asList("1", "2", "3"))));
+		assertTrue(convert.canConvert(double[].class));
+		assertTrue(! convert.canConvert(String.class));
+		assertTrue(! convert.canConvert(boolean.class));
+		String [][] invalid = { { "int", "x" }, { "duration", "5y" }, { "mode", "slow" } };
+		Class<?> [] types = { int.class, Duration.class, Mode.class };
+		for (int n = 0; n < types.length; n++) {
+			String message = null;
+			try {
+				convert.convert(types[n], invalid[n][1]);
+			} catch (IllegalArgumentException e) {
+				message = e.getMessage();
+			}
+			testCase(invalid[n][0], message);
+			assertNotNull(message);
+		}
+		passed();
+	}
+
+	/**
+	 * Test method for {@link com.fidelis.argface.ArgConvert} through
+	 * {@link com.fidelis.argface.ArgStandard#parse(java.lang.String[])}.
+	 */
+	@Test
+	public void testBind () {
+		TypedBean bean = new TypedBean();
+		ArgStandard standard = ArgStandard.create(new String [] {
+				"test [--count <n>] [--timeout <t>] [--mode <m>] <port> <size>...",
+				"test list <path>..." }, bean);
+		assertNotNull(standard);
+		int status = standard.parse(new String [] {
+				"--count", "3", "--timeout=2s", "--mode", "fast", "8080", "1", "20", "300" });
+		assertTrue(status >= 0);
+		assertEquals(3, bean.countN);
+		assertEquals(Duration.ofSeconds(2), bean.timeoutT);
+		assertSame(Mode.FAST, bean.getModeM());
+		assertEquals(8080, bean.portOperand);
+		assertTrue(Arrays.equals(new long [] { 1, 20, 300 }, bean.sizeOperand));
+
+		standard.parse(new String [] { "list", "x", "y/z" });
+		assertArrayEquals(new Path [] { Paths.get("x"), Paths.get("y/z") }, bean.pathOperand);
+
+		bean = new TypedBean();
+		standard.setQuiet(true);
+		ArgResult result = standard.validate(new String [] { "--count", "many", "1", "2" });
+		testCase("problems", result.getProblems().toString());
+		assertTrue(! result.isMatched());
+		assertTrue(result.getProblems().contains("--count: Invalid int value: many"));
+		result = standard.validate(new String [] { "80", "1", "2k" });
+		assertTrue(result.getProblems().contains("<size>: Invalid long value: 2k"));
+		passed();
+	}
+
+	/**
+	 * Test method for {@link com.fidelis.argface.ArgConvert} with a consumer
+	 * bound to a repeating operand.
+	 */
+	@Test
+	public void testConvertBeforeConsumer () {
+		ConsumerBean bean = new ConsumerBean();
+		List<String> files = new ArrayList<String>();
+		bean.fileOperand = files::add;
+		ArgStandard standard = ArgStandard.create("test [--count <n>] <file>...", bean);
+		assertNotNull(standard);
+		standard.setQuiet(true);
+		assertEquals(-1, standard.parse(new String [] { "--count", "x", "a", "b" }));
+		testCase("rejected", files.toString());
+		assertTrue(files.isEmpty());
+		assertTrue(standard.parse(new String [] { "--count", "3", "a", "b" }) >= 0);
+		testCase("matched", files.toString());
+		assertEquals(Arrays.asList("a", "b"), files);
+		assertEquals(3, bean.countN);
+		passed();
+	}
+
+}
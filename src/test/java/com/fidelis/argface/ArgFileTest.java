@@ -0,0 +1,133 @@
+/**
+ *+
+ *	ArgFileTest.java
+ *	1.0.0  Oct 19, 2026
+ *-
+ */
+package com.fidelis.argface;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static com.fidelis.argface.TestOut.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestName;
+
+/**
+ * ArgFileTest
+ *
+ * @version 1.0.0
+ *
+ */
+public class ArgFileTest {
+
+	@Rule public TestName testName = new TestName();
+
+	private Path file;
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp () throws Exception {
+		announce(testName);
+		file = Files.createTempFile("argfile", ".txt");
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown () throws Exception {
+		Files.deleteIfExists(file);
+		passFail(testName);
+	}
+
+	/**
+	 * Test method for {@link com.fidelis.argface.ArgFile#expand(java.lang.String[], int, java.util.List)}.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testExpand () throws Exception {
+		Files.write(file, "one two\r\n\n  caf\u00e9 \nlast".getBytes(StandardCharsets.UTF_8));
+		String [] args = { "-a", "@" + file, "@@x", "--", "@" + file };
+		List<String> list = new ArrayList<String>();
+		ArgFile.expand(args, ArgFile.LINES, list);
+		testCase("lines", list.toString());
+		assertEquals(Arrays.asList("-a", "one two", "  caf\u00e9 ", "last", "@x", "--", "@" + file), list);
+
+		Files.write(file, "one 'two three' \"a\\\"b\"\n c\\ d ''".getBytes(StandardCharsets.UTF_8));
+		list.clear();
+		ArgFile.expand(new String [] { "@" + file }, ArgFile.QUOTED, list);
+		testCase("quoted", list.toString());
+		assertEquals(Arrays.asList("one", "two three", "a\"b", "c d", ""), list);
+
+		Files.write(file, "one 'two\nthree".getBytes(StandardCharsets.UTF_8));
+		list.clear();
+		boolean thrown = false;
+		try {
+			ArgFile.expand(new String [] { "@" + file }, ArgFile.QUOTED, list);
+		} catch (IOException e) {
+			testCase("unterminated", e.getMessage());
+			assertTrue(e.getMessage().endsWith("unterminated quote"));
+			thrown = true;
+		}
+		assertTrue(thrown);
+		passed();
+	}
+
+	/**
+	 * Test method for {@link com.fidelis.argface.ArgBase#setArgFiles(int)}.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testSetArgFiles () throws Exception {
+		StringBuilder sb = new StringBuilder();
+		for (int n = 0; n < 10000; n++) {
+			sb.append("dir/file").append(n).append(".txt\n");
+		}
+		Files.write(file, sb.toString().getBytes(StandardCharsets.UTF_8));
+		ArgProcedure spec = new ArgProcedure();
+		spec.setUsageText("list [-l] <file>...");
+		spec.setProgramName("list");
+		assertTrue(spec.parseUsage());
+		spec.setArgFiles(ArgFile.LINES);
+		assertEquals(ArgFile.LINES, spec.getArgFiles());
+		ArgResult result = spec.validate(new String [] { "-l", "first", "@" + file });
+		assertTrue(result.isMatched());
+		List<String> files = result.getOperands().get("<file>");
+		assertEquals(10001, files.size());
+		assertEquals("first", files.get(0));
+		assertEquals("dir/file9999.txt", files.get(10000));
+
+		result = spec.validate(new String [] { "@" + file + ".missing" });
+		testCase("missing", result.getProblems().toString());
+		assertTrue(! result.isMatched());
+
+		Files.write(file, "a \"b".getBytes(StandardCharsets.UTF_8));
+		spec.setArgFiles(ArgFile.QUOTED);
+		result = spec.validate(new String [] { "@" + file });
+		testCase("unterminated", result.getProblems().toString());
+		assertTrue(! result.isMatched());
+		assertTrue(result.getProblems().toString().contains("unterminated quote"));
+
+		spec.setArgFiles(ArgFile.OFF);
+		result = spec.validate(new String [] { "@" + file });
+		assertEquals(Arrays.asList("@" + file), result.getOperands().get("<file>"));
+		passed();
+	}
+
+}
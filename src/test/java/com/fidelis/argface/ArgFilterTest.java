@@ -0,0 +1,109 @@
+/**
+ *+
+ *	ArgFilterTest.java
+ *	1.0.0  Oct 19, 2026
+ *-
+ */
+package com.fidelis.argface;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static com.fidelis.argface.TestOut.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestName;
+
+/**
+ * ArgFilterTest
+ *
+ * @version 1.0.0
+ *
+ */
+public class ArgFilterTest {
+
+	@Rule public TestName testName = new TestName();
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp () throws Exception {
+		announce(testName);
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown () throws Exception {
+		passFail(testName);
+	}
+
+	/**
+	 * Test method for {@link com.fidelis.argface.ArgFilter#filter(java.io.InputStream, java.io.OutputStream)}.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testFilter () throws Exception {
+		ArgFilter filter = ArgFilter.create("copy [-v, --verbose] <from> <to>");
+		assertNotNull(filter);
+		String input = "[\"-v\", \"a b\", \"c\\\"d\"]\n"
+				+ "\n"
+				+ "[\"a\"]\r\n"
+				+ "[\"a\", 5]\n"
+				+ "[\"" + new String(new char [40]).replace('\0', 'x') + "\"]\n"
+				+ "[\"--verbose\",\"x\",\"y\"]";
+		filter.setMaxRecord(32);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		long count = filter.filter(
+				new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), out);
+		String [] lines = new String(out.toByteArray(), StandardCharsets.UTF_8).split("\n");
+		for (String line : lines) {
+			testCase("result", line);
+		}
+		assertEquals(5, count);
+		assertEquals(5, lines.length);
+		assertTrue(lines[0].startsWith("{\"line\":1,\"matched\":true,"));
+		assertTrue(lines[0].contains("\"options\":{\"-v\":[]}"));
+		assertTrue(lines[0].contains("\"operands\":{\"<from>\":[\"a b\"],\"<to>\":[\"c\\\"d\"]}"));
+		assertTrue(lines[1].startsWith("{\"line\":3,\"matched\":false,"));
+		assertTrue(lines[1].contains("\"problems\":[\""));
+		assertTrue(lines[2].startsWith("{\"line\":4,\"matched\":false,\"error\":"));
+		assertTrue(lines[3].startsWith("{\"line\":5,\"matched\":false,\"error\":\"Record longer"));
+		assertTrue(lines[4].startsWith("{\"line\":6,\"matched\":true,"));
+		passed();
+	}
+
+	/**
+	 * Test method for {@link com.fidelis.argface.ArgFilter#parseArray(java.lang.String)}.
+	 */
+	@Test
+	public void testParseArray () {
+		assertArrayEquals(new String [0], ArgFilter.parseArray(" [ ] "));
+		assertArrayEquals(new String [] { "a", "\t\u00e9/" },
+				ArgFilter.parseArray("[\"a\" , \"\\t\\u00e9\\/\"]"));
+		String [] invalid = { "", "[", "[\"a\"", "[\"a\",]", "[\"a\"] x", "[\"\\q\"]", "{}" };
+		for (String text : invalid) {
+			boolean thrown = false;
+			try {
+				ArgFilter.parseArray(text);
+			} catch (IllegalArgumentException e) {
+				thrown = true;
+			}
+			testCase(text, thrown);
+			assertTrue(thrown);
+		}
+		passed();
+	}
+
+}
@@ -0,0 +1,130 @@
+/**
+ *+
+ *	ArgGenerateTest.java
+ *	1.0.0  Oct 19, 2026
+ *-
+ */
+package com.fidelis.argface;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static com.fidelis.argface.TestOut.*;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.contrib.java.lang.system.StandardOutputStreamLog;
+
+import static org.junit.contrib.java.lang.system.LogMode.LOG_ONLY;
+
+import org.junit.rules.TestName;
+
+/**
+ * ArgGenerateTest
+ *
+ * @version 1.0.0
+ *
+ */
+public class ArgGenerateTest {
+
+	@Rule public TestName testName = new TestName();
+	@Rule public final StandardOutputStreamLog outLog = new StandardOutputStreamLog(LOG_ONLY);
+
+	private static final String USAGE =
+			"copy [-v] [--wait <time>] <src>... <dst>\n"
+			+ "copy list [<dir>]\n"
+			+ "Options:\n"
+			+ "  -v, --verbose   Shows each file as it is copied\n"
+			+ "  --wait <time>   Waits at most this long\n";
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp () throws Exception {
+		announce(testName);
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown () throws Exception {
+		passFail(testName);
+	}
+
+	/**
+	 * Test method for {@link com.fidelis.argface.ArgGenerate#create(java.lang.String, java.lang.String)}.
+	 */
+	@Test
+	public void testCreate () {
+		ArgGenerate generate = ArgGenerate.create("copy", USAGE);
+		assertNotNull(generate);
+		String help = generate.helpText();
+		testCase("help", help);
+		assertTrue(help.startsWith("Usage:"));
+		assertTrue(help.contains("copy -h|--help"));
+		assertTrue(help.contains("Shows each file as it is copied"));
+
+		String man = generate.manPage();
+		assertTrue(man.startsWith(".TH COPY 1\n"));
+		assertTrue(man.contains(".B \\-v, \\-\\-verbose\n"));
+
+		String bash = generate.bashCompletion();
+		assertTrue(bash.contains("compgen -W \"-v --verbose --wait -h --help list\""));
+		assertTrue(bash.contains("complete -o default -F _copy copy"));
+
+		String zsh = generate.zshCompletion();
+		assertTrue(zsh.startsWith("#compdef copy\n"));
+		assertTrue(zsh.contains("'--wait[Waits at most this long]:time:'"));
+		assertTrue(zsh.contains("'1: :(list)'"));
+		passed();
+	}
+
+	/**
+	 * Test method for {@link com.fidelis.argface.ArgGenerate#printHelp(java.lang.String, java.lang.String[])}.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testPrintHelp () throws Exception {
+		Path dir = Files.createTempDirectory("argface");
+		ArgGenerate generate = ArgGenerate.create("copy", USAGE);
+		generate.writeAll(dir.resolve(ArgGenerate.RESOURCE_PATH));
+		String help = new String(Files.readAllBytes(dir.resolve(ArgGenerate.RESOURCE_PATH + "copy.help")),
+				StandardCharsets.UTF_8);
+		assertEquals(generate.helpText(), help);
+
+		Thread thread = Thread.currentThread();
+		ClassLoader saved = thread.getContextClassLoader();
+		URLClassLoader loader = new URLClassLoader(new URL [] { dir.toUri().toURL() }, saved);
+		thread.setContextClassLoader(loader);
+		try {
+			assertTrue(! ArgGenerate.printHelp("copy", new String [] { "a", "b" }));
+			assertTrue(! ArgGenerate.printHelp("copy", new String [] { "--", "--help" }));
+			assertTrue(! ArgGenerate.printHelp("missing", new String [] { "--help" }));
+			outLog.clear();
+			assertTrue(ArgGenerate.printHelp("copy", new String [] { "--help" }));
+			assertEquals(help, outLog.getLog());
+		} finally {
+			thread.setContextClassLoader(saved);
+			loader.close();
+			for (String ext : new String [] { ".help", ".1", ".bash", ".zsh" }) {
+				Files.delete(dir.resolve(ArgGenerate.RESOURCE_PATH + "copy" + ext));
+			}
+			Files.delete(dir.resolve(ArgGenerate.RESOURCE_PATH));
+			Files.delete(dir.resolve("META-INF"));
+			Files.delete(dir);
+		}
+		passed();
+	}
+
+}
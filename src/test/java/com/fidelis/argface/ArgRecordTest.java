@@ -0,0 +1,124 @@
+/**
+ *+
+ *	ArgRecordTest.java
+ *	1.0.0  Oct 19, 2026
+ *-
+ */
+package com.fidelis.argface;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static com.fidelis.argface.TestOut.*;
+
+import java.beans.ConstructorProperties;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.contrib.java.lang.system.StandardErrorStreamLog;
+import org.junit.contrib.java.lang.system.StandardOutputStreamLog;
+
+import static org.junit.contrib.java.lang.system.LogMode.LOG_ONLY;
+
+import org.junit.rules.TestName;
+
+/**
+ * ArgRecordTest
+ *
+ * @version 1.0.0
+ *
+ */
+public class ArgRecordTest {
+
+	@Rule public TestName testName = new TestName();
+	@Rule public final StandardErrorStreamLog errLog = new StandardErrorStreamLog(LOG_ONLY);
+	@Rule public final StandardOutputStreamLog outLog = new StandardOutputStreamLog(LOG_ONLY);
+
+	public static final class Copy {
+		private final boolean verbose;
+		private final boolean waitOption;
+		private final Duration wait;
+		private final List<String> sources;
+		private final String target;
+
+		@ConstructorProperties({ "verboseOption", "waitOption", "waitTime", "srcOperand", "dstOperand" })
+		public Copy (boolean verbose, boolean waitOption, Duration wait, List<String> sources,
+				String target) {
+			this.verbose = verbose;
+			this.waitOption = waitOption;
+			this.wait = wait;
+			this.sources = sources;
+			this.target = target;
+		}
+
+		public boolean isVerbose () { return verbose; }
+		public boolean hasWait () { return waitOption; }
+		public Duration getWait () { return wait; }
+		public List<String> getSources () { return sources; }
+		public String getTarget () { return target; }
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp () throws Exception {
+		announce(testName);
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown () throws Exception {
+		passFail(testName);
+	}
+
+	/**
+	 * Test method for {@link com.fidelis.argface.ArgRecord#parseRecord(java.lang.String[])}.
+	 */
+	@Test
+	public void testParseRecord () {
+		ArgRecord<Copy> spec = ArgRecord.create("copy [--verbose] [--wait <time>] <src>... <dst>", Copy.class);
+		assertNotNull(spec);
+		Copy copy = spec.parseRecord(new String [] { "--verbose", "--wait", "5s", "a", "b", "c" });
+		assertNotNull(copy);
+		testCase("sources", copy.getSources().toString());
+		assertTrue(copy.isVerbose());
+		assertTrue(copy.hasWait());
+		assertEquals(Duration.ofSeconds(5), copy.getWait());
+		assertEquals(Arrays.asList("a", "b"), copy.getSources());
+		assertEquals("c", copy.getTarget());
+
+		Copy other = spec.parseRecord(new String [] { "x", "y" });
+		assertNotSame(copy, other);
+		assertTrue(! other.isVerbose());
+		assertTrue(! other.hasWait());
+		assertNull(other.getWait());
+		assertEquals(Arrays.asList("x"), other.getSources());
+		assertEquals(Arrays.asList("a", "b"), copy.getSources());
+
+		spec.setQuiet(true);
+		assertNull(spec.parseRecord(new String [] { "--wait", "soon", "a", "b" }));
+		assertNull(spec.getRecord());
+		passed();
+	}
+
+	/**
+	 * Test method for {@link com.fidelis.argface.ArgRecord#create(java.lang.String, java.lang.Class)}.
+	 */
+	@Test
+	public void testCreate () {
+		testCase("unknown", ArgRecord.create("copy [-q] <src>", Copy.class));
+		assertNull(ArgRecord.create("copy [-q] <src>", Copy.class));
+		passed();
+	}
+
+}
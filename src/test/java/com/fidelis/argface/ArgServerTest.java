@@ -0,0 +1,246 @@
+/**
+ *+
+ *	ArgServerTest.java
+ *	1.0.0  Oct 19, 2026
+ *-
+ */
+package com.fidelis.argface;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static com.fidelis.argface.TestOut.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestName;
+
+/**
+ * ArgServerTest
+ *
+ * @version 1.0.0
+ *
+ */
+public class ArgServerTest {
+
+	@Rule public TestName testName = new TestName();
+
+	private Path directory;
+	private Path socketPath;
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp () throws Exception {
+		announce(testName);
+		directory = Files.createTempDirectory("argserver");
+		socketPath = directory.resolve("parse.sock");
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown () throws Exception {
+		Files.deleteIfExists(socketPath);
+		Files.deleteIfExists(directory);
+		passFail(testName);
+	}
+
+	/**
+	 * Test method for {@link com.fidelis.argface.ArgClient#parse(java.lang.String, java.lang.String[])}.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testParse () throws Exception {
+		ArgServer server = new ArgServer(socketPath);
+		assertTrue(server.addSpec("copy", "copy [-v, --verbose] [-n <count>] <from> <to>"));
+		server.start();
+		try (ArgClient client = new ArgClient(socketPath)) {
+			for (int n = 0; n < 3; n++) {
+				ArgResult result = client.parse("copy", "-v", "-n", "5", "a", "b");
+				testCase("result", result.toString());
+				assertTrue(result.isMatched());
+				assertEquals(Arrays.asList(), result.getOptions().get("-v"));
+				assertEquals(Arrays.asList("5"), result.getOptions().get("-n"));
+				assertEquals(Arrays.asList("a"), result.getOperands().get("<from>"));
+				assertEquals(Arrays.asList("b"), result.getOperands().get("<to>"));
+				assertTrue(result.getProblems().isEmpty());
+
+				result = client.parse("copy", "a");
+				testCase("result", result.toString());
+				assertTrue(! result.isMatched());
+				assertTrue(! result.getProblems().isEmpty());
+				assertNull(result.getOptions().get("-v"));
+
+				result = client.parse("move", "a", "b");
+				assertTrue(! result.isMatched());
+				assertEquals(1, result.getProblems().size());
+			}
+		} finally {
+			server.close();
+		}
+		assertTrue(! Files.exists(socketPath));
+		passed();
+	}
+
+	/**
+	 * Test method for {@link com.fidelis.argface.ArgServer#start()}
+	 * with requests as lines of text.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testParseText () throws Exception {
+		ArgServer server = new ArgServer(socketPath);
+		assertTrue(server.addSpec("copy", "copy [-v, --verbose] [-n <count>] <from> <to>"));
+		server.start();
+		try (SocketChannel channel = ArgServer.openUnix(SocketChannel.class)) {
+			channel.connect(ArgServer.unixAddress(socketPath));
+			OutputStream out = Channels.newOutputStream(channel);
+			InputStream in = Channels.newInputStream(channel);
+			out.write("copy -v 'my file' b\r\n\ncopy a\nmove a b\ncopy 'a b\n".getBytes(StandardCharsets.UTF_8));
+			out.flush();
+			String line = ArgServer.readLine(in);
+			testCase("line", line);
+			assertTrue(line.startsWith("{\"matched\":true,"));
+			assertTrue(line.contains("\"<from>\":[\"my file\"]"));
+			line = ArgServer.readLine(in);
+			testCase("line", line);
+			assertTrue(line.startsWith("{\"matched\":false,"));
+			line = ArgServer.readLine(in);
+			assertTrue(line.contains("\"problems\":[\"Unknown specification: move\"]"));
+			line = ArgServer.readLine(in);
+			assertTrue(line.contains("\"problems\":[\"Unterminated quote\"]"));
+		} finally {
+			server.close();
+		}
+		passed();
+	}
+
+	/**
+	 * Test method for {@link com.fidelis.argface.ArgClient#parse(java.lang.String, java.lang.String[])}
+	 * with an argument longer than 64 KB.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testParseLongArgument () throws Exception {
+		ArgServer server = new ArgServer(socketPath);
+		assertTrue(server.addSpec("echo", "echo <text>"));
+		server.start();
+		char [] chars = new char [100000];
+		Arrays.fill(chars, '\u00e9');
+		String text = new String(chars);
+		try (ArgClient client = new ArgClient(socketPath)) {
+			ArgResult result = client.parse("echo", text);
+			assertTrue(result.isMatched());
+			assertEquals(Arrays.asList(text), result.getOperands().get("<text>"));
+			boolean thrown = false;
+			try {
+				client.parse("echo", new String(new char [ArgServer.MAX_FRAME]));
+			} catch (IOException e) {
+				testCase("exception", e.getMessage());
+				thrown = true;
+			}
+			assertTrue(thrown);
+		} finally {
+			server.close();
+		}
+		passed();
+	}
+
+	/**
+	 * Test method for {@link com.fidelis.argface.ArgServer#start()}
+	 * with a file already at the socket path.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testStartExisting () throws Exception {
+		Files.write(socketPath, "data".getBytes(StandardCharsets.UTF_8));
+		ArgServer server = new ArgServer(socketPath);
+		boolean thrown = false;
+		try {
+			server.start();
+		} catch (IOException e) {
+			testCase("exception", e.toString());
+			thrown = true;
+		}
+		assertTrue(thrown);
+		assertTrue(Files.isRegularFile(socketPath));
+		Files.delete(socketPath);
+
+		ServerSocketChannel stale = ArgServer.openUnix(ServerSocketChannel.class);
+		stale.bind(ArgServer.unixAddress(socketPath));
+		stale.close();
+		assertTrue(Files.exists(socketPath));
+		server.start();
+		ArgServer other = new ArgServer(socketPath);
+		thrown = false;
+		try {
+			other.start();
+		} catch (IOException e) {
+			testCase("exception", e.toString());
+			thrown = true;
+		}
+		assertTrue(thrown);
+		other.close();
+		assertTrue(Files.exists(socketPath));
+		server.close();
+		assertTrue(! Files.exists(socketPath));
+		passed();
+	}
+
+	/**
+	 * Test method for {@link com.fidelis.argface.ArgServer#ArgServer(java.nio.file.Path, int)}.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testMaxClients () throws Exception {
+		ArgServer server = new ArgServer(socketPath, 1);
+		assertTrue(server.addSpec("copy", "copy <from> <to>"));
+		server.start();
+		try {
+			try (ArgClient first = new ArgClient(socketPath)) {
+				assertTrue(first.parse("copy", "a", "b").isMatched());
+				boolean thrown = false;
+				try (ArgClient second = new ArgClient(socketPath)) {
+					second.parse("copy", "a", "b");
+				} catch (IOException e) {
+					thrown = true;
+				}
+				assertTrue(thrown);
+			}
+			boolean matched = false;
+			for (int n = 0; n < 50 && ! matched; n++) {
+				try (ArgClient third = new ArgClient(socketPath)) {
+					matched = third.parse("copy", "a", "b").isMatched();
+				} catch (IOException e) {
+					Thread.sleep(20);
+				}
+			}
+			assertTrue(matched);
+		} finally {
+			server.close();
+		}
+		passed();
+	}
+
+}
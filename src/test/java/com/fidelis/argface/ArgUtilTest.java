@@ -6,8 +6,11 @@
  */
 package com.fidelis.argface;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static com.fidelis.argface.TestOut.*;
 
@@ -236,6 +239,27 @@ public class ArgUtilTest {
 		passed();
 	}
 
+	/**
+	 * Test method for {@link com.fidelis.argface.ArgUtil#splitCommandLine(java.lang.String)}.
+	 */
+	@Test
+	public void testSplitCommandLine () {
+		splitCommandLine("show status -v", "show", "status", "-v");
+		splitCommandLine("  a   b\tc  ", "a", "b", "c");
+		splitCommandLine("copy 'my file' \"your file\"", "copy", "my file", "your file");
+		splitCommandLine("say \"a \\\"quoted\\\" word\"", "say", "a \"quoted\" word");
+		splitCommandLine("it\\'s 'a\\b'", "it's", "a\\b");
+		splitCommandLine("empty '' \"\"", "empty", "", "");
+		splitCommandLine("");
+		passed();
+	}
+
+	private void splitCommandLine (String line, String... expected) {
+		String [] actual = ArgUtil.splitCommandLine(line);
+		testCase(line, java.util.Arrays.toString(actual));
+		assertArrayEquals(expected, actual);
+	}
+
 	/**
 	 * Test method for {@link com.fidelis.argface.ArgUtil#printError(java.lang.String)}.
 	 */
@@ -253,4 +277,47 @@ public class ArgUtilTest {
 		passed();
 	}
 
+	/**
+	 * Test method for {@link com.fidelis.argface.ArgUtil#printError(java.lang.String)}
+	 * on a thread with no {@code ArgBase}.
+	 */
+	@Test
+	public void testPrintErrorNoBase () throws InterruptedException {
+		final Throwable [] thrown = new Throwable [1];
+		Thread thread = new Thread(new Runnable() {
+			@Override
+			public void run () {
+				try {
+					ArgUtil.printError("This is the error text");
+				} catch (Throwable t) {
+					thrown[0] = t;
+				}
+			}
+		});
+		errLog.clear();
+		thread.start();
+		thread.join();
+		String actual = errLog.getLog().trim();
+		testCase("error text", actual);
+		assertNull(thrown[0]);
+		assertEquals("This is the error text", actual);
+		passed();
+	}
+
+	/**
+	 * Test method for {@link com.fidelis.argface.ArgUtil#remove()}.
+	 */
+	@Test
+	public void testRemove () {
+		ArgUtil util = ArgUtil.getInstance();
+		util.setBase(ArgStandard.create());
+		ArgUtil.remove();
+		ArgUtil other = ArgUtil.getInstance();
+		assertNotSame(util, other);
+		errLog.clear();
+		ArgUtil.printError("This is the error text");
+		assertEquals("This is the error text", errLog.getLog().trim());
+		passed();
+	}
+
 }
@@ -102,6 +102,10 @@ public class BaseModel extends ArgBase {
 		this.optionList = optionList;
 	}
 	
+	public boolean isBound () {
+		return operandList != null || nonOptionList != null;
+	}
+	
 	public ArgOperand getOperand (int index) {
 		if (0 <= index && index < operandList.size()) {
 			return operandList.get(index);